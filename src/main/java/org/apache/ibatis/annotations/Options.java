@@ -136,6 +136,19 @@ public @interface Options {
    */
   String resultSets() default "";
 
+  /**
+   * Returns the tags of the 2nd level cache entries this statement reads or invalidates.
+   * <p>
+   * If you specify multiple tag, please separate using comma(','). A tag may contain <code>#{property}</code>
+   * placeholders that are replaced with the values of the parameter object.
+   * </p>
+   *
+   * @return cache tags that separate with comma(',')
+   *
+   * @since 3.5.14
+   */
+  String cacheTags() default "";
+
   /**
    * @return A database id that correspond this options
    *
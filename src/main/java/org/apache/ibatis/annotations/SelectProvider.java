@@ -116,6 +116,16 @@ public @interface SelectProvider {
    */
   boolean affectData() default false;
 
+  /**
+   * Returns whether this select may be routed to a replica by a
+   * {@link org.apache.ibatis.datasource.routing.RoutingDataSource}.
+   *
+   * @return {@code false} if this select must read from the primary (e.g. it needs to see the latest writes)
+   *
+   * @since 3.5.14
+   */
+  boolean useReplica() default true;
+
   /**
    * The container annotation for {@link SelectProvider}.
    *
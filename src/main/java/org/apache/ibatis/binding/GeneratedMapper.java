@@ -0,0 +1,65 @@
+/*
+ *    Copyright 2009-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.binding;
+
+import java.lang.reflect.Method;
+
+import org.apache.ibatis.binding.MapperProxy.MapperMethodInvoker;
+import org.apache.ibatis.reflection.ExceptionUtil;
+import org.apache.ibatis.session.SqlSession;
+
+/**
+ * Base class of the mapper implementations generated at runtime when
+ * {@link org.apache.ibatis.session.Configuration#isUseGeneratedMapperClasses()} is enabled.
+ * <p>
+ * Each abstract mapper method of a generated class calls {@link #invoke(int, Object[])} with the index of the method,
+ * so there is neither a {@link java.lang.reflect.Proxy} dispatch nor a {@link Method} lookup per call. Default methods
+ * are inherited from the mapper interface as is. This class is not intended to be extended by users.
+ *
+ * @param <T>
+ *          the mapper type
+ *
+ * @since 3.5.14
+ */
+public abstract class GeneratedMapper<T> {
+
+  private final SqlSession sqlSession;
+  private final MapperProxy<T> mapperProxy;
+  private final Method[] methods;
+  private final MapperMethodInvoker[] invokers;
+
+  protected GeneratedMapper(SqlSession sqlSession, MapperProxyFactory<T> mapperProxyFactory) {
+    this.sqlSession = sqlSession;
+    this.mapperProxy = new MapperProxy<>(sqlSession, mapperProxyFactory.getMapperInterface(),
+        mapperProxyFactory.getMethodCache());
+    this.methods = mapperProxyFactory.getGeneratedMethods();
+    this.invokers = mapperProxyFactory.getGeneratedInvokers();
+  }
+
+  protected final Object invoke(int index, Object[] args) throws Throwable {
+    try {
+      MapperMethodInvoker invoker = invokers[index];
+      if (invoker == null) {
+        invoker = mapperProxy.cachedInvoker(methods[index]);
+        invokers[index] = invoker;
+      }
+      return invoker.invoke(this, methods[index], args, sqlSession);
+    } catch (Throwable t) {
+      throw ExceptionUtil.unwrapThrowable(t);
+    }
+  }
+
+}
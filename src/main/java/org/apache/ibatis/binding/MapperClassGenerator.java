@@ -0,0 +1,167 @@
+/*
+ *    Copyright 2009-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.binding;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javassist.ClassClassPath;
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.CtConstructor;
+import javassist.CtMethod;
+import javassist.LoaderClassPath;
+
+import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.logging.LogFactory;
+import org.apache.ibatis.session.SqlSession;
+
+/**
+ * Generates a {@link GeneratedMapper} subclass implementing a mapper interface with Javassist.
+ * <p>
+ * The class is generated once per mapper interface and defined next to it, so it is shared by all the configurations
+ * that register the interface.
+ */
+final class MapperClassGenerator {
+
+  private static final Log log = LogFactory.getLog(MapperClassGenerator.class);
+
+  private static final String CLASS_NAME_SUFFIX = "$$MapperImpl";
+
+  private static final ClassValue<GeneratedClass> generatedClasses = new ClassValue<GeneratedClass>() {
+    @Override
+    protected GeneratedClass computeValue(Class<?> type) {
+      try {
+        return generate(type);
+      } catch (Exception | LinkageError e) {
+        if (log.isDebugEnabled()) {
+          log.debug(
+              "Could not generate a mapper class for " + type.getName() + ", a proxy is used instead. Cause: " + e);
+        }
+        return null;
+      }
+    }
+  };
+
+  private MapperClassGenerator() {
+    // Prevent Instantiation
+  }
+
+  /**
+   * Returns the generated class of the mapper interface.
+   *
+   * @param mapperInterface
+   *          the mapper interface
+   *
+   * @return the generated class, or {@code null} if it cannot be generated
+   */
+  static GeneratedClass getGeneratedClass(Class<?> mapperInterface) {
+    return generatedClasses.get(mapperInterface);
+  }
+
+  private static GeneratedClass generate(Class<?> mapperInterface) throws Exception {
+    List<Method> methods = abstractMethods(mapperInterface);
+    ClassPool pool = new ClassPool(true);
+    pool.appendClassPath(new LoaderClassPath(mapperInterface.getClassLoader()));
+    pool.appendClassPath(new ClassClassPath(GeneratedMapper.class));
+
+    CtClass ctClass = pool.makeClass(mapperInterface.getName() + CLASS_NAME_SUFFIX,
+        pool.get(GeneratedMapper.class.getName()));
+    ctClass.addInterface(pool.get(mapperInterface.getName()));
+    ctClass.setModifiers(Modifier.PUBLIC | Modifier.FINAL);
+
+    CtConstructor constructor = new CtConstructor(
+        new CtClass[] { pool.get(SqlSession.class.getName()), pool.get(MapperProxyFactory.class.getName()) }, ctClass);
+    constructor.setBody("{ super($1, $2); }");
+    ctClass.addConstructor(constructor);
+
+    for (int i = 0; i < methods.size(); i++) {
+      Method method = methods.get(i);
+      Class<?>[] parameterTypes = method.getParameterTypes();
+      CtClass[] ctParameterTypes = new CtClass[parameterTypes.length];
+      for (int j = 0; j < parameterTypes.length; j++) {
+        ctParameterTypes[j] = pool.get(typeName(parameterTypes[j]));
+      }
+      CtMethod ctMethod = new CtMethod(pool.get(typeName(method.getReturnType())), method.getName(), ctParameterTypes,
+          ctClass);
+      ctMethod.setModifiers(Modifier.PUBLIC);
+      ctMethod.setBody(void.class.equals(method.getReturnType()) ? "{ invoke(" + i + ", $args); }"
+          : "{ return ($r) invoke(" + i + ", $args); }");
+      ctClass.addMethod(ctMethod);
+    }
+
+    Class<?> generatedClass = ctClass.toClass(mapperInterface);
+    ctClass.detach();
+    return new GeneratedClass(generatedClass.getConstructor(SqlSession.class, MapperProxyFactory.class),
+        methods.toArray(new Method[0]));
+  }
+
+  private static List<Method> abstractMethods(Class<?> mapperInterface) {
+    List<Method> methods = new ArrayList<>();
+    Set<String> signatures = new HashSet<>();
+    for (Method method : mapperInterface.getMethods()) {
+      if (!Modifier.isAbstract(method.getModifiers()) || isObjectMethod(method)) {
+        continue;
+      }
+      StringBuilder signature = new StringBuilder(method.getName()).append('(');
+      for (Class<?> parameterType : method.getParameterTypes()) {
+        signature.append(parameterType.getName()).append(',');
+      }
+      signature.append(')').append(method.getReturnType().getName());
+      if (signatures.add(signature.toString())) {
+        methods.add(method);
+      }
+    }
+    return methods;
+  }
+
+  private static boolean isObjectMethod(Method method) {
+    try {
+      Object.class.getMethod(method.getName(), method.getParameterTypes());
+      return true;
+    } catch (NoSuchMethodException e) {
+      return false;
+    }
+  }
+
+  private static String typeName(Class<?> type) {
+    return type.isArray() ? typeName(type.getComponentType()) + "[]" : type.getName();
+  }
+
+  static final class GeneratedClass {
+    private final Constructor<?> constructor;
+    private final Method[] methods;
+
+    GeneratedClass(Constructor<?> constructor, Method[] methods) {
+      this.constructor = constructor;
+      this.methods = methods;
+    }
+
+    Constructor<?> getConstructor() {
+      return constructor;
+    }
+
+    Method[] getMethods() {
+      return methods;
+    }
+  }
+
+}
@@ -89,7 +89,7 @@ public class MapperProxy<T> implements InvocationHandler, Serializable {
     }
   }
 
-  private MapperMethodInvoker cachedInvoker(Method method) throws Throwable {
+  MapperMethodInvoker cachedInvoker(Method method) throws Throwable {
     try {
       return MapUtil.computeIfAbsent(methodCache, method, m -> {
         if (!m.isDefault()) {
@@ -15,12 +15,15 @@
  */
 package org.apache.ibatis.binding;
 
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
+import org.apache.ibatis.binding.MapperClassGenerator.GeneratedClass;
 import org.apache.ibatis.binding.MapperProxy.MapperMethodInvoker;
+import org.apache.ibatis.reflection.ExceptionUtil;
 import org.apache.ibatis.session.SqlSession;
 
 /**
@@ -30,6 +33,9 @@ public class MapperProxyFactory<T> {
 
   private final Class<T> mapperInterface;
   private final Map<Method, MapperMethodInvoker> methodCache = new ConcurrentHashMap<>();
+  private volatile boolean generatedClassResolved;
+  private GeneratedClass generatedClass;
+  private MapperMethodInvoker[] generatedInvokers;
 
   public MapperProxyFactory(Class<T> mapperInterface) {
     this.mapperInterface = mapperInterface;
@@ -53,4 +59,60 @@ public class MapperProxyFactory<T> {
     return newInstance(mapperProxy);
   }
 
+  /**
+   * Creates a mapper from a class generated at runtime that extends {@link GeneratedMapper}. Falls back to
+   * {@link #newInstance(SqlSession)} when the class cannot be generated (e.g. Javassist is not on the classpath).
+   *
+   * @param sqlSession
+   *          the sql session
+   *
+   * @return the mapper
+   *
+   * @since 3.5.14
+   */
+  @SuppressWarnings("unchecked")
+  public T newGeneratedInstance(SqlSession sqlSession) {
+    GeneratedClass generated = resolveGeneratedClass();
+    if (generated == null) {
+      return newInstance(sqlSession);
+    }
+    try {
+      return (T) generated.getConstructor().newInstance(sqlSession, this);
+    } catch (InvocationTargetException e) {
+      throw new BindingException(
+          "Error creating mapper " + mapperInterface.getName() + ". Cause: " + ExceptionUtil.unwrapThrowable(e),
+          ExceptionUtil.unwrapThrowable(e));
+    } catch (ReflectiveOperationException e) {
+      throw new BindingException("Error creating mapper " + mapperInterface.getName() + ". Cause: " + e, e);
+    }
+  }
+
+  private GeneratedClass resolveGeneratedClass() {
+    if (!generatedClassResolved) {
+      synchronized (this) {
+        if (!generatedClassResolved) {
+          try {
+            generatedClass = MapperClassGenerator.getGeneratedClass(mapperInterface);
+          } catch (LinkageError e) {
+            // Javassist is not available
+            generatedClass = null;
+          }
+          if (generatedClass != null) {
+            generatedInvokers = new MapperMethodInvoker[generatedClass.getMethods().length];
+          }
+          generatedClassResolved = true;
+        }
+      }
+    }
+    return generatedClass;
+  }
+
+  Method[] getGeneratedMethods() {
+    return generatedClass.getMethods();
+  }
+
+  MapperMethodInvoker[] getGeneratedInvokers() {
+    return generatedInvokers;
+  }
+
 }
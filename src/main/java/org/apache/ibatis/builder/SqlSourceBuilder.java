@@ -41,11 +41,22 @@ public class SqlSourceBuilder extends BaseBuilder {
   }
 
   public SqlSource parse(String originalSql, Class<?> parameterType, Map<String, Object> additionalParameters) {
+    return parse(originalSql, parameterType, additionalParameters, configuration.isShrinkWhitespacesInSql());
+  }
+
+  /**
+   * Parses the sql, removing extra whitespaces only when requested. Callers that have already shrunk the whitespaces
+   * (e.g. at build time) can skip the extra pass over the whole sql.
+   *
+   * @since 3.5.14
+   */
+  public SqlSource parse(String originalSql, Class<?> parameterType, Map<String, Object> additionalParameters,
+      boolean shrinkWhitespaces) {
     ParameterMappingTokenHandler handler = new ParameterMappingTokenHandler(configuration, parameterType,
         additionalParameters);
     GenericTokenParser parser = new GenericTokenParser("#{", "}", handler);
     String sql;
-    if (configuration.isShrinkWhitespacesInSql()) {
+    if (shrinkWhitespaces) {
       sql = parser.parse(removeExtraWhitespaces(originalSql));
     } else {
       sql = parser.parse(originalSql);
@@ -16,6 +16,7 @@
 package org.apache.ibatis.builder;
 
 import java.util.List;
+import java.util.Map;
 
 import org.apache.ibatis.mapping.BoundSql;
 import org.apache.ibatis.mapping.ParameterMapping;
@@ -46,4 +47,13 @@ public class StaticSqlSource implements SqlSource {
     return new BoundSql(configuration, sql, parameterMappings, parameterObject);
   }
 
+  /**
+   * Returns a bound sql that shares the given map as its additional parameters.
+   *
+   * @since 3.5.14
+   */
+  public BoundSql getBoundSql(Object parameterObject, Map<String, Object> additionalParameters) {
+    return new BoundSql(configuration, sql, parameterMappings, parameterObject, additionalParameters);
+  }
+
 }
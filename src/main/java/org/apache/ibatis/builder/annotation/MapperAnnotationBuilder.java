@@ -66,6 +66,7 @@ import org.apache.ibatis.builder.IncompleteElementException;
 import org.apache.ibatis.builder.MapperBuilderAssistant;
 import org.apache.ibatis.builder.xml.XMLMapperBuilder;
 import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.cursor.CursorPublisher;
 import org.apache.ibatis.executor.keygen.Jdbc3KeyGenerator;
 import org.apache.ibatis.executor.keygen.KeyGenerator;
 import org.apache.ibatis.executor.keygen.NoKeyGenerator;
@@ -189,8 +190,29 @@ public class MapperAnnotationBuilder {
       Long flushInterval = cacheDomain.flushInterval() == 0 ? null : cacheDomain.flushInterval();
       Properties props = convertToProperties(cacheDomain.properties());
       assistant.useNewCache(cacheDomain.implementation(), cacheDomain.eviction(), flushInterval, size,
-          cacheDomain.readWrite(), cacheDomain.blocking(), props);
+          cacheDomain.readWrite(), cacheDomain.blocking(), hasCacheTags(type), props);
+    }
+  }
+
+  /**
+   * Returns whether a method of the mapper type declares cache tags with {@link Options#cacheTags()}.
+   *
+   * @param type
+   *          the mapper type
+   *
+   * @return {@code true} if the cache of the namespace needs to index its entries by tag
+   *
+   * @since 3.5.14
+   */
+  public static boolean hasCacheTags(Class<?> type) {
+    for (Method method : type.getMethods()) {
+      for (Options options : method.getAnnotationsByType(Options.class)) {
+        if (!options.cacheTags().isEmpty()) {
+          return true;
+        }
+      }
     }
+    return false;
   }
 
   private Properties convertToProperties(Property[] properties) {
@@ -368,7 +390,8 @@ public class MapperAnnotationBuilder {
           // TODO gcode issue #577
           false, keyGenerator, keyProperty, keyColumn, statementAnnotation.getDatabaseId(), languageDriver,
           // ResultSets
-          options != null ? nullOrEmpty(options.resultSets()) : null, statementAnnotation.isDirtySelect());
+          options != null ? nullOrEmpty(options.resultSets()) : null, statementAnnotation.isDirtySelect(),
+          statementAnnotation.isUseReplica(), options != null ? nullOrEmpty(options.cacheTags()) : null);
     });
   }
 
@@ -416,7 +439,8 @@ public class MapperAnnotationBuilder {
     } else if (resolvedReturnType instanceof ParameterizedType) {
       ParameterizedType parameterizedType = (ParameterizedType) resolvedReturnType;
       Class<?> rawType = (Class<?>) parameterizedType.getRawType();
-      if (Collection.class.isAssignableFrom(rawType) || Cursor.class.isAssignableFrom(rawType)) {
+      if (Collection.class.isAssignableFrom(rawType) || Cursor.class.isAssignableFrom(rawType)
+          || CursorPublisher.isPublisherType(rawType)) {
         Type[] actualTypeArguments = parameterizedType.getActualTypeArguments();
         if (actualTypeArguments != null && actualTypeArguments.length == 1) {
           Type returnTypeParameter = actualTypeArguments[0];
@@ -576,7 +600,7 @@ public class MapperAnnotationBuilder {
 
     assistant.addMappedStatement(id, sqlSource, statementType, sqlCommandType, fetchSize, timeout, parameterMap,
         parameterTypeClass, resultMap, resultTypeClass, resultSetTypeEnum, flushCache, useCache, false, keyGenerator,
-        keyProperty, keyColumn, databaseId, languageDriver, null, false);
+        keyProperty, keyColumn, databaseId, languageDriver, null, false, false, null);
 
     id = assistant.applyCurrentNamespace(id, false);
 
@@ -662,6 +686,7 @@ public class MapperAnnotationBuilder {
     private final String databaseId;
     private final SqlCommandType sqlCommandType;
     private boolean dirtySelect;
+    private boolean useReplica = true;
 
     AnnotationWrapper(Annotation annotation) {
       this.annotation = annotation;
@@ -669,6 +694,7 @@ public class MapperAnnotationBuilder {
         databaseId = ((Select) annotation).databaseId();
         sqlCommandType = SqlCommandType.SELECT;
         dirtySelect = ((Select) annotation).affectData();
+        useReplica = ((Select) annotation).useReplica();
       } else if (annotation instanceof Update) {
         databaseId = ((Update) annotation).databaseId();
         sqlCommandType = SqlCommandType.UPDATE;
@@ -682,6 +708,7 @@ public class MapperAnnotationBuilder {
         databaseId = ((SelectProvider) annotation).databaseId();
         sqlCommandType = SqlCommandType.SELECT;
         dirtySelect = ((SelectProvider) annotation).affectData();
+        useReplica = ((SelectProvider) annotation).useReplica();
       } else if (annotation instanceof UpdateProvider) {
         databaseId = ((UpdateProvider) annotation).databaseId();
         sqlCommandType = SqlCommandType.UPDATE;
@@ -718,5 +745,9 @@ public class MapperAnnotationBuilder {
     boolean isDirtySelect() {
       return dirtySelect;
     }
+
+    boolean isUseReplica() {
+      return useReplica;
+    }
   }
 }
@@ -0,0 +1,54 @@
+/*
+ *    Copyright 2009-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.builder.annotation;
+
+/**
+ * The interface that enables caching of the {@link org.apache.ibatis.mapping.SqlSource} created from the SQL returned
+ * by an SQL provider method.
+ * <p>
+ * This interface need to implements at an SQL provider class and it need to define the default constructor for creating
+ * a new instance. When implemented, the provider method is invoked and its SQL is parsed only once per cache key (and
+ * parameter type), instead of on every execution.
+ *
+ * @since 3.5.14
+ */
+public interface ProviderCacheKeyResolver {
+
+  /**
+   * Resolve a key that identifies the SQL that the provider method returns for the given parameter.
+   * <p>
+   * Parameters that produce the same SQL must return an equal key. Return {@code null} to invoke the provider method
+   * without caching.
+   *
+   * @param context
+   *          a context for SQL provider
+   * @param parameterObject
+   *          the parameter object of the mapper method
+   *
+   * @return a cache key, or {@code null} if the SQL should not be cached
+   */
+  Object resolveCacheKey(ProviderContext context, Object parameterObject);
+
+  /**
+   * Returns the maximum number of cached SQL sources per mapper method. Once reached, new keys are not cached any more.
+   *
+   * @return the maximum number of cached SQL sources
+   */
+  default int getCacheSize() {
+    return 256;
+  }
+
+}
@@ -20,9 +20,11 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.ibatis.annotations.Lang;
 import org.apache.ibatis.builder.BuilderException;
+import org.apache.ibatis.cache.CacheKey;
 import org.apache.ibatis.mapping.BoundSql;
 import org.apache.ibatis.mapping.SqlSource;
 import org.apache.ibatis.reflection.ParamNameResolver;
@@ -44,6 +46,9 @@ public class ProviderSqlSource implements SqlSource {
   private final Class<?>[] providerMethodParameterTypes;
   private final ProviderContext providerContext;
   private final Integer providerContextIndex;
+  private final ProviderCacheKeyResolver cacheKeyResolver;
+  private final ProviderContext cacheKeyContext;
+  private final Map<CacheKey, SqlSource> sqlSourceCache;
 
   /**
    * This constructor will remove at a future version.
@@ -158,14 +163,47 @@ public class ProviderSqlSource implements SqlSource {
     }
     this.providerContext = candidateProviderContext;
     this.providerContextIndex = candidateProviderContextIndex;
+
+    if (ProviderCacheKeyResolver.class.isAssignableFrom(this.providerType)) {
+      try {
+        this.cacheKeyResolver = (ProviderCacheKeyResolver) this.providerType.getDeclaredConstructor().newInstance();
+      } catch (Exception e) {
+        throw new BuilderException("Error creating SqlSource for SqlProvider.  Cause: " + e, e);
+      }
+      this.cacheKeyContext = new ProviderContext(mapperType, mapperMethod, configuration.getDatabaseId());
+      this.sqlSourceCache = new ConcurrentHashMap<>();
+    } else {
+      this.cacheKeyResolver = null;
+      this.cacheKeyContext = null;
+      this.sqlSourceCache = null;
+    }
   }
 
   @Override
   public BoundSql getBoundSql(Object parameterObject) {
-    SqlSource sqlSource = createSqlSource(parameterObject);
+    SqlSource sqlSource = cacheKeyResolver == null ? createSqlSource(parameterObject)
+        : getCachedSqlSource(parameterObject);
     return sqlSource.getBoundSql(parameterObject);
   }
 
+  private SqlSource getCachedSqlSource(Object parameterObject) {
+    Object key = cacheKeyResolver.resolveCacheKey(cacheKeyContext, parameterObject);
+    if (key == null) {
+      return createSqlSource(parameterObject);
+    }
+    // the created SqlSource depends on the parameter type as well
+    CacheKey cacheKey = new CacheKey(
+        new Object[] { key, parameterObject == null ? Object.class : parameterObject.getClass() });
+    SqlSource sqlSource = sqlSourceCache.get(cacheKey);
+    if (sqlSource == null) {
+      sqlSource = createSqlSource(parameterObject);
+      if (sqlSourceCache.size() < cacheKeyResolver.getCacheSize()) {
+        sqlSourceCache.putIfAbsent(cacheKey, sqlSource);
+      }
+    }
+    return sqlSource;
+  }
+
   private SqlSource createSqlSource(Object parameterObject) {
     try {
       String sql;
@@ -29,6 +29,9 @@ import org.apache.ibatis.executor.loader.ProxyFactory;
 import org.apache.ibatis.io.Resources;
 import org.apache.ibatis.io.VFS;
 import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.logging.tracing.AsyncSqlTracer;
+import org.apache.ibatis.logging.tracing.SamplingSqlTracer;
+import org.apache.ibatis.logging.tracing.SqlTracer;
 import org.apache.ibatis.mapping.DatabaseIdProvider;
 import org.apache.ibatis.mapping.Environment;
 import org.apache.ibatis.parsing.XNode;
@@ -290,6 +293,33 @@ public class XMLConfigBuilder extends BaseBuilder {
         booleanValueOf(props.getProperty("argNameBasedConstructorAutoMapping"), false));
     configuration.setDefaultSqlProviderType(resolveClass(props.getProperty("defaultSqlProviderType")));
     configuration.setNullableOnForEach(booleanValueOf(props.getProperty("nullableOnForEach"), false));
+    configuration.setUseGeneratedMapperClasses(booleanValueOf(props.getProperty("useGeneratedMapperClasses"), false));
+    configuration.setWarmUpReflectors(booleanValueOf(props.getProperty("warmUpReflectors"), false));
+    configuration.setMetricsEnabled(booleanValueOf(props.getProperty("metricsEnabled"), false));
+    configuration.setStreamingCursors(booleanValueOf(props.getProperty("streamingCursors"), false));
+    configuration.setCursorPrefetchSize(integerValueOf(props.getProperty("cursorPrefetchSize"), null));
+    configuration.setCursorPublisherBatchSize(integerValueOf(props.getProperty("cursorPublisherBatchSize"), 256));
+    configuration.setRewriteBatchedInserts(booleanValueOf(props.getProperty("rewriteBatchedInserts"), false));
+    configuration.setMultiStatementPipeline(booleanValueOf(props.getProperty("multiStatementPipeline"), false));
+    String sqlTracerSampleRate = props.getProperty("sqlTracerSampleRate");
+    configuration.setSqlTracerSampleRate(sqlTracerSampleRate == null ? null : Double.valueOf(sqlTracerSampleRate));
+    configuration.setSqlTracerAsyncCapacity(integerValueOf(props.getProperty("sqlTracerAsyncCapacity"), null));
+    configuration.setSqlTracer(sqlTracerOf(props.getProperty("sqlTracer")));
+  }
+
+  private SqlTracer sqlTracerOf(String alias) {
+    SqlTracer sqlTracer = (SqlTracer) createInstance(alias);
+    if (sqlTracer == null) {
+      return null;
+    }
+    // sampled before being queued
+    if (configuration.getSqlTracerAsyncCapacity() != null) {
+      sqlTracer = new AsyncSqlTracer(sqlTracer, configuration.getSqlTracerAsyncCapacity());
+    }
+    if (configuration.getSqlTracerSampleRate() != null) {
+      sqlTracer = new SamplingSqlTracer(sqlTracer, configuration.getSqlTracerSampleRate());
+    }
+    return sqlTracer;
   }
 
   private void environmentsElement(XNode context) throws Exception {
@@ -17,6 +17,7 @@ package org.apache.ibatis.cache;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 import org.apache.ibatis.cache.decorators.TransactionalCache;
 import org.apache.ibatis.util.MapUtil;
@@ -32,14 +33,64 @@ public class TransactionalCacheManager {
     getTransactionalCache(cache).clear();
   }
 
+  /**
+   * Evicts the entries of the cache recorded under any of the specified tags.
+   *
+   * @param cache
+   *          the cache
+   * @param tags
+   *          the tags to evict
+   *
+   * @since 3.5.14
+   */
+  public void evict(Cache cache, Set<String> tags) {
+    getTransactionalCache(cache).evict(tags);
+  }
+
   public Object getObject(Cache cache, CacheKey key) {
     return getTransactionalCache(cache).getObject(key);
   }
 
+  /**
+   * Gets an entry read under the specified tags.
+   *
+   * @param cache
+   *          the cache
+   * @param key
+   *          the key
+   * @param tags
+   *          the tags of the entry, or {@code null} if the entry may depend on any data
+   *
+   * @return the cached value, or {@code null} if there is none
+   *
+   * @since 3.5.14
+   */
+  public Object getObject(Cache cache, CacheKey key, Set<String> tags) {
+    return getTransactionalCache(cache).getObject(key, tags);
+  }
+
   public void putObject(Cache cache, CacheKey key, Object value) {
     getTransactionalCache(cache).putObject(key, value);
   }
 
+  /**
+   * Puts an entry recorded under the specified tags.
+   *
+   * @param cache
+   *          the cache
+   * @param key
+   *          the key
+   * @param value
+   *          the value
+   * @param tags
+   *          the tags of the entry, or {@code null} if the entry may depend on any data
+   *
+   * @since 3.5.14
+   */
+  public void putObject(Cache cache, CacheKey key, Object value, Set<String> tags) {
+    getTransactionalCache(cache).putObject(key, value, tags);
+  }
+
   public void commit() {
     for (TransactionalCache txCache : transactionalCaches.values()) {
       txCache.commit();
@@ -0,0 +1,157 @@
+/*
+ *    Copyright 2009-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache.decorators;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.ibatis.cache.Cache;
+
+/**
+ * Keeps track of the tags of the cached entries, so that an entry can be evicted by tag instead of clearing the whole
+ * cache.
+ * <p>
+ * Entries put without tags may depend on any data, so once such an entry is cached, an eviction by tag clears the whole
+ * cache. The index is not told about the entries dropped by the decorated cache (e.g. by the LRU policy) and is reset
+ * together with the cache when it grows well beyond the cache size.
+ *
+ * @since 3.5.14
+ */
+public class TaggedCache implements Cache {
+
+  private static final int MIN_TRACKED_KEYS = 1024;
+
+  private final Cache delegate;
+  private final Map<String, Set<Object>> keysByTag = new HashMap<>();
+  private final Map<Object, Set<String>> tagsByKey = new HashMap<>();
+  private boolean untaggedEntries;
+
+  public TaggedCache(Cache delegate) {
+    this.delegate = delegate;
+  }
+
+  @Override
+  public String getId() {
+    return delegate.getId();
+  }
+
+  @Override
+  public int getSize() {
+    return delegate.getSize();
+  }
+
+  @Override
+  public Object getObject(Object key) {
+    return delegate.getObject(key);
+  }
+
+  @Override
+  public synchronized void putObject(Object key, Object object) {
+    unindex(key);
+    if (object != null) {
+      untaggedEntries = true;
+    }
+    delegate.putObject(key, object);
+  }
+
+  /**
+   * Puts an entry and records it under the specified tags.
+   *
+   * @param key
+   *          the key
+   * @param object
+   *          the value
+   * @param tags
+   *          the tags of the entry, or {@code null} if the entry may depend on any data
+   */
+  public synchronized void putObject(Object key, Object object, Set<String> tags) {
+    if (tags == null) {
+      putObject(key, object);
+      return;
+    }
+    unindex(key);
+    if (tagsByKey.size() >= Math.max(MIN_TRACKED_KEYS, delegate.getSize() * 2)) {
+      clear();
+    }
+    tagsByKey.put(key, tags);
+    for (String tag : tags) {
+      keysByTag.computeIfAbsent(tag, k -> new HashSet<>()).add(key);
+    }
+    delegate.putObject(key, object);
+  }
+
+  @Override
+  public synchronized Object removeObject(Object key) {
+    unindex(key);
+    return delegate.removeObject(key);
+  }
+
+  @Override
+  public synchronized void clear() {
+    keysByTag.clear();
+    tagsByKey.clear();
+    untaggedEntries = false;
+    delegate.clear();
+  }
+
+  /**
+   * Removes the entries recorded under any of the specified tags.
+   *
+   * @param tags
+   *          the tags to evict
+   */
+  public synchronized void evict(Collection<String> tags) {
+    if (untaggedEntries) {
+      clear();
+      return;
+    }
+    for (String tag : tags) {
+      Set<Object> keys = keysByTag.get(tag);
+      if (keys != null) {
+        for (Object key : keys.toArray()) {
+          unindex(key);
+          delegate.removeObject(key);
+        }
+      }
+    }
+  }
+
+  private void unindex(Object key) {
+    Set<String> tags = tagsByKey.remove(key);
+    if (tags != null) {
+      for (String tag : tags) {
+        Set<Object> keys = keysByTag.get(tag);
+        if (keys != null && keys.remove(key) && keys.isEmpty()) {
+          keysByTag.remove(tag);
+        }
+      }
+    }
+  }
+
+  @Override
+  public int hashCode() {
+    return delegate.hashCode();
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    return delegate.equals(obj);
+  }
+
+}
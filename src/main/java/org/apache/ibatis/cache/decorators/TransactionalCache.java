@@ -15,8 +15,10 @@
  */
 package org.apache.ibatis.cache.decorators;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 
@@ -42,12 +44,16 @@ public class TransactionalCache implements Cache {
   private final Cache delegate;
   private boolean clearOnCommit;
   private final Map<Object, Object> entriesToAddOnCommit;
+  private final Map<Object, Set<String>> tagsOfEntriesToAdd;
+  private final Set<String> tagsToEvictOnCommit;
   private final Set<Object> entriesMissedInCache;
 
   public TransactionalCache(Cache delegate) {
     this.delegate = delegate;
     this.clearOnCommit = false;
     this.entriesToAddOnCommit = new HashMap<>();
+    this.tagsOfEntriesToAdd = new HashMap<>();
+    this.tagsToEvictOnCommit = new HashSet<>();
     this.entriesMissedInCache = new HashSet<>();
   }
 
@@ -75,9 +81,50 @@ public class TransactionalCache implements Cache {
     return object;
   }
 
+  /**
+   * Gets an entry read under the specified tags. The entry is not returned if it is to be evicted on commit.
+   *
+   * @param key
+   *          the key
+   * @param tags
+   *          the tags of the entry, or {@code null} if the entry may depend on any data
+   *
+   * @return the cached value, or {@code null} if there is none
+   *
+   * @since 3.5.14
+   */
+  public Object getObject(Object key, Set<String> tags) {
+    Object object = getObject(key);
+    if (object != null && isEvictedOnCommit(tags)) {
+      return null;
+    }
+    return object;
+  }
+
   @Override
   public void putObject(Object key, Object object) {
+    putObject(key, object, null);
+  }
+
+  /**
+   * Puts an entry that is recorded under the specified tags on commit.
+   *
+   * @param key
+   *          the key
+   * @param object
+   *          the value
+   * @param tags
+   *          the tags of the entry, or {@code null} if the entry may depend on any data
+   *
+   * @since 3.5.14
+   */
+  public void putObject(Object key, Object object, Set<String> tags) {
     entriesToAddOnCommit.put(key, object);
+    if (tags == null || !(delegate instanceof TaggedCache)) {
+      tagsOfEntriesToAdd.remove(key);
+    } else {
+      tagsOfEntriesToAdd.put(key, tags);
+    }
   }
 
   @Override
@@ -89,11 +136,43 @@ public class TransactionalCache implements Cache {
   public void clear() {
     clearOnCommit = true;
     entriesToAddOnCommit.clear();
+    tagsOfEntriesToAdd.clear();
+    tagsToEvictOnCommit.clear();
+  }
+
+  /**
+   * Evicts the entries recorded under any of the specified tags on commit. The whole cache is cleared instead when the
+   * decorated cache does not keep track of tags.
+   *
+   * @param tags
+   *          the tags to evict
+   *
+   * @since 3.5.14
+   */
+  public void evict(Set<String> tags) {
+    if (!(delegate instanceof TaggedCache)) {
+      clear();
+      return;
+    }
+    if (!clearOnCommit) {
+      tagsToEvictOnCommit.addAll(tags);
+    }
+    Iterator<Object> keys = entriesToAddOnCommit.keySet().iterator();
+    while (keys.hasNext()) {
+      Object key = keys.next();
+      Set<String> entryTags = tagsOfEntriesToAdd.get(key);
+      if (entryTags == null || !Collections.disjoint(entryTags, tags)) {
+        keys.remove();
+        tagsOfEntriesToAdd.remove(key);
+      }
+    }
   }
 
   public void commit() {
     if (clearOnCommit) {
       delegate.clear();
+    } else if (!tagsToEvictOnCommit.isEmpty()) {
+      ((TaggedCache) delegate).evict(tagsToEvictOnCommit);
     }
     flushPendingEntries();
     reset();
@@ -107,12 +186,27 @@ public class TransactionalCache implements Cache {
   private void reset() {
     clearOnCommit = false;
     entriesToAddOnCommit.clear();
+    tagsOfEntriesToAdd.clear();
+    tagsToEvictOnCommit.clear();
     entriesMissedInCache.clear();
   }
 
+  private boolean isEvictedOnCommit(Set<String> tags) {
+    if (tagsToEvictOnCommit.isEmpty()) {
+      return false;
+    }
+    // an entry without tags may depend on any data
+    return tags == null || !Collections.disjoint(tags, tagsToEvictOnCommit);
+  }
+
   private void flushPendingEntries() {
     for (Map.Entry<Object, Object> entry : entriesToAddOnCommit.entrySet()) {
-      delegate.putObject(entry.getKey(), entry.getValue());
+      Set<String> tags = tagsOfEntriesToAdd.get(entry.getKey());
+      if (tags != null) {
+        ((TaggedCache) delegate).putObject(entry.getKey(), entry.getValue(), tags);
+      } else {
+        delegate.putObject(entry.getKey(), entry.getValue());
+      }
     }
     for (Object entry : entriesMissedInCache) {
       if (!entriesToAddOnCommit.containsKey(entry)) {
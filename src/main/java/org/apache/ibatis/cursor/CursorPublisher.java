@@ -0,0 +1,388 @@
+/*
+ *    Copyright 2009-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cursor;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.apache.ibatis.reflection.ExceptionUtil;
+
+/**
+ * A publisher that emits the items of a {@link Cursor} on demand, following the protocol of
+ * {@code java.util.concurrent.Flow} (and Reactive Streams).
+ * <p>
+ * The cursor is opened when the first items are requested and rows are only fetched to satisfy the outstanding demand.
+ * Cancelling the subscription closes the cursor and therefore the statement. Items are emitted by the thread calling
+ * {@link Subscription#request(long)}, or by the given {@link Executor} in batches of at most {@code batchSize} items.
+ * Either way a single thread at a time uses the session, which must stay open and must not be used for other statements
+ * until the subscription completes. A publisher can only be subscribed once.
+ * <p>
+ * As MyBatis supports Java 8, the subscriber and subscription types are declared here; use {@link #toFlowPublisher()}
+ * to get a {@code java.util.concurrent.Flow.Publisher} on Java 9 or later. Mapper methods may return either type.
+ *
+ * @param <T>
+ *          the type of the emitted items
+ *
+ * @since 3.5.14
+ */
+public class CursorPublisher<T> {
+
+  private static final String FLOW_PUBLISHER = "java.util.concurrent.Flow$Publisher";
+
+  private final Supplier<? extends Cursor<T>> cursorSupplier;
+  private final Executor executor;
+  private final int batchSize;
+  private final AtomicBoolean subscribed = new AtomicBoolean();
+
+  /**
+   * Creates a publisher that emits items on the thread requesting them.
+   *
+   * @param cursorSupplier
+   *          opens the cursor when the first items are requested
+   */
+  public CursorPublisher(Supplier<? extends Cursor<T>> cursorSupplier) {
+    this(cursorSupplier, null, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Creates a publisher that emits items on the given executor.
+   *
+   * @param cursorSupplier
+   *          opens the cursor when the first items are requested
+   * @param executor
+   *          the executor emitting the items, or {@code null} to emit them on the thread requesting them
+   * @param batchSize
+   *          the maximum number of items emitted by a task of the executor before it is rescheduled
+   */
+  public CursorPublisher(Supplier<? extends Cursor<T>> cursorSupplier, Executor executor, int batchSize) {
+    if (batchSize <= 0) {
+      throw new IllegalArgumentException("The batch size must be positive but was " + batchSize);
+    }
+    this.cursorSupplier = Objects.requireNonNull(cursorSupplier, "cursorSupplier");
+    this.executor = executor;
+    this.batchSize = batchSize;
+  }
+
+  /**
+   * Returns whether the type is a publisher type that can be returned by a mapper method.
+   *
+   * @param type
+   *          the type to check
+   *
+   * @return {@code true} for {@link CursorPublisher} and {@code java.util.concurrent.Flow.Publisher}
+   */
+  public static boolean isPublisherType(Class<?> type) {
+    return CursorPublisher.class.equals(type) || FLOW_PUBLISHER.equals(type.getName());
+  }
+
+  /**
+   * Subscribes to the items of the cursor.
+   *
+   * @param subscriber
+   *          the subscriber
+   */
+  public void subscribe(Subscriber<? super T> subscriber) {
+    Objects.requireNonNull(subscriber, "subscriber");
+    if (!subscribed.compareAndSet(false, true)) {
+      subscriber.onSubscribe(CancelledSubscription.INSTANCE);
+      subscriber.onError(new IllegalStateException("A CursorPublisher can only be subscribed once."));
+      return;
+    }
+    subscriber.onSubscribe(new CursorSubscription(subscriber));
+  }
+
+  /**
+   * Returns this publisher as a {@code java.util.concurrent.Flow.Publisher}.
+   *
+   * @param <P>
+   *          the {@code java.util.concurrent.Flow.Publisher} type
+   *
+   * @return a {@code java.util.concurrent.Flow.Publisher} subscribing to this publisher
+   *
+   * @throws UnsupportedOperationException
+   *           on Java 8
+   */
+  @SuppressWarnings("unchecked")
+  public <P> P toFlowPublisher() {
+    Class<?> publisherType;
+    try {
+      publisherType = Class.forName(FLOW_PUBLISHER);
+    } catch (ClassNotFoundException e) {
+      throw new UnsupportedOperationException("java.util.concurrent.Flow requires Java 9 or later.", e);
+    }
+    return (P) newProxy(publisherType, (proxy, method, args) -> {
+      if ("subscribe".equals(method.getName())) {
+        subscribe(new FlowSubscriber<>(Objects.requireNonNull(args[0], "subscriber")));
+        return null;
+      }
+      return invokeObjectMethod(proxy, method, args);
+    });
+  }
+
+  private static Object newProxy(Class<?> type, InvocationHandler handler) {
+    return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, handler);
+  }
+
+  private static Object invokeObjectMethod(Object proxy, Method method, Object[] args) {
+    switch (method.getName()) {
+      case "equals":
+        return proxy == args[0];
+      case "hashCode":
+        return System.identityHashCode(proxy);
+      case "toString":
+        return proxy.getClass().getInterfaces()[0].getName() + "@"
+            + Integer.toHexString(System.identityHashCode(proxy));
+      default:
+        throw new UnsupportedOperationException(method.toString());
+    }
+  }
+
+  /**
+   * Receives the items of a {@link CursorPublisher}, same as {@code java.util.concurrent.Flow.Subscriber}.
+   *
+   * @param <T>
+   *          the type of the received items
+   */
+  public interface Subscriber<T> {
+
+    void onSubscribe(Subscription subscription);
+
+    void onNext(T item);
+
+    void onError(Throwable throwable);
+
+    void onComplete();
+  }
+
+  /**
+   * Links a {@link CursorPublisher} and a {@link Subscriber}, same as {@code java.util.concurrent.Flow.Subscription}.
+   */
+  public interface Subscription {
+
+    void request(long n);
+
+    void cancel();
+  }
+
+  private enum CancelledSubscription implements Subscription {
+    INSTANCE;
+
+    @Override
+    public void request(long n) {
+      // nothing to emit
+    }
+
+    @Override
+    public void cancel() {
+      // nothing to cancel
+    }
+  }
+
+  private final class CursorSubscription implements Subscription {
+
+    private final Subscriber<? super T> subscriber;
+    private final AtomicLong requested = new AtomicLong();
+    private final AtomicInteger wip = new AtomicInteger();
+    private volatile boolean cancelled;
+    private volatile Throwable invalidRequest;
+
+    // only accessed by the draining thread
+    private Cursor<T> cursor;
+    private Iterator<T> iterator;
+    private boolean done;
+
+    CursorSubscription(Subscriber<? super T> subscriber) {
+      this.subscriber = subscriber;
+    }
+
+    @Override
+    public void request(long n) {
+      if (n <= 0) {
+        invalidRequest = new IllegalArgumentException("The number of requested items must be positive but was " + n);
+      } else {
+        requested.accumulateAndGet(n, (current, added) -> {
+          long sum = current + added;
+          return sum < 0 ? Long.MAX_VALUE : sum;
+        });
+      }
+      schedule();
+    }
+
+    @Override
+    public void cancel() {
+      cancelled = true;
+      schedule();
+    }
+
+    private void schedule() {
+      if (wip.getAndIncrement() == 0) {
+        if (executor == null) {
+          drain();
+        } else {
+          executor.execute(this::drain);
+        }
+      }
+    }
+
+    private void drain() {
+      int missed = 1;
+      do {
+        if (!done) {
+          if (cancelled) {
+            finish();
+          } else if (invalidRequest != null) {
+            finish();
+            subscriber.onError(invalidRequest);
+          } else if (!emit()) {
+            // the remaining work is rescheduled on the executor
+            return;
+          }
+        }
+        missed = wip.addAndGet(-missed);
+      } while (missed != 0);
+    }
+
+    private boolean emit() {
+      long demand = requested.get();
+      long emitted = 0;
+      boolean yielded = false;
+      try {
+        if (iterator == null) {
+          cursor = cursorSupplier.get();
+          iterator = cursor.iterator();
+        }
+        while (emitted != demand && !cancelled) {
+          if (emitted == batchSize && executor != null) {
+            yielded = true;
+            break;
+          }
+          if (!iterator.hasNext()) {
+            break;
+          }
+          subscriber.onNext(iterator.next());
+          emitted++;
+        }
+        if (!yielded && !cancelled && !iterator.hasNext()) {
+          finish();
+          subscriber.onComplete();
+        }
+      } catch (RuntimeException e) {
+        finish();
+        subscriber.onError(e);
+      } finally {
+        if (emitted != 0 && demand != Long.MAX_VALUE) {
+          requested.addAndGet(-emitted);
+        }
+      }
+      if (yielded) {
+        executor.execute(this::drain);
+        return false;
+      }
+      return true;
+    }
+
+    private void finish() {
+      done = true;
+      if (cursor != null) {
+        try {
+          cursor.close();
+        } catch (IOException e) {
+          // ignore
+        }
+      }
+    }
+  }
+
+  private static final class FlowSubscriber<T> implements Subscriber<T> {
+
+    private final Object target;
+    private final Class<?> subscriptionType;
+    private final Method onSubscribe;
+    private final Method onNext;
+    private final Method onError;
+    private final Method onComplete;
+
+    FlowSubscriber(Object target) {
+      this.target = target;
+      try {
+        Class<?> subscriberType = Class.forName("java.util.concurrent.Flow$Subscriber");
+        this.subscriptionType = Class.forName("java.util.concurrent.Flow$Subscription");
+        this.onSubscribe = subscriberType.getMethod("onSubscribe", subscriptionType);
+        this.onNext = subscriberType.getMethod("onNext", Object.class);
+        this.onError = subscriberType.getMethod("onError", Throwable.class);
+        this.onComplete = subscriberType.getMethod("onComplete");
+      } catch (ReflectiveOperationException e) {
+        throw new IllegalStateException(e);
+      }
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+      Object flowSubscription = newProxy(subscriptionType, (proxy, method, args) -> {
+        switch (method.getName()) {
+          case "request":
+            subscription.request((Long) args[0]);
+            return null;
+          case "cancel":
+            subscription.cancel();
+            return null;
+          default:
+            return invokeObjectMethod(proxy, method, args);
+        }
+      });
+      invoke(onSubscribe, flowSubscription);
+    }
+
+    @Override
+    public void onNext(T item) {
+      invoke(onNext, item);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+      invoke(onError, throwable);
+    }
+
+    @Override
+    public void onComplete() {
+      invoke(onComplete);
+    }
+
+    private void invoke(Method method, Object... args) {
+      try {
+        method.invoke(target, args);
+      } catch (Exception e) {
+        Throwable cause = ExceptionUtil.unwrapThrowable(e);
+        if (cause instanceof RuntimeException) {
+          throw (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+          throw (Error) cause;
+        }
+        throw new IllegalStateException(cause);
+      }
+    }
+  }
+}
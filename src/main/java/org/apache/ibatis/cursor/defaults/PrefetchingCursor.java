@@ -0,0 +1,226 @@
+/*
+ *    Copyright 2009-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cursor.defaults;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.ibatis.cursor.Cursor;
+
+/**
+ * A {@link Cursor} that reads and maps the next chunk of rows of a delegate cursor on a background thread while the
+ * consumer iterates over the current one.
+ * <p>
+ * At most two chunks are held in memory: the one being consumed and the one prefetched. The delegate is only accessed
+ * by the background thread until it has stopped, so its result set is never used by two threads at the same time. As
+ * the background thread maps the rows, the consumer must not execute other statements on the same session while
+ * iterating, and result maps with nested queries (and therefore lazy loading) are not supported. This implementation is
+ * not thread safe.
+ *
+ * @since 3.5.14
+ */
+public class PrefetchingCursor<T> implements Cursor<T> {
+
+  private static final ExecutorService prefetchExecutor = Executors.newCachedThreadPool(runnable -> {
+    Thread thread = new Thread(runnable, "mybatis-cursor-prefetch");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  private final Cursor<T> delegate;
+  private final int prefetchSize;
+  private final BlockingQueue<Chunk<T>> chunks = new ArrayBlockingQueue<>(1);
+  private final CursorIterator cursorIterator = new CursorIterator();
+
+  private volatile boolean closed;
+  private boolean iteratorRetrieved;
+  private boolean consumed;
+  private int currentIndex;
+  private Future<?> prefetchTask;
+
+  public PrefetchingCursor(Cursor<T> delegate, int prefetchSize) {
+    if (prefetchSize <= 0) {
+      throw new IllegalArgumentException("The prefetch size must be positive but was " + prefetchSize);
+    }
+    this.delegate = delegate;
+    this.prefetchSize = prefetchSize;
+    this.currentIndex = delegate.getCurrentIndex();
+  }
+
+  @Override
+  public boolean isOpen() {
+    return cursorIterator.chunk != null && !closed && !consumed;
+  }
+
+  @Override
+  public boolean isConsumed() {
+    return consumed;
+  }
+
+  @Override
+  public int getCurrentIndex() {
+    return currentIndex;
+  }
+
+  @Override
+  public Iterator<T> iterator() {
+    if (iteratorRetrieved) {
+      throw new IllegalStateException("Cannot open more than one iterator on a Cursor");
+    }
+    if (closed) {
+      throw new IllegalStateException("A Cursor is already closed.");
+    }
+    iteratorRetrieved = true;
+    Iterator<T> rows = delegate.iterator();
+    prefetchTask = prefetchExecutor.submit(() -> prefetch(rows));
+    return cursorIterator;
+  }
+
+  @Override
+  public void close() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    if (prefetchTask != null) {
+      chunks.clear();
+      awaitPrefetchTask();
+    }
+    try {
+      delegate.close();
+    } catch (IOException e) {
+      // ignore
+    }
+  }
+
+  private void prefetch(Iterator<T> rows) {
+    try {
+      while (!closed) {
+        List<T> list = new ArrayList<>(prefetchSize);
+        while (!closed && list.size() < prefetchSize && rows.hasNext()) {
+          list.add(rows.next());
+        }
+        boolean last = list.size() < prefetchSize;
+        if (!offer(new Chunk<>(list, last, null)) || last) {
+          return;
+        }
+      }
+    } catch (RuntimeException e) {
+      offer(new Chunk<>(null, true, e));
+    }
+  }
+
+  private boolean offer(Chunk<T> chunk) {
+    try {
+      while (!closed) {
+        if (chunks.offer(chunk, 100, TimeUnit.MILLISECONDS)) {
+          return true;
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    return false;
+  }
+
+  private Chunk<T> take() {
+    try {
+      return chunks.take();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for the next rows of the cursor.", e);
+    }
+  }
+
+  private void awaitPrefetchTask() {
+    boolean interrupted = false;
+    while (true) {
+      try {
+        prefetchTask.get();
+        break;
+      } catch (InterruptedException e) {
+        interrupted = true;
+      } catch (ExecutionException e) {
+        // the failure has been handed over to the consumer
+        break;
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static final class Chunk<T> {
+    private final List<T> rows;
+    private final boolean last;
+    private final RuntimeException error;
+
+    Chunk(List<T> rows, boolean last, RuntimeException error) {
+      this.rows = rows;
+      this.last = last;
+      this.error = error;
+    }
+  }
+
+  private final class CursorIterator implements Iterator<T> {
+
+    private Chunk<T> chunk;
+    private int position;
+
+    @Override
+    public boolean hasNext() {
+      if (closed || consumed) {
+        return false;
+      }
+      while (chunk == null || chunk.error == null && position == chunk.rows.size()) {
+        if (chunk != null && chunk.last) {
+          consumed = true;
+          return false;
+        }
+        chunk = take();
+        position = 0;
+      }
+      if (chunk.error != null) {
+        throw chunk.error;
+      }
+      return true;
+    }
+
+    @Override
+    public T next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      currentIndex++;
+      return chunk.rows.get(position++);
+    }
+
+    @Override
+    public void remove() {
+      throw new UnsupportedOperationException("Cannot remove element from Cursor");
+    }
+  }
+}
@@ -0,0 +1,200 @@
+/*
+ *    Copyright 2009-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.datasource.routing;
+
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import javax.sql.DataSource;
+
+import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.logging.LogFactory;
+import org.apache.ibatis.reflection.ExceptionUtil;
+
+/**
+ * A datasource that routes reads to replicas of a primary database.
+ * <p>
+ * {@link #getConnection()} always returns a connection of the primary. The executor asks for a replica connection with
+ * {@link #getReplicaConnection()} for the selects that may read from a replica (see
+ * {@link org.apache.ibatis.mapping.MappedStatement#isUseReplica()}), until the session writes for the first time. The
+ * replica with the least outstanding connections is chosen; when no replica can provide a connection, the primary is
+ * used.
+ *
+ * @since 3.5.14
+ */
+public class RoutingDataSource implements DataSource {
+
+  private static final Log log = LogFactory.getLog(RoutingDataSource.class);
+
+  private final DataSource primary;
+  private final List<DataSource> replicas;
+  private final AtomicInteger[] outstanding;
+  private final AtomicInteger nextReplica = new AtomicInteger();
+
+  public RoutingDataSource(DataSource primary, List<? extends DataSource> replicas) {
+    this.primary = primary;
+    this.replicas = Collections.unmodifiableList(new ArrayList<>(replicas));
+    this.outstanding = new AtomicInteger[replicas.size()];
+    for (int i = 0; i < outstanding.length; i++) {
+      outstanding[i] = new AtomicInteger();
+    }
+  }
+
+  public DataSource getPrimary() {
+    return primary;
+  }
+
+  public List<DataSource> getReplicas() {
+    return replicas;
+  }
+
+  public boolean hasReplicas() {
+    return !replicas.isEmpty();
+  }
+
+  /**
+   * Returns the number of connections of a replica that are not closed yet.
+   *
+   * @param replicaIndex
+   *          the index of the replica
+   *
+   * @return the number of outstanding connections
+   */
+  public int getOutstandingConnections(int replicaIndex) {
+    return outstanding[replicaIndex].get();
+  }
+
+  /**
+   * Returns a connection of the replica with the least outstanding connections, trying the others (then the primary) if
+   * it fails.
+   *
+   * @return a connection for reads
+   *
+   * @throws SQLException
+   *           if the primary cannot provide a connection either
+   */
+  public Connection getReplicaConnection() throws SQLException {
+    int size = replicas.size();
+    if (size == 0) {
+      return primary.getConnection();
+    }
+    // start from a rotating index so that replicas with the same load take turns
+    int start = Math.floorMod(nextReplica.getAndIncrement(), size);
+    Integer[] candidates = new Integer[size];
+    for (int i = 0; i < size; i++) {
+      candidates[i] = (start + i) % size;
+    }
+    Arrays.sort(candidates, Comparator.comparingInt(i -> outstanding[i].get()));
+    for (int index : candidates) {
+      outstanding[index].incrementAndGet();
+      try {
+        return newReplicaConnection(replicas.get(index).getConnection(), outstanding[index]);
+      } catch (SQLException | RuntimeException e) {
+        outstanding[index].decrementAndGet();
+        log.warn("Could not get a connection of replica " + index + ".  Cause: " + e);
+      }
+    }
+    return primary.getConnection();
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    return primary.getConnection();
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    return primary.getConnection(username, password);
+  }
+
+  @Override
+  public PrintWriter getLogWriter() throws SQLException {
+    return primary.getLogWriter();
+  }
+
+  @Override
+  public void setLogWriter(PrintWriter out) throws SQLException {
+    primary.setLogWriter(out);
+  }
+
+  @Override
+  public void setLoginTimeout(int seconds) throws SQLException {
+    primary.setLoginTimeout(seconds);
+  }
+
+  @Override
+  public int getLoginTimeout() throws SQLException {
+    return primary.getLoginTimeout();
+  }
+
+  @Override
+  public <T> T unwrap(Class<T> iface) throws SQLException {
+    throw new SQLException(getClass().getName() + " is not a wrapper.");
+  }
+
+  @Override
+  public boolean isWrapperFor(Class<?> iface) throws SQLException {
+    return false;
+  }
+
+  @Override
+  public Logger getParentLogger() {
+    return Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
+  }
+
+  private static Connection newReplicaConnection(Connection connection, AtomicInteger outstanding) {
+    return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] { Connection.class },
+        new ReplicaConnection(connection, outstanding));
+  }
+
+  /**
+   * Counts the connection as outstanding until it is closed.
+   */
+  private static final class ReplicaConnection implements InvocationHandler {
+    private final Connection connection;
+    private final AtomicInteger outstanding;
+    private boolean closed;
+
+    ReplicaConnection(Connection connection, AtomicInteger outstanding) {
+      this.connection = connection;
+      this.outstanding = outstanding;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      if ("close".equals(method.getName()) && !closed) {
+        closed = true;
+        outstanding.decrementAndGet();
+      }
+      try {
+        return method.invoke(connection, args);
+      } catch (Throwable t) {
+        throw ExceptionUtil.unwrapThrowable(t);
+      }
+    }
+  }
+}
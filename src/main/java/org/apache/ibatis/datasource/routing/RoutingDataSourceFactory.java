@@ -0,0 +1,98 @@
+/*
+ *    Copyright 2009-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.datasource.routing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+import javax.sql.DataSource;
+
+import org.apache.ibatis.datasource.DataSourceException;
+import org.apache.ibatis.datasource.DataSourceFactory;
+import org.apache.ibatis.datasource.pooled.PooledDataSourceFactory;
+
+/**
+ * Creates a {@link RoutingDataSource} over pooled datasources.
+ * <p>
+ * Properties prefixed with {@code primary.} apply to the primary only, properties prefixed with {@code replica.<name>.}
+ * to the replica {@code <name>} only, and the other properties to all of them. Replicas are ordered by name.
+ *
+ * <pre>
+ * &lt;dataSource type="ROUTING"&gt;
+ *   &lt;property name="driver" value="org.postgresql.Driver"/&gt;
+ *   &lt;property name="username" value="app"/&gt;
+ *   &lt;property name="primary.url" value="jdbc:postgresql://primary/app"/&gt;
+ *   &lt;property name="replica.1.url" value="jdbc:postgresql://replica1/app"/&gt;
+ *   &lt;property name="replica.2.url" value="jdbc:postgresql://replica2/app"/&gt;
+ * &lt;/dataSource&gt;
+ * </pre>
+ *
+ * @since 3.5.14
+ */
+public class RoutingDataSourceFactory implements DataSourceFactory {
+
+  private static final String PRIMARY_PROPERTY_PREFIX = "primary.";
+  private static final String REPLICA_PROPERTY_PREFIX = "replica.";
+
+  private RoutingDataSource dataSource;
+
+  @Override
+  public void setProperties(Properties properties) {
+    Properties commonProperties = new Properties();
+    Properties primaryProperties = new Properties();
+    Map<String, Properties> replicaProperties = new TreeMap<>();
+    for (String propertyName : properties.stringPropertyNames()) {
+      String value = properties.getProperty(propertyName);
+      if (propertyName.startsWith(PRIMARY_PROPERTY_PREFIX)) {
+        primaryProperties.setProperty(propertyName.substring(PRIMARY_PROPERTY_PREFIX.length()), value);
+      } else if (propertyName.startsWith(REPLICA_PROPERTY_PREFIX)) {
+        String replicaProperty = propertyName.substring(REPLICA_PROPERTY_PREFIX.length());
+        int dot = replicaProperty.indexOf('.');
+        if (dot <= 0 || dot == replicaProperty.length() - 1) {
+          throw new DataSourceException(
+              "Invalid replica property: " + propertyName + ". The expected form is replica.<name>.<property>");
+        }
+        replicaProperties.computeIfAbsent(replicaProperty.substring(0, dot), k -> new Properties())
+            .setProperty(replicaProperty.substring(dot + 1), value);
+      } else {
+        commonProperties.setProperty(propertyName, value);
+      }
+    }
+    DataSource primary = newPooledDataSource(commonProperties, primaryProperties);
+    List<DataSource> replicas = new ArrayList<>();
+    for (Properties replica : replicaProperties.values()) {
+      replicas.add(newPooledDataSource(commonProperties, replica));
+    }
+    dataSource = new RoutingDataSource(primary, replicas);
+  }
+
+  @Override
+  public DataSource getDataSource() {
+    return dataSource;
+  }
+
+  private static DataSource newPooledDataSource(Properties commonProperties, Properties properties) {
+    Properties merged = new Properties();
+    merged.putAll(commonProperties);
+    merged.putAll(properties);
+    PooledDataSourceFactory factory = new PooledDataSourceFactory();
+    factory.setProperties(merged);
+    return factory.getDataSource();
+  }
+}
@@ -20,20 +20,25 @@ import static org.apache.ibatis.executor.ExecutionPlaceholder.EXECUTION_PLACEHOL
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.ConcurrentLinkedQueue;
 
 import org.apache.ibatis.cache.CacheKey;
 import org.apache.ibatis.cache.impl.PerpetualCache;
 import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.datasource.routing.RoutingDataSource;
 import org.apache.ibatis.executor.statement.StatementUtil;
 import org.apache.ibatis.logging.Log;
 import org.apache.ibatis.logging.LogFactory;
 import org.apache.ibatis.logging.jdbc.ConnectionLogger;
 import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.Environment;
 import org.apache.ibatis.mapping.MappedStatement;
 import org.apache.ibatis.mapping.ParameterMapping;
 import org.apache.ibatis.mapping.ParameterMode;
+import org.apache.ibatis.mapping.SqlCommandType;
 import org.apache.ibatis.mapping.StatementType;
 import org.apache.ibatis.reflection.MetaObject;
 import org.apache.ibatis.reflection.factory.ObjectFactory;
@@ -61,6 +66,8 @@ public abstract class BaseExecutor implements Executor {
 
   protected int queryStack;
   private boolean closed;
+  private Connection replicaConnection;
+  private boolean primaryOnly;
 
   protected BaseExecutor(Configuration configuration, Transaction transaction) {
     this.transaction = transaction;
@@ -72,6 +79,16 @@ public abstract class BaseExecutor implements Executor {
     this.wrapper = this;
   }
 
+  @Override
+  public boolean isPrimaryOnly() {
+    return primaryOnly;
+  }
+
+  @Override
+  public void setPrimaryOnly(boolean primaryOnly) {
+    this.primaryOnly = primaryOnly;
+  }
+
   @Override
   public Transaction getTransaction() {
     if (closed) {
@@ -86,8 +103,12 @@ public abstract class BaseExecutor implements Executor {
       try {
         rollback(forceRollback);
       } finally {
-        if (transaction != null) {
-          transaction.close();
+        try {
+          if (transaction != null) {
+            transaction.close();
+          }
+        } finally {
+          closeReplicaConnection();
         }
       }
     } catch (SQLException e) {
@@ -117,6 +138,107 @@ public abstract class BaseExecutor implements Executor {
     return doUpdate(ms, parameter);
   }
 
+  @Override
+  public List<Object> pipeline(List<MappedStatement> statements, List<Object> parameters) throws SQLException {
+    ErrorContext.instance().activity("executing a pipeline");
+    if (closed) {
+      throw new ExecutorException("Executor was closed.");
+    }
+    if (!configuration.isMultiStatementPipeline() || statements.size() < 2
+        || !statements.stream().allMatch(MultiStatementPipeline::isEligible)) {
+      return Executor.super.pipeline(statements, parameters);
+    }
+    int size = statements.size();
+    List<BoundSql> boundSqls = new ArrayList<>(size);
+    int firstFlush = -1;
+    int lastFlush = -1;
+    for (int i = 0; i < size; i++) {
+      MappedStatement ms = statements.get(i);
+      BoundSql boundSql = ms.getBoundSql(parameters.get(i));
+      if (MultiStatementPipeline.trim(boundSql.getSql()) == null) {
+        return Executor.super.pipeline(statements, parameters);
+      }
+      boundSqls.add(boundSql);
+      if (ms.getSqlCommandType() != SqlCommandType.SELECT || ms.isFlushCacheRequired()) {
+        if (firstFlush < 0) {
+          firstFlush = i;
+        }
+        lastFlush = i;
+      }
+    }
+    Object[] results = new Object[size];
+    CacheKey[] keys = new CacheKey[size];
+    List<Integer> pending = new ArrayList<>(size);
+    List<MappedStatement> pendingStatements = new ArrayList<>(size);
+    List<Object> pendingParameters = new ArrayList<>(size);
+    List<BoundSql> pendingBoundSqls = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      MappedStatement ms = statements.get(i);
+      if (ms.getSqlCommandType() == SqlCommandType.SELECT) {
+        CacheKey key = createCacheKey(ms, parameters.get(i), RowBounds.DEFAULT, boundSqls.get(i));
+        // the cache effects are replayed in order: a select only reads the cache before the first flushing statement
+        // and only its results after the last one are kept
+        if (firstFlush < 0 || i < firstFlush) {
+          Object cached = localCache.getObject(key);
+          if (configuration.isMetricsEnabled()) {
+            configuration.getExecutionMetrics().getStatementMetrics(ms.getId())
+                .recordLocalCache(cached instanceof List);
+          }
+          if (cached instanceof List) {
+            results[i] = cached;
+            continue;
+          }
+        }
+        if (i > lastFlush) {
+          keys[i] = key;
+        }
+      }
+      pending.add(i);
+      pendingStatements.add(ms);
+      pendingParameters.add(parameters.get(i));
+      pendingBoundSqls.add(boundSqls.get(i));
+    }
+    if (lastFlush >= 0) {
+      clearLocalCache();
+    }
+    if (!pending.isEmpty()) {
+      List<Object> values;
+      try {
+        queryStack++;
+        for (CacheKey key : keys) {
+          if (key != null) {
+            localCache.putObject(key, EXECUTION_PLACEHOLDER);
+          }
+        }
+        values = doPipeline(pendingStatements, pendingParameters, pendingBoundSqls);
+      } finally {
+        queryStack--;
+        for (CacheKey key : keys) {
+          if (key != null) {
+            localCache.removeObject(key);
+          }
+        }
+      }
+      for (int j = 0; j < pending.size(); j++) {
+        int i = pending.get(j);
+        results[i] = values.get(j);
+        if (keys[i] != null) {
+          localCache.putObject(keys[i], results[i]);
+        }
+      }
+    }
+    if (queryStack == 0) {
+      for (DeferredLoad deferredLoad : deferredLoads) {
+        deferredLoad.load();
+      }
+      deferredLoads.clear();
+      if (configuration.getLocalCacheScope() == LocalCacheScope.STATEMENT) {
+        clearLocalCache();
+      }
+    }
+    return Arrays.asList(results);
+  }
+
   @Override
   public List<BatchResult> flushStatements() throws SQLException {
     return flushStatements(false);
@@ -152,6 +274,9 @@ public abstract class BaseExecutor implements Executor {
     try {
       queryStack++;
       list = resultHandler == null ? (List<E>) localCache.getObject(key) : null;
+      if (resultHandler == null && configuration.isMetricsEnabled()) {
+        configuration.getExecutionMetrics().getStatementMetrics(ms.getId()).recordLocalCache(list != null);
+      }
       if (list != null) {
         handleLocallyCachedOutputParameters(ms, key, parameter, boundSql);
       } else {
@@ -246,6 +371,8 @@ public abstract class BaseExecutor implements Executor {
     if (required) {
       transaction.commit();
     }
+    // the replica connection is only held for the duration of a transaction
+    closeReplicaConnection();
   }
 
   @Override
@@ -255,8 +382,12 @@ public abstract class BaseExecutor implements Executor {
         clearLocalCache();
         flushStatements(true);
       } finally {
-        if (required) {
-          transaction.rollback();
+        try {
+          if (required) {
+            transaction.rollback();
+          }
+        } finally {
+          closeReplicaConnection();
         }
       }
     }
@@ -280,6 +411,33 @@ public abstract class BaseExecutor implements Executor {
   protected abstract <E> Cursor<E> doQueryCursor(MappedStatement ms, Object parameter, RowBounds rowBounds,
       BoundSql boundSql) throws SQLException;
 
+  /**
+   * Sends the statements to the database as one multi-statement execution and maps the result of each of them.
+   *
+   * @param statements
+   *          the statements to execute
+   * @param parameters
+   *          the parameter of each statement
+   * @param boundSqls
+   *          the bound SQL of each statement
+   *
+   * @return one value per statement: the list of results of a select, the number of affected rows otherwise
+   *
+   * @throws SQLException
+   *           if a database access error occurs
+   *
+   * @since 3.5.14
+   */
+  protected List<Object> doPipeline(List<MappedStatement> statements, List<Object> parameters, List<BoundSql> boundSqls)
+      throws SQLException {
+    // the statements share the connection, so the pipeline reads from a replica only if all of them can
+    MappedStatement routed = statements.stream().filter(ms -> !routesToReplica(ms)).findFirst()
+        .orElse(statements.get(0));
+    Connection connection = getConnection(routed);
+    return MultiStatementPipeline.execute(wrapper, connection, transaction.getTimeout(), statements, parameters,
+        boundSqls);
+  }
+
   protected void closeStatement(Statement statement) {
     if (statement != null) {
       try {
@@ -342,13 +500,91 @@ public abstract class BaseExecutor implements Executor {
   }
 
   protected Connection getConnection(Log statementLog) throws SQLException {
-    Connection connection = transaction.getConnection();
+    Connection connection;
+    if (configuration.isMetricsEnabled()) {
+      long start = System.nanoTime();
+      connection = transaction.getConnection();
+      configuration.getExecutionMetrics().getConnectionWait().record(System.nanoTime() - start);
+    } else {
+      connection = transaction.getConnection();
+    }
+    return wrapConnection(connection, statementLog);
+  }
+
+  /**
+   * Returns the connection to execute the statement with. When the datasource is a {@link RoutingDataSource}, the
+   * selects that may read from a replica use a replica connection until the session writes for the first time; the
+   * other statements use the connection of the transaction. The replica connection is released on commit and rollback.
+   *
+   * @param ms
+   *          the statement to execute
+   *
+   * @return the connection
+   *
+   * @throws SQLException
+   *           if a database access error occurs
+   *
+   * @since 3.5.14
+   */
+  protected Connection getConnection(MappedStatement ms) throws SQLException {
+    if (!routesToReplica(ms)) {
+      if (ms.getSqlCommandType() != SqlCommandType.SELECT || ms.isDirtySelect()) {
+        // the next reads must see this write
+        primaryOnly = true;
+      }
+      return getConnection(ms.getStatementLog());
+    }
+    if (replicaConnection == null) {
+      RoutingDataSource dataSource = (RoutingDataSource) configuration.getEnvironment().getDataSource();
+      if (configuration.isMetricsEnabled()) {
+        long start = System.nanoTime();
+        replicaConnection = dataSource.getReplicaConnection();
+        configuration.getExecutionMetrics().getConnectionWait().record(System.nanoTime() - start);
+      } else {
+        replicaConnection = dataSource.getReplicaConnection();
+      }
+    }
+    return wrapConnection(replicaConnection, ms.getStatementLog());
+  }
+
+  /**
+   * Returns whether the statement is executed on a replica connection.
+   *
+   * @param ms
+   *          the statement to execute
+   *
+   * @return {@code true} if the statement reads from a replica
+   *
+   * @since 3.5.14
+   */
+  protected boolean routesToReplica(MappedStatement ms) {
+    if (primaryOnly || ms.getSqlCommandType() != SqlCommandType.SELECT || ms.isDirtySelect() || !ms.isUseReplica()
+        || ms.isFlushCacheRequired() || ms.getStatementType() == StatementType.CALLABLE) {
+      return false;
+    }
+    Environment environment = configuration.getEnvironment();
+    return environment != null && environment.getDataSource() instanceof RoutingDataSource
+        && ((RoutingDataSource) environment.getDataSource()).hasReplicas();
+  }
+
+  private Connection wrapConnection(Connection connection, Log statementLog) {
     if (statementLog.isDebugEnabled()) {
       return ConnectionLogger.newInstance(connection, statementLog, queryStack);
     }
     return connection;
   }
 
+  private void closeReplicaConnection() {
+    if (replicaConnection != null) {
+      try {
+        replicaConnection.close();
+      } catch (SQLException e) {
+        log.warn("Unexpected exception on closing replica connection.  Cause: " + e);
+      }
+      replicaConnection = null;
+    }
+  }
+
   @Override
   public void setExecutorWrapper(Executor wrapper) {
     this.wrapper = wrapper;
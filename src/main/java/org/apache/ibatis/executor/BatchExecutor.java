@@ -17,9 +17,11 @@ package org.apache.ibatis.executor;
 
 import java.sql.BatchUpdateException;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -27,9 +29,11 @@ import org.apache.ibatis.cursor.Cursor;
 import org.apache.ibatis.executor.keygen.Jdbc3KeyGenerator;
 import org.apache.ibatis.executor.keygen.KeyGenerator;
 import org.apache.ibatis.executor.keygen.NoKeyGenerator;
+import org.apache.ibatis.executor.metrics.StatementMetrics;
 import org.apache.ibatis.executor.statement.StatementHandler;
 import org.apache.ibatis.mapping.BoundSql;
 import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.scripting.defaults.DefaultParameterHandler;
 import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.session.ResultHandler;
 import org.apache.ibatis.session.RowBounds;
@@ -44,6 +48,7 @@ public class BatchExecutor extends BaseExecutor {
 
   private final List<Statement> statementList = new ArrayList<>();
   private final List<BatchResult> batchResultList = new ArrayList<>();
+  private final List<MultiRowInsert> multiRowInsertList = new ArrayList<>();
   private String currentSql;
   private MappedStatement currentStatement;
 
@@ -61,19 +66,38 @@ public class BatchExecutor extends BaseExecutor {
     final Statement stmt;
     if (sql.equals(currentSql) && ms.equals(currentStatement)) {
       int last = statementList.size() - 1;
+      MultiRowInsert multiRowInsert = multiRowInsertList.get(last);
+      if (multiRowInsert != null) {
+        multiRowInsert.addRow(boundSql, handler.getParameterHandler().getParameterValues());
+        batchResultList.get(last).addParameterObject(parameterObject);
+        return BATCH_UPDATE_RETURN_VALUE;
+      }
       stmt = statementList.get(last);
       applyTransactionTimeout(stmt);
       handler.parameterize(stmt);// fix Issues 322
       BatchResult batchResult = batchResultList.get(last);
       batchResult.addParameterObject(parameterObject);
     } else {
-      Connection connection = getConnection(ms.getStatementLog());
-      stmt = handler.prepare(connection, transaction.getTimeout());
-      handler.parameterize(stmt); // fix Issues 322
+      // custom and plugged parameter handlers see each row
+      MultiRowInsert multiRowInsert = configuration.isRewriteBatchedInserts()
+          && handler.getParameterHandler() instanceof DefaultParameterHandler ? MultiRowInsert.of(ms, boundSql) : null;
+      if (multiRowInsert != null) {
+        // executed as multi-row statements on flush, with the values read now
+        multiRowInsert.addRow(boundSql, handler.getParameterHandler().getParameterValues());
+        stmt = null;
+      } else {
+        Connection connection = getConnection(ms);
+        stmt = handler.prepare(connection, transaction.getTimeout());
+        handler.parameterize(stmt); // fix Issues 322
+      }
       currentSql = sql;
       currentStatement = ms;
       statementList.add(stmt);
       batchResultList.add(new BatchResult(ms, sql, parameterObject));
+      multiRowInsertList.add(multiRowInsert);
+      if (multiRowInsert != null) {
+        return BATCH_UPDATE_RETURN_VALUE;
+      }
     }
     handler.batch(stmt);
     return BATCH_UPDATE_RETURN_VALUE;
@@ -88,7 +112,7 @@ public class BatchExecutor extends BaseExecutor {
       Configuration configuration = ms.getConfiguration();
       StatementHandler handler = configuration.newStatementHandler(wrapper, ms, parameterObject, rowBounds,
           resultHandler, boundSql);
-      Connection connection = getConnection(ms.getStatementLog());
+      Connection connection = getConnection(ms);
       stmt = handler.prepare(connection, transaction.getTimeout());
       handler.parameterize(stmt);
       return handler.query(stmt, resultHandler);
@@ -103,7 +127,7 @@ public class BatchExecutor extends BaseExecutor {
     flushStatements();
     Configuration configuration = ms.getConfiguration();
     StatementHandler handler = configuration.newStatementHandler(wrapper, ms, parameter, rowBounds, null, boundSql);
-    Connection connection = getConnection(ms.getStatementLog());
+    Connection connection = getConnection(ms);
     Statement stmt = handler.prepare(connection, transaction.getTimeout());
     handler.parameterize(stmt);
     Cursor<E> cursor = handler.queryCursor(stmt);
@@ -111,6 +135,14 @@ public class BatchExecutor extends BaseExecutor {
     return cursor;
   }
 
+  @Override
+  protected List<Object> doPipeline(List<MappedStatement> statements, List<Object> parameters, List<BoundSql> boundSqls)
+      throws SQLException {
+    // the pipeline is executed at once, so the statements batched so far go first
+    flushStatements();
+    return super.doPipeline(statements, parameters, boundSqls);
+  }
+
   @Override
   public List<BatchResult> doFlushStatements(boolean isRollback) throws SQLException {
     try {
@@ -120,10 +152,16 @@ public class BatchExecutor extends BaseExecutor {
       }
       for (int i = 0, n = statementList.size(); i < n; i++) {
         Statement stmt = statementList.get(i);
-        applyTransactionTimeout(stmt);
         BatchResult batchResult = batchResultList.get(i);
         try {
-          batchResult.setUpdateCounts(stmt.executeBatch());
+          MultiRowInsert multiRowInsert = multiRowInsertList.get(i);
+          if (multiRowInsert != null) {
+            executeMultiRowInsert(multiRowInsert, batchResult);
+            results.add(batchResult);
+            continue;
+          }
+          applyTransactionTimeout(stmt);
+          executeBatch(stmt, batchResult);
           MappedStatement ms = batchResult.getMappedStatement();
           List<Object> parameterObjects = batchResult.getParameterObjects();
           KeyGenerator keyGenerator = ms.getKeyGenerator();
@@ -157,7 +195,62 @@ public class BatchExecutor extends BaseExecutor {
       currentSql = null;
       statementList.clear();
       batchResultList.clear();
+      multiRowInsertList.clear();
+    }
+  }
+
+  private void executeMultiRowInsert(MultiRowInsert multiRowInsert, BatchResult batchResult) throws SQLException {
+    MappedStatement ms = batchResult.getMappedStatement();
+    List<Object> parameterObjects = batchResult.getParameterObjects();
+    int[] updateCounts = new int[parameterObjects.size()];
+    for (int from = 0; from < updateCounts.length; from += multiRowInsert.getRowsPerStatement()) {
+      int to = Math.min(from + multiRowInsert.getRowsPerStatement(), updateCounts.length);
+      // an ArrayList, as expected by Jdbc3KeyGenerator for the parameters of a batch
+      List<Object> rows = new ArrayList<>(parameterObjects.subList(from, to));
+      BoundSql boundSql = new BoundSql(configuration, multiRowInsert.getSql(rows.size()), Collections.emptyList(),
+          rows);
+      StatementHandler handler = configuration.newStatementHandler(this, ms, rows, RowBounds.DEFAULT, null, boundSql);
+      Statement stmt = null;
+      try {
+        stmt = handler.prepare(getConnection(ms), transaction.getTimeout());
+        multiRowInsert.setParameters(ms, (PreparedStatement) stmt, from, to);
+        int updateCount = handler.update(stmt);
+        Arrays.fill(updateCounts, from, to, updateCount == rows.size() ? 1 : Statement.SUCCESS_NO_INFO);
+      } catch (SQLException e) {
+        throw new BatchUpdateException(e.getMessage(), e.getSQLState(), e.getErrorCode(),
+            Arrays.copyOf(updateCounts, from), e);
+      } finally {
+        closeStatement(stmt);
+      }
+    }
+    batchResult.setUpdateCounts(updateCounts);
+    if (configuration.isMetricsEnabled()) {
+      configuration.getExecutionMetrics().getStatementMetrics(ms.getId()).recordBatch(updateCounts.length);
+    }
+  }
+
+  private void executeBatch(Statement stmt, BatchResult batchResult) throws SQLException {
+    if (!configuration.isMetricsEnabled()) {
+      batchResult.setUpdateCounts(stmt.executeBatch());
+      return;
+    }
+    StatementMetrics metrics = configuration.getExecutionMetrics()
+        .getStatementMetrics(batchResult.getMappedStatement().getId());
+    long start = System.nanoTime();
+    try {
+      batchResult.setUpdateCounts(stmt.executeBatch());
+    } catch (SQLException | RuntimeException e) {
+      metrics.recordExecution(System.nanoTime() - start, -1, true);
+      throw e;
+    }
+    long rows = 0;
+    for (int updateCount : batchResult.getUpdateCounts()) {
+      if (updateCount > 0) {
+        rows += updateCount;
+      }
     }
+    metrics.recordExecution(System.nanoTime() - start, rows, false);
+    metrics.recordBatch(batchResult.getParameterObjects().size());
   }
 
 }
@@ -16,7 +16,10 @@
 package org.apache.ibatis.executor;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
 
 import org.apache.ibatis.cache.Cache;
 import org.apache.ibatis.cache.CacheKey;
@@ -26,8 +29,10 @@ import org.apache.ibatis.mapping.BoundSql;
 import org.apache.ibatis.mapping.MappedStatement;
 import org.apache.ibatis.mapping.ParameterMapping;
 import org.apache.ibatis.mapping.ParameterMode;
+import org.apache.ibatis.mapping.SqlCommandType;
 import org.apache.ibatis.mapping.StatementType;
 import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.session.ResultHandler;
 import org.apache.ibatis.session.RowBounds;
 import org.apache.ibatis.transaction.Transaction;
@@ -70,15 +75,25 @@ public class CachingExecutor implements Executor {
     return delegate.isClosed();
   }
 
+  @Override
+  public boolean isPrimaryOnly() {
+    return delegate.isPrimaryOnly();
+  }
+
+  @Override
+  public void setPrimaryOnly(boolean primaryOnly) {
+    delegate.setPrimaryOnly(primaryOnly);
+  }
+
   @Override
   public int update(MappedStatement ms, Object parameterObject) throws SQLException {
-    flushCacheIfRequired(ms);
+    flushCacheIfRequired(ms, parameterObject);
     return delegate.update(ms, parameterObject);
   }
 
   @Override
   public <E> Cursor<E> queryCursor(MappedStatement ms, Object parameter, RowBounds rowBounds) throws SQLException {
-    flushCacheIfRequired(ms);
+    flushCacheIfRequired(ms, parameter);
     return delegate.queryCursor(ms, parameter, rowBounds);
   }
 
@@ -95,14 +110,19 @@ public class CachingExecutor implements Executor {
       CacheKey key, BoundSql boundSql) throws SQLException {
     Cache cache = ms.getCache();
     if (cache != null) {
-      flushCacheIfRequired(ms);
+      flushCacheIfRequired(ms, parameterObject);
       if (ms.isUseCache() && resultHandler == null) {
         ensureNoOutParams(ms, boundSql);
+        Set<String> tags = ms.getCacheTags(parameterObject);
         @SuppressWarnings("unchecked")
-        List<E> list = (List<E>) tcm.getObject(cache, key);
+        List<E> list = (List<E>) tcm.getObject(cache, key, tags);
+        Configuration configuration = ms.getConfiguration();
+        if (configuration.isMetricsEnabled()) {
+          configuration.getExecutionMetrics().getStatementMetrics(ms.getId()).recordSecondLevelCache(list != null);
+        }
         if (list == null) {
           list = delegate.query(ms, parameterObject, rowBounds, resultHandler, key, boundSql);
-          tcm.putObject(cache, key, list); // issue #578 and #116
+          tcm.putObject(cache, key, list, tags); // issue #578 and #116
         }
         return list;
       }
@@ -110,6 +130,57 @@ public class CachingExecutor implements Executor {
     return delegate.query(ms, parameterObject, rowBounds, resultHandler, key, boundSql);
   }
 
+  @Override
+  public List<Object> pipeline(List<MappedStatement> statements, List<Object> parameters) throws SQLException {
+    int size = statements.size();
+    Object[] results = new Object[size];
+    CacheKey[] keys = new CacheKey[size];
+    List<Set<String>> tags = new ArrayList<>(size);
+    List<Integer> pending = new ArrayList<>(size);
+    List<MappedStatement> pendingStatements = new ArrayList<>(size);
+    List<Object> pendingParameters = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      MappedStatement ms = statements.get(i);
+      Object parameterObject = parameters.get(i);
+      flushCacheIfRequired(ms, parameterObject);
+      Cache cache = ms.getCache();
+      tags.add(null);
+      if (cache != null && ms.isUseCache() && ms.getSqlCommandType() == SqlCommandType.SELECT) {
+        BoundSql boundSql = ms.getBoundSql(parameterObject);
+        ensureNoOutParams(ms, boundSql);
+        CacheKey key = createCacheKey(ms, parameterObject, RowBounds.DEFAULT, boundSql);
+        tags.set(i, ms.getCacheTags(parameterObject));
+        Object list = tcm.getObject(cache, key, tags.get(i));
+        Configuration configuration = ms.getConfiguration();
+        if (configuration.isMetricsEnabled()) {
+          configuration.getExecutionMetrics().getStatementMetrics(ms.getId()).recordSecondLevelCache(list != null);
+        }
+        if (list != null) {
+          results[i] = list;
+          continue;
+        }
+        keys[i] = key;
+      }
+      pending.add(i);
+      pendingStatements.add(ms);
+      pendingParameters.add(parameterObject);
+    }
+    List<Object> values = pending.isEmpty() ? null : delegate.pipeline(pendingStatements, pendingParameters);
+    for (int j = 0; j < pending.size(); j++) {
+      int i = pending.get(j);
+      results[i] = values.get(j);
+    }
+    // replay the cache updates in order, so a result read before a flushing statement is not kept
+    for (int i = 0; i < size; i++) {
+      MappedStatement ms = statements.get(i);
+      flushCacheIfRequired(ms, parameters.get(i));
+      if (keys[i] != null) {
+        tcm.putObject(ms.getCache(), keys[i], results[i], tags.get(i)); // issue #578 and #116
+      }
+    }
+    return Arrays.asList(results);
+  }
+
   @Override
   public List<BatchResult> flushStatements() throws SQLException {
     return delegate.flushStatements();
@@ -165,10 +236,15 @@ public class CachingExecutor implements Executor {
     delegate.clearLocalCache();
   }
 
-  private void flushCacheIfRequired(MappedStatement ms) {
+  private void flushCacheIfRequired(MappedStatement ms, Object parameterObject) {
     Cache cache = ms.getCache();
     if (cache != null && ms.isFlushCacheRequired()) {
-      tcm.clear(cache);
+      Set<String> tags = ms.getCacheTags(parameterObject);
+      if (tags == null) {
+        tcm.clear(cache);
+      } else {
+        tcm.evict(cache, tags);
+      }
     }
   }
 
@@ -16,12 +16,14 @@
 package org.apache.ibatis.executor;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.apache.ibatis.cache.CacheKey;
 import org.apache.ibatis.cursor.Cursor;
 import org.apache.ibatis.mapping.BoundSql;
 import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
 import org.apache.ibatis.reflection.MetaObject;
 import org.apache.ibatis.session.ResultHandler;
 import org.apache.ibatis.session.RowBounds;
@@ -44,6 +46,35 @@ public interface Executor {
 
   <E> Cursor<E> queryCursor(MappedStatement ms, Object parameter, RowBounds rowBounds) throws SQLException;
 
+  /**
+   * Executes several mapped statements, in order, as a pipeline. The default implementation executes them one by one;
+   * executors may send them to the database in a single round trip instead.
+   *
+   * @param statements
+   *          the statements to execute
+   * @param parameters
+   *          the parameter of each statement
+   *
+   * @return one value per statement: the list of results of a select, the number of affected rows otherwise
+   *
+   * @throws SQLException
+   *           if a database access error occurs
+   *
+   * @since 3.5.14
+   */
+  default List<Object> pipeline(List<MappedStatement> statements, List<Object> parameters) throws SQLException {
+    List<Object> results = new ArrayList<>(statements.size());
+    for (int i = 0; i < statements.size(); i++) {
+      MappedStatement ms = statements.get(i);
+      if (ms.getSqlCommandType() == SqlCommandType.SELECT) {
+        results.add(query(ms, parameters.get(i), RowBounds.DEFAULT, NO_RESULT_HANDLER));
+      } else {
+        results.add(update(ms, parameters.get(i)));
+      }
+    }
+    return results;
+  }
+
   List<BatchResult> flushStatements() throws SQLException;
 
   void commit(boolean required) throws SQLException;
@@ -66,4 +97,30 @@ public interface Executor {
 
   void setExecutorWrapper(Executor executor);
 
+  /**
+   * Returns whether the statements of this executor only run on the primary database of a
+   * {@link org.apache.ibatis.datasource.routing.RoutingDataSource}, as the executor has written.
+   *
+   * @return {@code true} if no statement is routed to a replica
+   *
+   * @since 3.5.14
+   */
+  default boolean isPrimaryOnly() {
+    return false;
+  }
+
+  /**
+   * Sets whether the statements of this executor only run on the primary database of a
+   * {@link org.apache.ibatis.datasource.routing.RoutingDataSource}, e.g. for an executor loading results on behalf of
+   * one that has written.
+   *
+   * @param primaryOnly
+   *          {@code true} to route no statement to a replica
+   *
+   * @since 3.5.14
+   */
+  default void setPrimaryOnly(boolean primaryOnly) {
+    // executors not routing statements have nothing to do
+  }
+
 }
@@ -0,0 +1,215 @@
+/*
+ *    Copyright 2009-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.apache.ibatis.executor.keygen.Jdbc3KeyGenerator;
+import org.apache.ibatis.executor.keygen.NoKeyGenerator;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.ParameterMode;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.mapping.StatementType;
+import org.apache.ibatis.type.JdbcType;
+import org.apache.ibatis.type.TypeException;
+import org.apache.ibatis.type.TypeHandler;
+
+/**
+ * Rewrites the batched executions of a simple {@code INSERT ... VALUES (...)} statement into multi-row
+ * {@code INSERT ... VALUES (...), (...)} statements.
+ * <p>
+ * Each statement holds at most {@value #MAX_ROWS} rows and {@value #MAX_PARAMETERS} parameters, which is within the
+ * limits of all major databases (SQL Server being the most restrictive).
+ * <p>
+ * The parameter values of each row are read when the insert is executed, as the parameter object may be changed or
+ * reused before the flush, and are bound with the type handlers of the parameter mappings. The rows do not go through
+ * {@code StatementHandler.parameterize} and {@code batch}, so plugins of these methods and tracers do not see them; the
+ * batch executor does not rewrite the inserts of a custom or plugged {@code ParameterHandler}.
+ */
+final class MultiRowInsert {
+
+  static final int MAX_ROWS = 1000;
+  static final int MAX_PARAMETERS = 2000;
+
+  private static final String VALUES = "values";
+
+  private final String prefix;
+  private final String row;
+  private final int parametersPerRow;
+  private final int rowsPerStatement;
+  private final List<BoundSql> boundSqls = new ArrayList<>();
+  private final List<List<Object>> parameterValues = new ArrayList<>();
+
+  private MultiRowInsert(String prefix, String row, int parametersPerRow) {
+    this.prefix = prefix;
+    this.row = row;
+    this.parametersPerRow = parametersPerRow;
+    this.rowsPerStatement = Math.max(1, Math.min(MAX_ROWS, MAX_PARAMETERS / Math.max(1, parametersPerRow)));
+  }
+
+  /**
+   * Returns a rewriter for the statement, or {@code null} if its executions cannot be rewritten.
+   */
+  static MultiRowInsert of(MappedStatement ms, BoundSql boundSql) {
+    if (ms.getSqlCommandType() != SqlCommandType.INSERT || ms.getStatementType() != StatementType.PREPARED) {
+      return null;
+    }
+    Class<?> keyGeneratorType = ms.getKeyGenerator().getClass();
+    if (!Jdbc3KeyGenerator.class.equals(keyGeneratorType) && !NoKeyGenerator.class.equals(keyGeneratorType)) {
+      // other key generators process each row on its own
+      return null;
+    }
+    return parse(boundSql.getSql(), boundSql.getParameterMappings().size());
+  }
+
+  static MultiRowInsert parse(String sql, int parameterCount) {
+    if (!sql.trim().regionMatches(true, 0, "insert", 0, 6)) {
+      return null;
+    }
+    int valuesEnd = -1;
+    int rowStart = -1;
+    int rowEnd = -1;
+    int depth = 0;
+    int placeholders = 0;
+    char quote = 0;
+    for (int i = 0, n = sql.length(); i < n; i++) {
+      char c = sql.charAt(i);
+      if (quote != 0) {
+        if (c == quote) {
+          quote = 0;
+        }
+        continue;
+      }
+      if (rowEnd >= 0) {
+        if (!Character.isWhitespace(c) && c != ';') {
+          // e.g. a second row or an ON CONFLICT clause
+          return null;
+        }
+        continue;
+      }
+      switch (c) {
+        case '\'':
+        case '"':
+        case '`':
+          quote = c;
+          break;
+        case '?':
+          if (rowStart < 0) {
+            return null;
+          }
+          placeholders++;
+          break;
+        case '(':
+          if (depth++ == 0 && valuesEnd >= 0) {
+            if (!sql.substring(valuesEnd, i).trim().isEmpty()) {
+              return null;
+            }
+            rowStart = i;
+          }
+          break;
+        case ')':
+          if (--depth == 0 && rowStart >= 0) {
+            rowEnd = i + 1;
+          }
+          break;
+        case '-':
+        case '/':
+          if (i + 1 < n && sql.charAt(i + 1) == (c == '-' ? '-' : '*')) {
+            // comments are not worth parsing
+            return null;
+          }
+          break;
+        default:
+          if (depth == 0 && isKeyword(sql, i)) {
+            if (valuesEnd >= 0) {
+              return null;
+            }
+            valuesEnd = i + VALUES.length();
+            i = valuesEnd - 1;
+          }
+          break;
+      }
+    }
+    if (rowEnd < 0 || placeholders != parameterCount) {
+      return null;
+    }
+    return new MultiRowInsert(sql.substring(0, rowStart), sql.substring(rowStart, rowEnd), parameterCount);
+  }
+
+  private static boolean isKeyword(String sql, int index) {
+    int end = index + VALUES.length();
+    return sql.regionMatches(true, index, VALUES, 0, VALUES.length())
+        && (index == 0 || !Character.isJavaIdentifierPart(sql.charAt(index - 1)))
+        && (end == sql.length() || !Character.isJavaIdentifierPart(sql.charAt(end)));
+  }
+
+  void addRow(BoundSql boundSql, List<Object> values) {
+    boundSqls.add(boundSql);
+    parameterValues.add(values);
+  }
+
+  int getRowsPerStatement() {
+    return rowsPerStatement;
+  }
+
+  String getSql(int rows) {
+    StringBuilder sql = new StringBuilder(prefix.length() + rows * (row.length() + 2));
+    sql.append(prefix);
+    for (int i = 0; i < rows; i++) {
+      if (i > 0) {
+        sql.append(", ");
+      }
+      sql.append(row);
+    }
+    return sql.toString();
+  }
+
+  /**
+   * Sets the parameters of the rows {@code from} (inclusive) to {@code to} (exclusive), each row after the previous
+   * one.
+   */
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  void setParameters(MappedStatement ms, PreparedStatement ps, int from, int to) throws SQLException {
+    JdbcType jdbcTypeForNull = ms.getConfiguration().getJdbcTypeForNull();
+    for (int i = from; i < to; i++) {
+      int index = (i - from) * parametersPerRow;
+      Iterator<Object> values = parameterValues.get(i).iterator();
+      for (ParameterMapping parameterMapping : boundSqls.get(i).getParameterMappings()) {
+        index++;
+        if (parameterMapping.getMode() == ParameterMode.OUT) {
+          continue;
+        }
+        Object value = values.next();
+        TypeHandler typeHandler = parameterMapping.getTypeHandler();
+        JdbcType jdbcType = parameterMapping.getJdbcType();
+        if (value == null && jdbcType == null) {
+          jdbcType = jdbcTypeForNull;
+        }
+        try {
+          typeHandler.setParameter(ps, index, value, jdbcType);
+        } catch (TypeException | SQLException e) {
+          throw new TypeException("Could not set parameters for mapping: " + parameterMapping + ". Cause: " + e, e);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,203 @@
+/*
+ *    Copyright 2009-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.ibatis.executor.keygen.NoKeyGenerator;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.executor.statement.StatementUtil;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.mapping.StatementType;
+import org.apache.ibatis.reflection.ExceptionUtil;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.RowBounds;
+
+/**
+ * Sends several mapped statements as one multi-statement {@link PreparedStatement} (e.g.
+ * {@code select ...;update ...;select ...}) and hands each result back to the {@link StatementHandler} of its
+ * statement.
+ * <p>
+ * The handlers work on a view of the combined statement: parameter indexes are shifted while binding, and only the
+ * current result of the combined statement is visible while handling the results.
+ */
+final class MultiStatementPipeline {
+
+  private MultiStatementPipeline() {
+    // Prevent Instantiation
+  }
+
+  /**
+   * Returns whether the statement can be part of a multi-statement execution. Callable statements, key generators and
+   * multiple result sets need a statement of their own.
+   */
+  static boolean isEligible(MappedStatement ms) {
+    if (ms.getStatementType() != StatementType.PREPARED) {
+      return false;
+    }
+    if (ms.getSqlCommandType() == SqlCommandType.SELECT) {
+      return ms.getResultSets() == null && ms.getResultMaps().size() <= 1;
+    }
+    return ms.getKeyGenerator() instanceof NoKeyGenerator;
+  }
+
+  /**
+   * Returns the SQL without its trailing semicolons, or {@code null} if it holds several statements already.
+   */
+  static String trim(String sql) {
+    int end = sql.length();
+    while (end > 0 && (Character.isWhitespace(sql.charAt(end - 1)) || sql.charAt(end - 1) == ';')) {
+      end--;
+    }
+    String trimmed = sql.substring(0, end);
+    return trimmed.isEmpty() || trimmed.indexOf(';') >= 0 ? null : trimmed;
+  }
+
+  static List<Object> execute(Executor executor, Connection connection, Integer transactionTimeout,
+      List<MappedStatement> statements, List<Object> parameters, List<BoundSql> boundSqls) throws SQLException {
+    Configuration configuration = statements.get(0).getConfiguration();
+    int size = statements.size();
+    StatementHandler[] handlers = new StatementHandler[size];
+    StringBuilder sql = new StringBuilder();
+    Integer queryTimeout = null;
+    for (int i = 0; i < size; i++) {
+      MappedStatement ms = statements.get(i);
+      handlers[i] = configuration.newStatementHandler(executor, ms, parameters.get(i), RowBounds.DEFAULT, null,
+          boundSqls.get(i));
+      if (i > 0) {
+        sql.append(";\n");
+      }
+      sql.append(trim(boundSqls.get(i).getSql()));
+      Integer timeout = ms.getTimeout() != null ? ms.getTimeout() : configuration.getDefaultStatementTimeout();
+      if (timeout != null && (queryTimeout == null || timeout > queryTimeout)) {
+        queryTimeout = timeout;
+      }
+    }
+    PreparedStatement ps = connection.prepareStatement(sql.toString());
+    try {
+      if (queryTimeout != null) {
+        ps.setQueryTimeout(queryTimeout);
+      }
+      StatementUtil.applyTransactionTimeout(ps, queryTimeout, transactionTimeout);
+      StatementView view = new StatementView(ps);
+      PreparedStatement viewProxy = (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+          new Class<?>[] { PreparedStatement.class }, view);
+      for (int i = 0; i < size; i++) {
+        handlers[i].parameterize(viewProxy);
+        view.offset += boundSqls.get(i).getParameterMappings().size();
+      }
+      view.offset = 0;
+      List<Object> results = new ArrayList<>(size);
+      boolean isResultSet = ps.execute();
+      for (int i = 0; i < size; i++) {
+        MappedStatement ms = statements.get(i);
+        ErrorContext.instance().resource(ms.getResource()).activity("executing a pipeline").object(ms.getId());
+        if (i > 0) {
+          isResultSet = ps.getMoreResults();
+        }
+        int updateCount = isResultSet ? -1 : ps.getUpdateCount();
+        if (ms.getSqlCommandType() == SqlCommandType.SELECT) {
+          if (!isResultSet) {
+            throw unexpectedResult(ms, "a result set", updateCount);
+          }
+          view.current(ps.getResultSet(), -1);
+          results.add(handlers[i].query(viewProxy, null));
+        } else {
+          if (isResultSet || updateCount == -1) {
+            throw unexpectedResult(ms, "an update count", updateCount);
+          }
+          view.current(null, updateCount);
+          results.add(handlers[i].update(viewProxy));
+        }
+      }
+      return results;
+    } finally {
+      ps.close();
+    }
+  }
+
+  private static ExecutorException unexpectedResult(MappedStatement ms, String expected, int updateCount) {
+    String found = updateCount == -1 ? "no more results" : "an update count";
+    return new ExecutorException("Expected " + expected + " for pipelined statement '" + ms.getId()
+        + "' but the driver returned " + found + ". Check that the driver allows multiple statements per execution.");
+  }
+
+  /**
+   * Exposes the combined statement to the handler of one of its statements.
+   */
+  private static final class StatementView implements InvocationHandler {
+    private final PreparedStatement target;
+    private int offset;
+    private ResultSet resultSet;
+    private int updateCount = -1;
+
+    StatementView(PreparedStatement target) {
+      this.target = target;
+    }
+
+    void current(ResultSet resultSet, int updateCount) {
+      this.resultSet = resultSet;
+      this.updateCount = updateCount;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      switch (method.getName()) {
+        case "execute":
+          return resultSet != null;
+        case "executeQuery":
+          return resultSet;
+        case "executeUpdate":
+        case "getUpdateCount":
+          return updateCount;
+        case "executeLargeUpdate":
+        case "getLargeUpdateCount":
+          return (long) updateCount;
+        case "getResultSet":
+          return resultSet;
+        case "getMoreResults":
+          // the next result belongs to the next statement of the pipeline
+          current(null, -1);
+          return false;
+        case "close":
+        case "closeOnCompletion":
+        case "clearParameters":
+          return null;
+        default:
+          break;
+      }
+      if (offset != 0 && args != null && args.length >= 2 && method.getName().startsWith("set")
+          && method.getParameterTypes()[0] == int.class) {
+        args[0] = (Integer) args[0] + offset;
+      }
+      try {
+        return method.invoke(target, args);
+      } catch (Throwable t) {
+        throw ExceptionUtil.unwrapThrowable(t);
+      }
+    }
+  }
+}
@@ -32,6 +32,7 @@ import java.util.Set;
 import org.apache.ibatis.binding.MapperMethod.ParamMap;
 import org.apache.ibatis.executor.Executor;
 import org.apache.ibatis.executor.ExecutorException;
+import org.apache.ibatis.mapping.KeyAssignmentPlan;
 import org.apache.ibatis.mapping.MappedStatement;
 import org.apache.ibatis.reflection.ArrayUtil;
 import org.apache.ibatis.reflection.MetaObject;
@@ -79,10 +80,11 @@ public class Jdbc3KeyGenerator implements KeyGenerator {
     try (ResultSet rs = stmt.getGeneratedKeys()) {
       final ResultSetMetaData rsmd = rs.getMetaData();
       final Configuration configuration = ms.getConfiguration();
+      final KeyAssignmentPlan plan = ms.getKeyAssignmentPlan();
       if (rsmd.getColumnCount() < keyProperties.length) {
         // Error?
       } else {
-        assignKeys(configuration, rs, rsmd, keyProperties, parameter);
+        assignKeys(configuration, plan, rs, rsmd, keyProperties, parameter);
       }
     } catch (Exception e) {
       throw new ExecutorException("Error getting generated key or setting result to parameter object. Cause: " + e, e);
@@ -90,30 +92,30 @@ public class Jdbc3KeyGenerator implements KeyGenerator {
   }
 
   @SuppressWarnings("unchecked")
-  private void assignKeys(Configuration configuration, ResultSet rs, ResultSetMetaData rsmd, String[] keyProperties,
-      Object parameter) throws SQLException {
+  private void assignKeys(Configuration configuration, KeyAssignmentPlan plan, ResultSet rs, ResultSetMetaData rsmd,
+      String[] keyProperties, Object parameter) throws SQLException {
     if (parameter instanceof ParamMap || parameter instanceof StrictMap) {
       // Multi-param or single param with @Param
-      assignKeysToParamMap(configuration, rs, rsmd, keyProperties, (Map<String, ?>) parameter);
+      assignKeysToParamMap(configuration, plan, rs, rsmd, keyProperties, (Map<String, ?>) parameter);
     } else if (parameter instanceof ArrayList && !((ArrayList<?>) parameter).isEmpty()
         && ((ArrayList<?>) parameter).get(0) instanceof ParamMap) {
       // Multi-param or single param with @Param in batch operation
-      assignKeysToParamMapList(configuration, rs, rsmd, keyProperties, (ArrayList<ParamMap<?>>) parameter);
+      assignKeysToParamMapList(configuration, plan, rs, rsmd, keyProperties, (ArrayList<ParamMap<?>>) parameter);
     } else {
       // Single param without @Param
-      assignKeysToParam(configuration, rs, rsmd, keyProperties, parameter);
+      assignKeysToParam(configuration, plan, rs, rsmd, keyProperties, parameter);
     }
   }
 
-  private void assignKeysToParam(Configuration configuration, ResultSet rs, ResultSetMetaData rsmd,
-      String[] keyProperties, Object parameter) throws SQLException {
+  private void assignKeysToParam(Configuration configuration, KeyAssignmentPlan plan, ResultSet rs,
+      ResultSetMetaData rsmd, String[] keyProperties, Object parameter) throws SQLException {
     Collection<?> params = collectionize(parameter);
     if (params.isEmpty()) {
       return;
     }
     List<KeyAssigner> assignerList = new ArrayList<>();
     for (int i = 0; i < keyProperties.length; i++) {
-      assignerList.add(new KeyAssigner(configuration, rsmd, i + 1, null, keyProperties[i]));
+      assignerList.add(new KeyAssigner(configuration, plan, rsmd, i + 1, null, keyProperties[i]));
     }
     Iterator<?> iterator = params.iterator();
     while (rs.next()) {
@@ -125,8 +127,8 @@ public class Jdbc3KeyGenerator implements KeyGenerator {
     }
   }
 
-  private void assignKeysToParamMapList(Configuration configuration, ResultSet rs, ResultSetMetaData rsmd,
-      String[] keyProperties, ArrayList<ParamMap<?>> paramMapList) throws SQLException {
+  private void assignKeysToParamMapList(Configuration configuration, KeyAssignmentPlan plan, ResultSet rs,
+      ResultSetMetaData rsmd, String[] keyProperties, ArrayList<ParamMap<?>> paramMapList) throws SQLException {
     Iterator<ParamMap<?>> iterator = paramMapList.iterator();
     List<KeyAssigner> assignerList = new ArrayList<>();
     long counter = 0;
@@ -137,8 +139,8 @@ public class Jdbc3KeyGenerator implements KeyGenerator {
       ParamMap<?> paramMap = iterator.next();
       if (assignerList.isEmpty()) {
         for (int i = 0; i < keyProperties.length; i++) {
-          assignerList
-              .add(getAssignerForParamMap(configuration, rsmd, i + 1, paramMap, keyProperties[i], keyProperties, false)
+          assignerList.add(
+              getAssignerForParamMap(configuration, plan, rsmd, i + 1, paramMap, keyProperties[i], keyProperties, false)
                   .getValue());
         }
       }
@@ -147,15 +149,15 @@ public class Jdbc3KeyGenerator implements KeyGenerator {
     }
   }
 
-  private void assignKeysToParamMap(Configuration configuration, ResultSet rs, ResultSetMetaData rsmd,
-      String[] keyProperties, Map<String, ?> paramMap) throws SQLException {
+  private void assignKeysToParamMap(Configuration configuration, KeyAssignmentPlan plan, ResultSet rs,
+      ResultSetMetaData rsmd, String[] keyProperties, Map<String, ?> paramMap) throws SQLException {
     if (paramMap.isEmpty()) {
       return;
     }
     Map<String, Entry<Iterator<?>, List<KeyAssigner>>> assignerMap = new HashMap<>();
     for (int i = 0; i < keyProperties.length; i++) {
-      Entry<String, KeyAssigner> entry = getAssignerForParamMap(configuration, rsmd, i + 1, paramMap, keyProperties[i],
-          keyProperties, true);
+      Entry<String, KeyAssigner> entry = getAssignerForParamMap(configuration, plan, rsmd, i + 1, paramMap,
+          keyProperties[i], keyProperties, true);
       Entry<Iterator<?>, List<KeyAssigner>> iteratorPair = MapUtil.computeIfAbsent(assignerMap, entry.getKey(),
           k -> MapUtil.entry(collectionize(paramMap.get(k)).iterator(), new ArrayList<>()));
       iteratorPair.getValue().add(entry.getValue());
@@ -173,8 +175,9 @@ public class Jdbc3KeyGenerator implements KeyGenerator {
     }
   }
 
-  private Entry<String, KeyAssigner> getAssignerForParamMap(Configuration config, ResultSetMetaData rsmd,
-      int columnPosition, Map<String, ?> paramMap, String keyProperty, String[] keyProperties, boolean omitParamName) {
+  private Entry<String, KeyAssigner> getAssignerForParamMap(Configuration config, KeyAssignmentPlan plan,
+      ResultSetMetaData rsmd, int columnPosition, Map<String, ?> paramMap, String keyProperty, String[] keyProperties,
+      boolean omitParamName) {
     Set<String> keySet = paramMap.keySet();
     // A caveat : if the only parameter has {@code @Param("param2")} on it,
     // it must be referenced with param name e.g. 'param2.x'.
@@ -182,7 +185,7 @@ public class Jdbc3KeyGenerator implements KeyGenerator {
     int firstDot = keyProperty.indexOf('.');
     if (firstDot == -1) {
       if (singleParam) {
-        return getAssignerForSingleParam(config, rsmd, columnPosition, paramMap, keyProperty, omitParamName);
+        return getAssignerForSingleParam(config, plan, rsmd, columnPosition, paramMap, keyProperty, omitParamName);
       }
       throw new ExecutorException("Could not determine which parameter to assign generated keys to. "
           + "Note that when there are multiple parameters, 'keyProperty' must include the parameter name (e.g. 'param.id'). "
@@ -193,10 +196,11 @@ public class Jdbc3KeyGenerator implements KeyGenerator {
     if (keySet.contains(paramName)) {
       String argParamName = omitParamName ? null : paramName;
       String argKeyProperty = keyProperty.substring(firstDot + 1);
-      return MapUtil.entry(paramName, new KeyAssigner(config, rsmd, columnPosition, argParamName, argKeyProperty));
+      return MapUtil.entry(paramName,
+          new KeyAssigner(config, plan, rsmd, columnPosition, argParamName, argKeyProperty));
     }
     if (singleParam) {
-      return getAssignerForSingleParam(config, rsmd, columnPosition, paramMap, keyProperty, omitParamName);
+      return getAssignerForSingleParam(config, plan, rsmd, columnPosition, paramMap, keyProperty, omitParamName);
     } else {
       throw new ExecutorException("Could not find parameter '" + paramName + "'. "
           + "Note that when there are multiple parameters, 'keyProperty' must include the parameter name (e.g. 'param.id'). "
@@ -205,12 +209,13 @@ public class Jdbc3KeyGenerator implements KeyGenerator {
     }
   }
 
-  private Entry<String, KeyAssigner> getAssignerForSingleParam(Configuration config, ResultSetMetaData rsmd,
-      int columnPosition, Map<String, ?> paramMap, String keyProperty, boolean omitParamName) {
+  private Entry<String, KeyAssigner> getAssignerForSingleParam(Configuration config, KeyAssignmentPlan plan,
+      ResultSetMetaData rsmd, int columnPosition, Map<String, ?> paramMap, String keyProperty, boolean omitParamName) {
     // Assume 'keyProperty' to be a property of the single param.
     String singleParamName = nameOfSingleParam(paramMap);
     String argParamName = omitParamName ? null : singleParamName;
-    return MapUtil.entry(singleParamName, new KeyAssigner(config, rsmd, columnPosition, argParamName, keyProperty));
+    return MapUtil.entry(singleParamName,
+        new KeyAssigner(config, plan, rsmd, columnPosition, argParamName, keyProperty));
   }
 
   private static String nameOfSingleParam(Map<String, ?> paramMap) {
@@ -231,16 +236,20 @@ public class Jdbc3KeyGenerator implements KeyGenerator {
 
   private static class KeyAssigner {
     private final Configuration configuration;
+    private final KeyAssignmentPlan plan;
     private final ResultSetMetaData rsmd;
     private final TypeHandlerRegistry typeHandlerRegistry;
     private final int columnPosition;
     private final String paramName;
     private final String propertyName;
     private TypeHandler<?> typeHandler;
+    private JdbcType jdbcType;
+    private boolean jdbcTypeResolved;
 
-    protected KeyAssigner(Configuration configuration, ResultSetMetaData rsmd, int columnPosition, String paramName,
-        String propertyName) {
+    protected KeyAssigner(Configuration configuration, KeyAssignmentPlan plan, ResultSetMetaData rsmd,
+        int columnPosition, String paramName, String propertyName) {
       this.configuration = configuration;
+      this.plan = plan;
       this.rsmd = rsmd;
       this.typeHandlerRegistry = configuration.getTypeHandlerRegistry();
       this.columnPosition = columnPosition;
@@ -253,6 +262,21 @@ public class Jdbc3KeyGenerator implements KeyGenerator {
         // If paramName is set, param is ParamMap
         param = ((ParamMap<?>) param).get(paramName);
       }
+      try {
+        if (!jdbcTypeResolved) {
+          jdbcType = JdbcType.forCode(rsmd.getColumnType(columnPosition));
+          jdbcTypeResolved = true;
+        }
+        KeyAssignmentPlan.Assignment assignment = param == null ? null
+            : plan.getAssignment(columnPosition - 1, propertyName, param, jdbcType);
+        if (assignment != null) {
+          assignment.assign(rs, columnPosition, param);
+          return;
+        }
+      } catch (SQLException e) {
+        throw new ExecutorException("Error getting generated key or setting result to parameter object. Cause: " + e,
+            e);
+      }
       MetaObject metaParam = configuration.newMetaObject(param);
       try {
         if (typeHandler == null) {
@@ -261,8 +285,7 @@ public class Jdbc3KeyGenerator implements KeyGenerator {
                 + metaParam.getOriginalObject().getClass().getName() + "'.");
           }
           Class<?> propertyType = metaParam.getSetterType(propertyName);
-          typeHandler = typeHandlerRegistry.getTypeHandler(propertyType,
-              JdbcType.forCode(rsmd.getColumnType(columnPosition)));
+          typeHandler = typeHandlerRegistry.getTypeHandler(propertyType, jdbcType);
         }
         if (typeHandler == null) {
           // Error?
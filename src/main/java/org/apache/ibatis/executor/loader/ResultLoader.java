@@ -99,7 +99,10 @@ public class ResultLoader {
     }
     final TransactionFactory transactionFactory = environment.getTransactionFactory();
     final Transaction tx = transactionFactory.newTransaction(ds, null, false);
-    return configuration.newExecutor(tx, ExecutorType.SIMPLE);
+    Executor localExecutor = configuration.newExecutor(tx, ExecutorType.SIMPLE);
+    // reads the writes of the executor that created this loader
+    localExecutor.setPrimaryOnly(executor.isPrimaryOnly());
+    return localExecutor;
   }
 
   public boolean wasNull() {
@@ -0,0 +1,73 @@
+/*
+ *    Copyright 2009-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.ibatis.util.MapUtil;
+
+/**
+ * The execution metrics of the mapped statements of a configuration, recorded when
+ * {@link org.apache.ibatis.session.Configuration#isMetricsEnabled()} is {@code true}.
+ * <p>
+ * The metrics can be read at any time through this class, or registered as an MXBean, e.g.
+ * <code>ManagementFactory.getPlatformMBeanServer().registerMBean(configuration.getExecutionMetrics(), name)</code>.
+ *
+ * @since 3.5.14
+ */
+public class ExecutionMetrics implements ExecutionMetricsMXBean {
+
+  private final Map<String, StatementMetrics> statementMetrics = new ConcurrentHashMap<>();
+  private final LatencyHistogram connectionWait = new LatencyHistogram();
+
+  /**
+   * Returns the metrics of a mapped statement, created on first use.
+   *
+   * @param id
+   *          the mapped statement id
+   *
+   * @return the statement metrics
+   */
+  public StatementMetrics getStatementMetrics(String id) {
+    return MapUtil.computeIfAbsent(statementMetrics, id, StatementMetrics::new);
+  }
+
+  /**
+   * Returns the metrics of the executed statements by mapped statement id.
+   */
+  @Override
+  public Map<String, StatementMetrics> getStatementMetrics() {
+    return Collections.unmodifiableMap(statementMetrics);
+  }
+
+  /**
+   * Returns the time the executors waited for a connection of the transaction (e.g. from the
+   * {@link org.apache.ibatis.datasource.pooled.PooledDataSource}).
+   */
+  @Override
+  public LatencyHistogram getConnectionWait() {
+    return connectionWait;
+  }
+
+  @Override
+  public void reset() {
+    statementMetrics.values().forEach(StatementMetrics::reset);
+    connectionWait.reset();
+  }
+
+}
@@ -0,0 +1,151 @@
+/*
+ *    Copyright 2009-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The metrics of a mapped statement. All counters are lock-free and can be read while being updated.
+ *
+ * @since 3.5.14
+ */
+public final class StatementMetrics {
+
+  private final String id;
+  private final LatencyHistogram latency = new LatencyHistogram();
+  private final LongAdder errors = new LongAdder();
+  private final LongAdder rows = new LongAdder();
+  private final LongAdder localCacheHits = new LongAdder();
+  private final LongAdder localCacheMisses = new LongAdder();
+  private final LongAdder secondLevelCacheHits = new LongAdder();
+  private final LongAdder secondLevelCacheMisses = new LongAdder();
+  private final LongAdder batches = new LongAdder();
+  private final LongAdder batchedStatements = new LongAdder();
+  private final LongAccumulator maxBatchSize = new LongAccumulator(Math::max, 0L);
+
+  StatementMetrics(String id) {
+    this.id = id;
+  }
+
+  /**
+   * Records the execution of the statement against the database.
+   *
+   * @param nanos
+   *          the duration
+   * @param rowCount
+   *          the number of rows read or updated, negative if not known
+   * @param failed
+   *          whether the execution threw an exception
+   */
+  public void recordExecution(long nanos, long rowCount, boolean failed) {
+    latency.record(nanos);
+    if (failed) {
+      errors.increment();
+    } else if (rowCount > 0) {
+      rows.add(rowCount);
+    }
+  }
+
+  public void recordLocalCache(boolean hit) {
+    (hit ? localCacheHits : localCacheMisses).increment();
+  }
+
+  public void recordSecondLevelCache(boolean hit) {
+    (hit ? secondLevelCacheHits : secondLevelCacheMisses).increment();
+  }
+
+  public void recordBatch(int size) {
+    batches.increment();
+    batchedStatements.add(size);
+    maxBatchSize.accumulate(size);
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public LatencyHistogram getLatency() {
+    return latency;
+  }
+
+  public long getExecutionCount() {
+    return latency.getCount();
+  }
+
+  public long getErrorCount() {
+    return errors.sum();
+  }
+
+  public long getRowCount() {
+    return rows.sum();
+  }
+
+  public long getLocalCacheHits() {
+    return localCacheHits.sum();
+  }
+
+  public long getLocalCacheMisses() {
+    return localCacheMisses.sum();
+  }
+
+  public double getLocalCacheHitRatio() {
+    return ratio(localCacheHits.sum(), localCacheMisses.sum());
+  }
+
+  public long getSecondLevelCacheHits() {
+    return secondLevelCacheHits.sum();
+  }
+
+  public long getSecondLevelCacheMisses() {
+    return secondLevelCacheMisses.sum();
+  }
+
+  public double getSecondLevelCacheHitRatio() {
+    return ratio(secondLevelCacheHits.sum(), secondLevelCacheMisses.sum());
+  }
+
+  public long getBatchCount() {
+    return batches.sum();
+  }
+
+  public long getBatchedStatementCount() {
+    return batchedStatements.sum();
+  }
+
+  public long getMaxBatchSize() {
+    return maxBatchSize.get();
+  }
+
+  private static double ratio(long hits, long misses) {
+    long requests = hits + misses;
+    return requests == 0 ? 0.0 : (double) hits / requests;
+  }
+
+  void reset() {
+    latency.reset();
+    errors.reset();
+    rows.reset();
+    localCacheHits.reset();
+    localCacheMisses.reset();
+    secondLevelCacheHits.reset();
+    secondLevelCacheMisses.reset();
+    batches.reset();
+    batchedStatements.reset();
+    maxBatchSize.reset();
+  }
+
+}
@@ -17,6 +17,8 @@ package org.apache.ibatis.executor.parameter;
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * A parameter handler sets the parameters of the {@code PreparedStatement}.
@@ -29,4 +31,16 @@ public interface ParameterHandler {
 
   void setParameters(PreparedStatement ps) throws SQLException;
 
+  /**
+   * Returns the values of the IN and INOUT parameters in the order of the parameter mappings, e.g. for a
+   * {@link org.apache.ibatis.logging.tracing.SqlTracer}.
+   *
+   * @return the parameter values, or an empty list if this handler does not expose them
+   *
+   * @since 3.5.14
+   */
+  default List<Object> getParameterValues() {
+    return Collections.emptyList();
+  }
+
 }
@@ -38,6 +38,7 @@ import org.apache.ibatis.binding.MapperMethod.ParamMap;
 import org.apache.ibatis.cache.CacheKey;
 import org.apache.ibatis.cursor.Cursor;
 import org.apache.ibatis.cursor.defaults.DefaultCursor;
+import org.apache.ibatis.cursor.defaults.PrefetchingCursor;
 import org.apache.ibatis.executor.ErrorContext;
 import org.apache.ibatis.executor.Executor;
 import org.apache.ibatis.executor.ExecutorException;
@@ -56,6 +57,7 @@ import org.apache.ibatis.mapping.ResultMap;
 import org.apache.ibatis.mapping.ResultMapping;
 import org.apache.ibatis.reflection.MetaClass;
 import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.reflection.RecordType;
 import org.apache.ibatis.reflection.ReflectorFactory;
 import org.apache.ibatis.reflection.factory.ObjectFactory;
 import org.apache.ibatis.session.AutoMappingBehavior;
@@ -101,6 +103,7 @@ public class DefaultResultSetHandler implements ResultSetHandler {
   // Cached Automappings
   private final Map<String, List<UnMappedColumnAutoMapping>> autoMappingsCache = new HashMap<>();
   private final Map<String, List<String>> constructorAutoMappingColumns = new HashMap<>();
+  private final Map<String, ConstructorAutoMapping> constructorAutoMappingCache = new HashMap<>();
 
   // temporary marking flag that indicate using constructor mapping (use field to reduce memory usage)
   private boolean useConstructorMappings;
@@ -110,6 +113,30 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     public ResultMapping propertyMapping;
   }
 
+  private static class ConstructorAutoMapping {
+    private final ResultSetWrapper rsw;
+    private final Constructor<?> constructor;
+    private Class<?>[] argTypes = new Class<?>[0];
+    private String[] columns = new String[0];
+    private TypeHandler<?>[] typeHandlers = new TypeHandler<?>[0];
+    private final List<String> missingArgs = new ArrayList<>();
+
+    ConstructorAutoMapping(ResultSetWrapper rsw, Constructor<?> constructor) {
+      this.rsw = rsw;
+      this.constructor = constructor;
+    }
+
+    void add(Class<?> argType, String column, TypeHandler<?> typeHandler) {
+      int size = columns.length;
+      argTypes = Arrays.copyOf(argTypes, size + 1);
+      argTypes[size] = argType;
+      columns = Arrays.copyOf(columns, size + 1);
+      columns[size] = column;
+      typeHandlers = Arrays.copyOf(typeHandlers, size + 1);
+      typeHandlers[size] = typeHandler;
+    }
+  }
+
   private static class UnMappedColumnAutoMapping {
     private final String column;
     private final String property;
@@ -238,7 +265,38 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     }
 
     ResultMap resultMap = resultMaps.get(0);
-    return new DefaultCursor<>(this, resultMap, rsw, rowBounds);
+    Cursor<E> cursor = new DefaultCursor<>(this, resultMap, rsw, rowBounds);
+    Integer prefetchSize = configuration.getCursorPrefetchSize();
+    if (prefetchSize != null && !hasNestedQueries(resultMap, new HashSet<>())) {
+      // nested queries would run on the prefetching thread through the executor of the session
+      cursor = new PrefetchingCursor<>(cursor, prefetchSize);
+    }
+    return cursor;
+  }
+
+  private boolean hasNestedQueries(ResultMap resultMap, Set<String> visitedResultMapIds) {
+    if (!visitedResultMapIds.add(resultMap.getId())) {
+      return false;
+    }
+    if (resultMap.hasNestedQueries()) {
+      return true;
+    }
+    for (ResultMapping resultMapping : resultMap.getResultMappings()) {
+      String nestedResultMapId = resultMapping.getNestedResultMapId();
+      if (nestedResultMapId != null
+          && hasNestedQueries(configuration.getResultMap(nestedResultMapId), visitedResultMapIds)) {
+        return true;
+      }
+    }
+    Discriminator discriminator = resultMap.getDiscriminator();
+    if (discriminator != null) {
+      for (String caseResultMapId : discriminator.getDiscriminatorMap().values()) {
+        if (hasNestedQueries(configuration.getResultMap(caseResultMapId), visitedResultMapIds)) {
+          return true;
+        }
+      }
+    }
+    return false;
   }
 
   private ResultSetWrapper getFirstResultSet(Statement stmt) throws SQLException {
@@ -724,9 +782,30 @@ public class DefaultResultSetHandler implements ResultSetHandler {
 
   private Object createByConstructorSignature(ResultSetWrapper rsw, ResultMap resultMap, String columnPrefix,
       Class<?> resultType, List<Class<?>> constructorArgTypes, List<Object> constructorArgs) throws SQLException {
-    return applyConstructorAutomapping(rsw, resultMap, columnPrefix, resultType, constructorArgTypes, constructorArgs,
-        findConstructorForAutomapping(resultType, rsw).orElseThrow(() -> new ExecutorException(
-            "No constructor found in " + resultType.getName() + " matching " + rsw.getClassNames())));
+    final String mapKey = resultMap.getId() + ":" + columnPrefix;
+    ConstructorAutoMapping autoMapping = constructorAutoMappingCache.get(mapKey);
+    if (autoMapping == null || autoMapping.rsw != rsw) {
+      autoMapping = createConstructorAutoMapping(rsw, resultMap, columnPrefix, resultType,
+          findConstructorForAutomapping(resultType, rsw).orElseThrow(() -> new ExecutorException(
+              "No constructor found in " + resultType.getName() + " matching " + rsw.getClassNames())));
+      constructorAutoMappingCache.put(mapKey, autoMapping);
+    }
+    boolean foundValues = false;
+    for (int i = 0; i < autoMapping.columns.length; i++) {
+      Object value = autoMapping.typeHandlers[i].getResult(rsw.getResultSet(), autoMapping.columns[i]);
+      constructorArgTypes.add(autoMapping.argTypes[i]);
+      constructorArgs.add(value);
+      foundValues = value != null || foundValues;
+    }
+    if (foundValues && autoMapping.columns.length < autoMapping.constructor.getParameterCount()) {
+      throw new ExecutorException(MessageFormat.format(
+          "Constructor auto-mapping of ''{1}'' failed " + "because ''{0}'' were not found in the result set; "
+              + "Available columns are ''{2}'' and mapUnderscoreToCamelCase is ''{3}''.",
+          autoMapping.missingArgs, autoMapping.constructor, rsw.getColumnNames(),
+          configuration.isMapUnderscoreToCamelCase()));
+    }
+    return foundValues || configuration.isReturnInstanceForEmptyRow()
+        ? objectFactory.create(resultType, constructorArgTypes, constructorArgs) : null;
   }
 
   private Optional<Constructor<?>> findConstructorForAutomapping(final Class<?> resultType, ResultSetWrapper rsw) {
@@ -765,73 +844,53 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     return true;
   }
 
-  private Object applyConstructorAutomapping(ResultSetWrapper rsw, ResultMap resultMap, String columnPrefix,
-      Class<?> resultType, List<Class<?>> constructorArgTypes, List<Object> constructorArgs, Constructor<?> constructor)
-      throws SQLException {
-    boolean foundValues = false;
+  private ConstructorAutoMapping createConstructorAutoMapping(ResultSetWrapper rsw, ResultMap resultMap,
+      String columnPrefix, Class<?> resultType, Constructor<?> constructor) throws SQLException {
+    ConstructorAutoMapping autoMapping = new ConstructorAutoMapping(rsw, constructor);
     if (configuration.isArgNameBasedConstructorAutoMapping()) {
-      foundValues = applyArgNameBasedConstructorAutoMapping(rsw, resultMap, columnPrefix, constructorArgTypes,
-          constructorArgs, constructor, foundValues);
+      applyArgNameBasedConstructorAutoMapping(rsw, resultMap, columnPrefix, resultType, autoMapping);
     } else {
-      foundValues = applyColumnOrderBasedConstructorAutomapping(rsw, constructorArgTypes, constructorArgs, constructor,
-          foundValues);
+      applyColumnOrderBasedConstructorAutomapping(rsw, autoMapping);
     }
-    return foundValues || configuration.isReturnInstanceForEmptyRow()
-        ? objectFactory.create(resultType, constructorArgTypes, constructorArgs) : null;
+    return autoMapping;
   }
 
-  private boolean applyColumnOrderBasedConstructorAutomapping(ResultSetWrapper rsw, List<Class<?>> constructorArgTypes,
-      List<Object> constructorArgs, Constructor<?> constructor, boolean foundValues) throws SQLException {
-    for (int i = 0; i < constructor.getParameterTypes().length; i++) {
-      Class<?> parameterType = constructor.getParameterTypes()[i];
+  private void applyColumnOrderBasedConstructorAutomapping(ResultSetWrapper rsw, ConstructorAutoMapping autoMapping)
+      throws SQLException {
+    Class<?>[] parameterTypes = autoMapping.constructor.getParameterTypes();
+    for (int i = 0; i < parameterTypes.length; i++) {
       String columnName = rsw.getColumnNames().get(i);
-      TypeHandler<?> typeHandler = rsw.getTypeHandler(parameterType, columnName);
-      Object value = typeHandler.getResult(rsw.getResultSet(), columnName);
-      constructorArgTypes.add(parameterType);
-      constructorArgs.add(value);
-      foundValues = value != null || foundValues;
+      autoMapping.add(parameterTypes[i], columnName, rsw.getTypeHandler(parameterTypes[i], columnName));
     }
-    return foundValues;
   }
 
-  private boolean applyArgNameBasedConstructorAutoMapping(ResultSetWrapper rsw, ResultMap resultMap,
-      String columnPrefix, List<Class<?>> constructorArgTypes, List<Object> constructorArgs, Constructor<?> constructor,
-      boolean foundValues) throws SQLException {
-    List<String> missingArgs = null;
-    Parameter[] params = constructor.getParameters();
-    for (Parameter param : params) {
+  private void applyArgNameBasedConstructorAutoMapping(ResultSetWrapper rsw, ResultMap resultMap, String columnPrefix,
+      Class<?> resultType, ConstructorAutoMapping autoMapping) throws SQLException {
+    RecordType recordType = RecordType.forClass(resultType);
+    boolean canonical = recordType != null && recordType.getCanonicalConstructor().equals(autoMapping.constructor);
+    Parameter[] params = autoMapping.constructor.getParameters();
+    for (int i = 0; i < params.length; i++) {
+      Parameter param = params[i];
       boolean columnNotFound = true;
       Param paramAnno = param.getAnnotation(Param.class);
-      String paramName = paramAnno == null ? param.getName() : paramAnno.value();
+      // component names of records are available even if compiled without '-parameters'
+      String paramName = paramAnno != null ? paramAnno.value()
+          : canonical ? recordType.getComponentNames().get(i) : param.getName();
       for (String columnName : rsw.getColumnNames()) {
         if (columnMatchesParam(columnName, paramName, columnPrefix)) {
           Class<?> paramType = param.getType();
-          TypeHandler<?> typeHandler = rsw.getTypeHandler(paramType, columnName);
-          Object value = typeHandler.getResult(rsw.getResultSet(), columnName);
-          constructorArgTypes.add(paramType);
-          constructorArgs.add(value);
+          autoMapping.add(paramType, columnName, rsw.getTypeHandler(paramType, columnName));
           final String mapKey = resultMap.getId() + ":" + columnPrefix;
           if (!autoMappingsCache.containsKey(mapKey)) {
             MapUtil.computeIfAbsent(constructorAutoMappingColumns, mapKey, k -> new ArrayList<>()).add(columnName);
           }
           columnNotFound = false;
-          foundValues = value != null || foundValues;
         }
       }
       if (columnNotFound) {
-        if (missingArgs == null) {
-          missingArgs = new ArrayList<>();
-        }
-        missingArgs.add(paramName);
+        autoMapping.missingArgs.add(paramName);
       }
     }
-    if (foundValues && constructorArgs.size() < params.length) {
-      throw new ExecutorException(MessageFormat.format(
-          "Constructor auto-mapping of ''{1}'' failed " + "because ''{0}'' were not found in the result set; "
-              + "Available columns are ''{2}'' and mapUnderscoreToCamelCase is ''{3}''.",
-          missingArgs, constructor, rsw.getColumnNames(), configuration.isMapUnderscoreToCamelCase()));
-    }
-    return foundValues;
   }
 
   private boolean columnMatchesParam(String columnName, String paramName, String columnPrefix) {
@@ -16,6 +16,7 @@
 package org.apache.ibatis.executor.statement;
 
 import java.sql.Connection;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 
@@ -25,6 +26,8 @@ import org.apache.ibatis.executor.ExecutorException;
 import org.apache.ibatis.executor.keygen.KeyGenerator;
 import org.apache.ibatis.executor.parameter.ParameterHandler;
 import org.apache.ibatis.executor.resultset.ResultSetHandler;
+import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.logging.LogFactory;
 import org.apache.ibatis.mapping.BoundSql;
 import org.apache.ibatis.mapping.MappedStatement;
 import org.apache.ibatis.reflection.factory.ObjectFactory;
@@ -38,6 +41,13 @@ import org.apache.ibatis.type.TypeHandlerRegistry;
  */
 public abstract class BaseStatementHandler implements StatementHandler {
 
+  private static final Log log = LogFactory.getLog(BaseStatementHandler.class);
+
+  /**
+   * The fetch size applied to streaming cursors when no default fetch size is configured.
+   */
+  protected static final int STREAMING_FETCH_SIZE = 1000;
+
   protected final Configuration configuration;
   protected final ObjectFactory objectFactory;
   protected final TypeHandlerRegistry typeHandlerRegistry;
@@ -127,6 +137,44 @@ public abstract class BaseStatementHandler implements StatementHandler {
     }
   }
 
+  /**
+   * Applies the streaming settings of the driver to a statement that is executed as a
+   * {@link org.apache.ibatis.cursor.Cursor} when {@link Configuration#isStreamingCursors()} is enabled and the mapped
+   * statement does not specify a fetch size.
+   * <p>
+   * MySQL only streams a forward only result set with a fetch size of {@link Integer#MIN_VALUE}. Other drivers stream
+   * in chunks of the default fetch size, or {@value #STREAMING_FETCH_SIZE} rows when it is not set. Note that
+   * PostgreSQL only honours the fetch size when auto-commit is disabled.
+   *
+   * @param stmt
+   *          the statement to execute
+   *
+   * @throws SQLException
+   *           if the driver rejects the settings
+   *
+   * @since 3.5.14
+   */
+  protected void setCursorFetchSize(Statement stmt) throws SQLException {
+    if (!configuration.isStreamingCursors() || mappedStatement.getFetchSize() != null) {
+      return;
+    }
+    Connection connection = stmt.getConnection();
+    String productName = connection.getMetaData().getDatabaseProductName();
+    if ("MySQL".equalsIgnoreCase(productName)) {
+      if (stmt.getResultSetType() == ResultSet.TYPE_FORWARD_ONLY
+          && stmt.getResultSetConcurrency() == ResultSet.CONCUR_READ_ONLY) {
+        stmt.setFetchSize(Integer.MIN_VALUE);
+        return;
+      }
+    } else if ("PostgreSQL".equalsIgnoreCase(productName) && connection.getAutoCommit() && log.isDebugEnabled()) {
+      log.debug("Cursor of '" + mappedStatement.getId()
+          + "' is not streamed by PostgreSQL because auto-commit is enabled on the connection.");
+    }
+    if (configuration.getDefaultFetchSize() == null) {
+      stmt.setFetchSize(STREAMING_FETCH_SIZE);
+    }
+  }
+
   protected void closeStatement(Statement statement) {
     try {
       if (statement != null) {
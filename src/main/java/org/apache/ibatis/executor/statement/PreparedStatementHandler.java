@@ -69,6 +69,7 @@ public class PreparedStatementHandler extends BaseStatementHandler {
   @Override
   public <E> Cursor<E> queryCursor(Statement statement) throws SQLException {
     PreparedStatement ps = (PreparedStatement) statement;
+    setCursorFetchSize(ps);
     ps.execute();
     return resultSetHandler.handleCursorResultSets(ps);
   }
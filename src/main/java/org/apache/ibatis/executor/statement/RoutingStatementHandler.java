@@ -15,17 +15,25 @@
  */
 package org.apache.ibatis.executor.statement;
 
+import java.lang.reflect.Proxy;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.ibatis.cursor.Cursor;
 import org.apache.ibatis.executor.Executor;
 import org.apache.ibatis.executor.ExecutorException;
+import org.apache.ibatis.executor.metrics.StatementMetrics;
 import org.apache.ibatis.executor.parameter.ParameterHandler;
+import org.apache.ibatis.logging.jdbc.ConnectionLogger;
+import org.apache.ibatis.logging.tracing.SqlTraceEvent;
+import org.apache.ibatis.logging.tracing.SqlTraceEvent.ExecutionType;
+import org.apache.ibatis.logging.tracing.SqlTracer;
 import org.apache.ibatis.mapping.BoundSql;
 import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
 import org.apache.ibatis.session.ResultHandler;
 import org.apache.ibatis.session.RowBounds;
 
@@ -35,9 +43,20 @@ import org.apache.ibatis.session.RowBounds;
 public class RoutingStatementHandler implements StatementHandler {
 
   private final StatementHandler delegate;
+  private final MappedStatement mappedStatement;
+  private final SqlTracer sqlTracer;
+  private final StatementMetrics statementMetrics;
+  private final boolean observed;
+  private List<Object> tracedParameters;
 
   public RoutingStatementHandler(Executor executor, MappedStatement ms, Object parameter, RowBounds rowBounds,
       ResultHandler resultHandler, BoundSql boundSql) {
+    this.mappedStatement = ms;
+    SqlTracer tracer = ms.getConfiguration().getSqlTracer();
+    this.sqlTracer = tracer != null && tracer.isEnabled(ms) ? tracer : null;
+    this.statementMetrics = ms.getConfiguration().isMetricsEnabled()
+        ? ms.getConfiguration().getExecutionMetrics().getStatementMetrics(ms.getId()) : null;
+    this.observed = sqlTracer != null || statementMetrics != null;
 
     switch (ms.getStatementType()) {
       case STATEMENT:
@@ -57,32 +76,108 @@ public class RoutingStatementHandler implements StatementHandler {
 
   @Override
   public Statement prepare(Connection connection, Integer transactionTimeout) throws SQLException {
-    return delegate.prepare(connection, transactionTimeout);
+    if (sqlTracer != null && Proxy.isProxyClass(connection.getClass())
+        && Proxy.getInvocationHandler(connection) instanceof ConnectionLogger) {
+      // the tracer replaces the JDBC logging proxy of the traced statements
+      connection = ((ConnectionLogger) Proxy.getInvocationHandler(connection)).getConnection();
+    }
+    if (!observed) {
+      return delegate.prepare(connection, transactionTimeout);
+    }
+    long start = System.nanoTime();
+    try {
+      return delegate.prepare(connection, transactionTimeout);
+    } catch (SQLException | RuntimeException e) {
+      // the statement is not executed, only a failure is observed
+      observe(mappedStatement.getSqlCommandType() == SqlCommandType.SELECT ? ExecutionType.QUERY : ExecutionType.UPDATE,
+          start, -1, e);
+      throw e;
+    }
   }
 
   @Override
   public void parameterize(Statement statement) throws SQLException {
     delegate.parameterize(statement);
+    if (sqlTracer != null) {
+      tracedParameters = getParameterHandler().getParameterValues();
+    }
   }
 
   @Override
   public void batch(Statement statement) throws SQLException {
-    delegate.batch(statement);
+    if (sqlTracer == null) {
+      delegate.batch(statement);
+      return;
+    }
+    long start = System.nanoTime();
+    try {
+      delegate.batch(statement);
+      observe(ExecutionType.BATCH, start, -1, null);
+    } catch (SQLException | RuntimeException e) {
+      observe(ExecutionType.BATCH, start, -1, e);
+      throw e;
+    }
   }
 
   @Override
   public int update(Statement statement) throws SQLException {
-    return delegate.update(statement);
+    if (!observed) {
+      return delegate.update(statement);
+    }
+    long start = System.nanoTime();
+    try {
+      int rows = delegate.update(statement);
+      observe(ExecutionType.UPDATE, start, rows, null);
+      return rows;
+    } catch (SQLException | RuntimeException e) {
+      observe(ExecutionType.UPDATE, start, -1, e);
+      throw e;
+    }
   }
 
   @Override
   public <E> List<E> query(Statement statement, ResultHandler resultHandler) throws SQLException {
-    return delegate.query(statement, resultHandler);
+    if (!observed) {
+      return delegate.query(statement, resultHandler);
+    }
+    long start = System.nanoTime();
+    try {
+      List<E> list = delegate.query(statement, resultHandler);
+      observe(ExecutionType.QUERY, start, list == null ? -1 : list.size(), null);
+      return list;
+    } catch (SQLException | RuntimeException e) {
+      observe(ExecutionType.QUERY, start, -1, e);
+      throw e;
+    }
   }
 
   @Override
   public <E> Cursor<E> queryCursor(Statement statement) throws SQLException {
-    return delegate.queryCursor(statement);
+    if (!observed) {
+      return delegate.queryCursor(statement);
+    }
+    long start = System.nanoTime();
+    try {
+      Cursor<E> cursor = delegate.queryCursor(statement);
+      observe(ExecutionType.QUERY_CURSOR, start, -1, null);
+      return cursor;
+    } catch (SQLException | RuntimeException e) {
+      observe(ExecutionType.QUERY_CURSOR, start, -1, e);
+      throw e;
+    }
+  }
+
+  private void observe(ExecutionType executionType, long start, int rows, Throwable error) {
+    long elapsedNanos = System.nanoTime() - start;
+    // batched statements are recorded when flushed
+    if (statementMetrics != null && executionType != ExecutionType.BATCH) {
+      statementMetrics.recordExecution(elapsedNanos, rows, error != null);
+    }
+    if (sqlTracer == null) {
+      return;
+    }
+    sqlTracer.trace(new SqlTraceEvent(mappedStatement, executionType, getBoundSql().getSql(), tracedParameters,
+        System.currentTimeMillis() - TimeUnit.NANOSECONDS.toMillis(elapsedNanos), elapsedNanos, rows, error));
   }
 
   @Override
@@ -0,0 +1,119 @@
+/*
+ *    Copyright 2009-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.logging.tracing;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.logging.LogFactory;
+import org.apache.ibatis.mapping.MappedStatement;
+
+/**
+ * Hands the events over to a bounded queue drained by a daemon thread, so the delegate (e.g. formatting and writing
+ * logs) does not run on the executing thread.
+ * <p>
+ * Events are dropped when the queue is full instead of blocking the execution, see {@link #getDroppedCount()}.
+ *
+ * @since 3.5.14
+ */
+public class AsyncSqlTracer implements SqlTracer, Closeable {
+
+  private static final Log log = LogFactory.getLog(AsyncSqlTracer.class);
+
+  private final SqlTracer delegate;
+  private final BlockingQueue<SqlTraceEvent> queue;
+  private final AtomicLong droppedCount = new AtomicLong();
+  private final Thread worker;
+  private volatile boolean closed;
+
+  /**
+   * Instantiates a new async tracer and starts its thread.
+   *
+   * @param delegate
+   *          the tracer called on the tracer thread
+   * @param capacity
+   *          the maximum number of pending events
+   */
+  public AsyncSqlTracer(SqlTracer delegate, int capacity) {
+    this.delegate = delegate;
+    this.queue = new ArrayBlockingQueue<>(capacity);
+    this.worker = new Thread(this::drain, "mybatis-sql-tracer");
+    this.worker.setDaemon(true);
+    this.worker.start();
+  }
+
+  @Override
+  public boolean isEnabled(MappedStatement mappedStatement) {
+    return !closed && delegate.isEnabled(mappedStatement);
+  }
+
+  @Override
+  public void trace(SqlTraceEvent event) {
+    if (closed || !queue.offer(event)) {
+      droppedCount.incrementAndGet();
+    }
+  }
+
+  /**
+   * Returns the number of events dropped because the queue was full or the tracer was closed.
+   *
+   * @return the number of dropped events
+   */
+  public long getDroppedCount() {
+    return droppedCount.get();
+  }
+
+  /**
+   * Stops the tracer thread after the pending events have been passed to the delegate.
+   */
+  @Override
+  public void close() {
+    closed = true;
+    worker.interrupt();
+    try {
+      worker.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void drain() {
+    try {
+      while (!closed) {
+        deliver(queue.take());
+      }
+    } catch (InterruptedException e) {
+      // closed
+    }
+    List<SqlTraceEvent> pending = new ArrayList<>();
+    queue.drainTo(pending);
+    pending.forEach(this::deliver);
+  }
+
+  private void deliver(SqlTraceEvent event) {
+    try {
+      delegate.trace(event);
+    } catch (RuntimeException e) {
+      log.warn("Error tracing the execution of " + event.getMappedStatement().getId() + ". Cause: " + e);
+    }
+  }
+
+}
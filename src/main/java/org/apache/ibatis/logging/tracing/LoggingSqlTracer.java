@@ -0,0 +1,56 @@
+/*
+ *    Copyright 2009-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.logging.tracing;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.mapping.MappedStatement;
+
+/**
+ * Writes the events to the statement log at debug level, in the format of the JDBC logging proxies plus the elapsed
+ * time. Result rows are not logged.
+ *
+ * @since 3.5.14
+ */
+public class LoggingSqlTracer implements SqlTracer {
+
+  @Override
+  public boolean isEnabled(MappedStatement mappedStatement) {
+    return mappedStatement.getStatementLog().isDebugEnabled();
+  }
+
+  @Override
+  public void trace(SqlTraceEvent event) {
+    Log log = event.getMappedStatement().getStatementLog();
+    if (!log.isDebugEnabled()) {
+      return;
+    }
+    log.debug("==>  Preparing: " + event.getFormattedSql());
+    log.debug("==> Parameters: " + event.getFormattedParameters());
+    String elapsed = String.format("%.3f ms", event.getElapsedNanos() / (double) TimeUnit.MILLISECONDS.toNanos(1));
+    if (event.getError() != null) {
+      log.debug("<==      Error: " + event.getError() + " (" + elapsed + ")");
+    } else if (event.getRows() < 0) {
+      log.debug("<==       Time: " + elapsed);
+    } else if (event.getExecutionType() == SqlTraceEvent.ExecutionType.QUERY) {
+      log.debug("<==      Total: " + event.getRows() + " (" + elapsed + ")");
+    } else {
+      log.debug("<==    Updates: " + event.getRows() + " (" + elapsed + ")");
+    }
+  }
+
+}
@@ -0,0 +1,59 @@
+/*
+ *    Copyright 2009-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.logging.tracing;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.apache.ibatis.mapping.MappedStatement;
+
+/**
+ * Traces a random sample of the executions that the delegate accepts.
+ *
+ * @since 3.5.14
+ */
+public class SamplingSqlTracer implements SqlTracer {
+
+  private final SqlTracer delegate;
+  private final double sampleRate;
+
+  /**
+   * Instantiates a new sampling tracer.
+   *
+   * @param delegate
+   *          the tracer of the sampled executions
+   * @param sampleRate
+   *          the ratio of executions to trace, between {@code 0.0} and {@code 1.0}
+   */
+  public SamplingSqlTracer(SqlTracer delegate, double sampleRate) {
+    if (sampleRate < 0.0 || sampleRate > 1.0) {
+      throw new IllegalArgumentException("The sample rate must be between 0.0 and 1.0 but was " + sampleRate);
+    }
+    this.delegate = delegate;
+    this.sampleRate = sampleRate;
+  }
+
+  @Override
+  public boolean isEnabled(MappedStatement mappedStatement) {
+    return sampleRate > 0.0 && (sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate)
+        && delegate.isEnabled(mappedStatement);
+  }
+
+  @Override
+  public void trace(SqlTraceEvent event) {
+    delegate.trace(event);
+  }
+
+}
@@ -0,0 +1,148 @@
+/*
+ *    Copyright 2009-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.logging.tracing;
+
+import java.sql.Array;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+import java.util.StringJoiner;
+
+import org.apache.ibatis.builder.SqlSourceBuilder;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.reflection.ArrayUtil;
+
+/**
+ * The execution of a SQL statement.
+ * <p>
+ * The parameter values are captured as is, they are only formatted when {@link #getFormattedParameters()} is called.
+ *
+ * @since 3.5.14
+ */
+public final class SqlTraceEvent {
+
+  /**
+   * The kind of execution.
+   */
+  public enum ExecutionType {
+    QUERY, QUERY_CURSOR, UPDATE, BATCH
+  }
+
+  private final MappedStatement mappedStatement;
+  private final ExecutionType executionType;
+  private final String sql;
+  private final List<Object> parameters;
+  private final long timestamp;
+  private final long elapsedNanos;
+  private final int rows;
+  private final Throwable error;
+  private String formattedSql;
+  private String formattedParameters;
+
+  public SqlTraceEvent(MappedStatement mappedStatement, ExecutionType executionType, String sql,
+      List<Object> parameters, long timestamp, long elapsedNanos, int rows, Throwable error) {
+    this.mappedStatement = mappedStatement;
+    this.executionType = executionType;
+    this.sql = sql;
+    this.parameters = parameters == null ? Collections.emptyList() : parameters;
+    this.timestamp = timestamp;
+    this.elapsedNanos = elapsedNanos;
+    this.rows = rows;
+    this.error = error;
+  }
+
+  public MappedStatement getMappedStatement() {
+    return mappedStatement;
+  }
+
+  public ExecutionType getExecutionType() {
+    return executionType;
+  }
+
+  public String getSql() {
+    return sql;
+  }
+
+  public List<Object> getParameters() {
+    return parameters;
+  }
+
+  /**
+   * Returns the time the execution started.
+   *
+   * @return the start time in milliseconds since the epoch
+   */
+  public long getTimestamp() {
+    return timestamp;
+  }
+
+  public long getElapsedNanos() {
+    return elapsedNanos;
+  }
+
+  /**
+   * Returns the number of rows read by a query or the update count, {@code -1} if not known (cursor and batch).
+   *
+   * @return the number of rows
+   */
+  public int getRows() {
+    return rows;
+  }
+
+  /**
+   * Returns the exception thrown by the execution.
+   *
+   * @return the exception, or {@code null} if the execution succeeded
+   */
+  public Throwable getError() {
+    return error;
+  }
+
+  public String getFormattedSql() {
+    if (formattedSql == null) {
+      formattedSql = SqlSourceBuilder.removeExtraWhitespaces(sql);
+    }
+    return formattedSql;
+  }
+
+  /**
+   * Returns the parameters in the format of the JDBC loggers, e.g. <code>1(Integer), abc(String), null</code>.
+   *
+   * @return the formatted parameters
+   */
+  public String getFormattedParameters() {
+    if (formattedParameters == null) {
+      StringJoiner joiner = new StringJoiner(", ");
+      for (Object value : parameters) {
+        joiner.add(value == null ? "null" : objectValueString(value) + "(" + value.getClass().getSimpleName() + ")");
+      }
+      formattedParameters = joiner.toString();
+    }
+    return formattedParameters;
+  }
+
+  private static String objectValueString(Object value) {
+    if (value instanceof Array) {
+      try {
+        return ArrayUtil.toString(((Array) value).getArray());
+      } catch (SQLException e) {
+        // Intentionally fall through to return value.toString()
+      }
+    }
+    return value.toString();
+  }
+
+}
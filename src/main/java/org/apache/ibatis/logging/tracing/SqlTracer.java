@@ -0,0 +1,53 @@
+/*
+ *    Copyright 2009-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.logging.tracing;
+
+import org.apache.ibatis.mapping.MappedStatement;
+
+/**
+ * Receives an event for each executed SQL statement.
+ * <p>
+ * Unlike the JDBC logging proxies, a tracer is called by the statement handler itself, and nothing is captured for a
+ * statement that {@link #isEnabled(MappedStatement)} rejects.
+ *
+ * @since 3.5.14
+ *
+ * @see SqlTraceEvent
+ * @see org.apache.ibatis.session.Configuration#setSqlTracer(SqlTracer)
+ */
+public interface SqlTracer {
+
+  /**
+   * Returns whether the execution of the statement is traced. Called once per execution before anything is captured.
+   *
+   * @param mappedStatement
+   *          the mapped statement to execute
+   *
+   * @return {@code true} if the execution is traced
+   */
+  default boolean isEnabled(MappedStatement mappedStatement) {
+    return true;
+  }
+
+  /**
+   * Called after the execution of a traced statement, whether it succeeded or not.
+   *
+   * @param event
+   *          the trace event
+   */
+  void trace(SqlTraceEvent event);
+
+}
@@ -42,10 +42,20 @@ public class BoundSql {
 
   public BoundSql(Configuration configuration, String sql, List<ParameterMapping> parameterMappings,
       Object parameterObject) {
+    this(configuration, sql, parameterMappings, parameterObject, new HashMap<>());
+  }
+
+  /**
+   * Creates a bound sql that uses the supplied map as its additional parameters instead of copying them.
+   *
+   * @since 3.5.14
+   */
+  public BoundSql(Configuration configuration, String sql, List<ParameterMapping> parameterMappings,
+      Object parameterObject, Map<String, Object> additionalParameters) {
     this.sql = sql;
     this.parameterMappings = parameterMappings;
     this.parameterObject = parameterObject;
-    this.additionalParameters = new HashMap<>();
+    this.additionalParameters = additionalParameters;
     this.metaParameters = configuration.newMetaObject(additionalParameters);
   }
 
@@ -30,6 +30,7 @@ import org.apache.ibatis.cache.decorators.LruCache;
 import org.apache.ibatis.cache.decorators.ScheduledCache;
 import org.apache.ibatis.cache.decorators.SerializedCache;
 import org.apache.ibatis.cache.decorators.SynchronizedCache;
+import org.apache.ibatis.cache.decorators.TaggedCache;
 import org.apache.ibatis.cache.impl.PerpetualCache;
 import org.apache.ibatis.reflection.MetaObject;
 import org.apache.ibatis.reflection.SystemMetaObject;
@@ -46,6 +47,7 @@ public class CacheBuilder {
   private boolean readWrite;
   private Properties properties;
   private boolean blocking;
+  private boolean tagged;
 
   public CacheBuilder(String id) {
     this.id = id;
@@ -84,6 +86,22 @@ public class CacheBuilder {
     return this;
   }
 
+  /**
+   * Adds a {@link TaggedCache} on top of the built-in cache, so that the statements declaring cache tags evict only the
+   * entries of these tags. Ignored for a custom or blocking cache.
+   *
+   * @param tagged
+   *          whether the entries are indexed by tag
+   *
+   * @return this builder
+   *
+   * @since 3.5.14
+   */
+  public CacheBuilder tagged(boolean tagged) {
+    this.tagged = tagged;
+    return this;
+  }
+
   public CacheBuilder properties(Properties properties) {
     this.properties = properties;
     return this;
@@ -132,6 +150,8 @@ public class CacheBuilder {
       cache = new SynchronizedCache(cache);
       if (blocking) {
         cache = new BlockingCache(cache);
+      } else if (tagged) {
+        cache = new TaggedCache(cache);
       }
       return cache;
     } catch (Exception e) {
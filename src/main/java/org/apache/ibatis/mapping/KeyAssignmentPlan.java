@@ -0,0 +1,146 @@
+/*
+ *    Copyright 2009-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.mapping;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.apache.ibatis.reflection.ExceptionUtil;
+import org.apache.ibatis.reflection.ReflectionException;
+import org.apache.ibatis.reflection.Reflector;
+import org.apache.ibatis.reflection.invoker.Invoker;
+import org.apache.ibatis.reflection.wrapper.DefaultObjectWrapperFactory;
+import org.apache.ibatis.reflection.wrapper.ObjectWrapper;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.type.JdbcType;
+import org.apache.ibatis.type.TypeHandler;
+
+/**
+ * The assignments of the generated keys of a statement to the properties of the parameter objects, resolved once.
+ * <p>
+ * For each key column the plan remembers the setter {@link Invoker} and the {@link TypeHandler} resolved for the last
+ * seen target type and JDBC type, so each row is read by column index and assigned through the setter without creating
+ * a {@link org.apache.ibatis.reflection.MetaObject}. Nested properties and targets that are not plain beans (maps,
+ * collections, custom wrappers) are not planned.
+ *
+ * @since 3.5.14
+ */
+public final class KeyAssignmentPlan {
+
+  private final Configuration configuration;
+  private final AtomicReferenceArray<Assignment> assignments;
+
+  KeyAssignmentPlan(Configuration configuration, int keyCount) {
+    this.configuration = configuration;
+    this.assignments = new AtomicReferenceArray<>(keyCount);
+  }
+
+  /**
+   * Returns the assignment of a key column to a property of the target.
+   *
+   * @param keyIndex
+   *          the index of the key column (0 based)
+   * @param property
+   *          the property to assign
+   * @param target
+   *          a non-null target object
+   * @param jdbcType
+   *          the JDBC type of the key column
+   *
+   * @return the assignment, or {@code null} if the key must be assigned through a
+   *         {@link org.apache.ibatis.reflection.MetaObject}
+   */
+  public Assignment getAssignment(int keyIndex, String property, Object target, JdbcType jdbcType) {
+    if (keyIndex >= assignments.length()) {
+      return null;
+    }
+    Assignment assignment = assignments.get(keyIndex);
+    if (assignment == null || !assignment.matches(property, target.getClass(), jdbcType)) {
+      assignment = resolveAssignment(property, target, jdbcType);
+      assignments.set(keyIndex, assignment);
+    }
+    return assignment.setter == null ? null : assignment;
+  }
+
+  private Assignment resolveAssignment(String property, Object target, JdbcType jdbcType) {
+    boolean plain = configuration.getObjectWrapperFactory().getClass() == DefaultObjectWrapperFactory.class
+        && !(target instanceof ObjectWrapper) && !(target instanceof Collection) && !(target instanceof Map)
+        && property.indexOf('.') == -1 && property.indexOf('[') == -1;
+    if (plain) {
+      Reflector reflector = configuration.getReflectorFactory().findForClass(target.getClass());
+      if (reflector.hasSetter(property)) {
+        TypeHandler<?> typeHandler = configuration.getTypeHandlerRegistry()
+            .getTypeHandler(reflector.getSetterType(property), jdbcType);
+        return new Assignment(property, target.getClass(), jdbcType, reflector.getSetInvoker(property), typeHandler);
+      }
+    }
+    return new Assignment(property, target.getClass(), jdbcType, null, null);
+  }
+
+  /**
+   * Assigns a key column to a property through its setter.
+   */
+  public static final class Assignment {
+    private final String property;
+    private final Class<?> type;
+    private final JdbcType jdbcType;
+    private final Invoker setter;
+    private final TypeHandler<?> typeHandler;
+
+    Assignment(String property, Class<?> type, JdbcType jdbcType, Invoker setter, TypeHandler<?> typeHandler) {
+      this.property = property;
+      this.type = type;
+      this.jdbcType = jdbcType;
+      this.setter = setter;
+      this.typeHandler = typeHandler;
+    }
+
+    boolean matches(String property, Class<?> type, JdbcType jdbcType) {
+      return this.type == type && this.jdbcType == jdbcType && this.property.equals(property);
+    }
+
+    /**
+     * Reads the key column of the current row and sets it to the property of the target.
+     *
+     * @param rs
+     *          the generated keys positioned on a row
+     * @param columnPosition
+     *          the position of the key column (1 based)
+     * @param target
+     *          the target object
+     *
+     * @throws SQLException
+     *           if the key cannot be read
+     */
+    public void assign(ResultSet rs, int columnPosition, Object target) throws SQLException {
+      if (typeHandler == null) {
+        return;
+      }
+      Object value = typeHandler.getResult(rs, columnPosition);
+      try {
+        setter.set(target, value);
+      } catch (Throwable t) {
+        Throwable unwrapped = ExceptionUtil.unwrapThrowable(t);
+        throw new ReflectionException("Could not set property '" + property + "' of '" + target.getClass()
+            + "' with value '" + value + "' Cause: " + unwrapped.toString(), unwrapped);
+      }
+    }
+  }
+
+}
@@ -17,7 +17,9 @@ package org.apache.ibatis.mapping;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.apache.ibatis.cache.Cache;
 import org.apache.ibatis.executor.keygen.Jdbc3KeyGenerator;
@@ -25,6 +27,10 @@ import org.apache.ibatis.executor.keygen.KeyGenerator;
 import org.apache.ibatis.executor.keygen.NoKeyGenerator;
 import org.apache.ibatis.logging.Log;
 import org.apache.ibatis.logging.LogFactory;
+import org.apache.ibatis.parsing.GenericTokenParser;
+import org.apache.ibatis.parsing.TokenHandler;
+import org.apache.ibatis.parsing.TokenTemplate;
+import org.apache.ibatis.reflection.MetaObject;
 import org.apache.ibatis.scripting.LanguageDriver;
 import org.apache.ibatis.session.Configuration;
 
@@ -57,6 +63,14 @@ public final class MappedStatement {
   private LanguageDriver lang;
   private String[] resultSets;
   private boolean dirtySelect;
+  private boolean useReplica = true;
+  private String[] cacheTags;
+  private TokenTemplate[] cacheTagTemplates;
+  private boolean cacheTagsParameterized;
+  private volatile ParameterBindingPlan parameterBindingPlan;
+  private volatile List<ParameterMapping> lastParameterMappings;
+  private boolean changingParameterMappings;
+  private volatile KeyAssignmentPlan keyAssignmentPlan;
 
   MappedStatement() {
     // constructor disabled
@@ -182,6 +196,57 @@ public final class MappedStatement {
       return this;
     }
 
+    /**
+     * Sets whether this select may be routed to a replica by a
+     * {@link org.apache.ibatis.datasource.routing.RoutingDataSource}.
+     *
+     * @param useReplica
+     *          If this select may read from a replica, set {@code true}
+     *
+     * @return this builder
+     *
+     * @since 3.5.14
+     */
+    public Builder useReplica(boolean useReplica) {
+      mappedStatement.useReplica = useReplica;
+      return this;
+    }
+
+    /**
+     * Sets the tags of the 2nd level cache entries this statement reads or invalidates.
+     * <p>
+     * A tag may contain <code>#{property}</code> placeholders that are replaced with the values of the parameter object
+     * (e.g. <code>user:#{id}</code>).
+     *
+     * @param cacheTags
+     *          the cache tags separated with comma(',')
+     *
+     * @return this builder
+     *
+     * @since 3.5.14
+     */
+    public Builder cacheTags(String cacheTags) {
+      String[] tags = delimitedStringToArray(cacheTags);
+      if (tags == null) {
+        mappedStatement.cacheTags = null;
+        mappedStatement.cacheTagTemplates = null;
+        mappedStatement.cacheTagsParameterized = false;
+        return this;
+      }
+      GenericTokenParser parser = new GenericTokenParser("#{", "}", null);
+      TokenTemplate[] templates = new TokenTemplate[tags.length];
+      boolean parameterized = false;
+      for (int i = 0; i < tags.length; i++) {
+        tags[i] = tags[i].trim();
+        templates[i] = parser.compile(tags[i]);
+        parameterized |= templates[i].hasTokens();
+      }
+      mappedStatement.cacheTags = tags;
+      mappedStatement.cacheTagsParameterized = parameterized;
+      mappedStatement.cacheTagTemplates = templates;
+      return this;
+    }
+
     /**
      * Resul sets.
      *
@@ -304,6 +369,66 @@ public final class MappedStatement {
     return dirtySelect;
   }
 
+  /**
+   * Returns whether this select may be routed to a replica by a
+   * {@link org.apache.ibatis.datasource.routing.RoutingDataSource}. Statements other than plain selects always use the
+   * primary.
+   * <p>
+   * Default is {@code true}.
+   *
+   * @return If this select may read from a replica, return {@code true}
+   *
+   * @since 3.5.14
+   */
+  public boolean isUseReplica() {
+    return useReplica;
+  }
+
+  /**
+   * Returns the tags declared on this statement, before the placeholders are resolved.
+   *
+   * @return the cache tags, or {@code null} if none is declared
+   *
+   * @since 3.5.14
+   */
+  public String[] getCacheTags() {
+    return cacheTags;
+  }
+
+  /**
+   * Resolves the cache tags of this statement for a parameter object.
+   * <p>
+   * The results of a select are cached under its tags, and a statement that flushes the cache only evicts the entries
+   * that share one of its tags. Statements without tags keep the whole cache behavior.
+   *
+   * @param parameterObject
+   *          the parameter object
+   *
+   * @return the resolved cache tags, or {@code null} if none is declared
+   *
+   * @since 3.5.14
+   */
+  public Set<String> getCacheTags(Object parameterObject) {
+    if (cacheTagTemplates == null) {
+      return null;
+    }
+    TokenHandler handler = null;
+    if (cacheTagsParameterized) {
+      if (parameterObject == null
+          || configuration.getTypeHandlerRegistry().hasTypeHandler(parameterObject.getClass())) {
+        handler = expression -> String.valueOf(parameterObject);
+      } else {
+        MetaObject metaObject = configuration.newMetaObject(parameterObject);
+        handler = expression -> String.valueOf(metaObject.getValue(expression.trim()));
+      }
+    }
+    Set<String> tags = new LinkedHashSet<>();
+    for (TokenTemplate template : cacheTagTemplates) {
+      tags.add(template.apply(handler));
+    }
+    return tags;
+  }
+
   /**
    * Gets the resul sets.
    *
@@ -337,6 +462,59 @@ public final class MappedStatement {
     return boundSql;
   }
 
+  /**
+   * Returns the binding plan of the parameter mappings.
+   * <p>
+   * A plan is created once the same parameter mappings are seen twice in a row, which is the case for static SQL.
+   * Parameter mappings that are built on each execution (e.g. by dynamic SQL) do not get a plan, and once they are seen
+   * changing, they are no longer tracked.
+   *
+   * @param parameterMappings
+   *          the parameter mappings of a bound sql
+   *
+   * @return the binding plan, or {@code null} if there is none for the parameter mappings
+   *
+   * @since 3.5.14
+   */
+  public ParameterBindingPlan getParameterBindingPlan(List<ParameterMapping> parameterMappings) {
+    ParameterBindingPlan plan = parameterBindingPlan;
+    if (plan != null && plan.getParameterMappings() == parameterMappings) {
+      return plan;
+    }
+    if (changingParameterMappings) {
+      return null;
+    }
+    List<ParameterMapping> last = lastParameterMappings;
+    if (last == parameterMappings) {
+      plan = new ParameterBindingPlan(configuration, parameterMappings);
+      parameterBindingPlan = plan;
+      return plan;
+    }
+    if (last != null) {
+      // built on each execution, avoid a volatile write per execution from now on
+      changingParameterMappings = true;
+      return null;
+    }
+    lastParameterMappings = parameterMappings;
+    return null;
+  }
+
+  /**
+   * Returns the plan assigning the generated keys to the key properties of the parameter objects.
+   *
+   * @return the key assignment plan
+   *
+   * @since 3.5.14
+   */
+  public KeyAssignmentPlan getKeyAssignmentPlan() {
+    KeyAssignmentPlan plan = keyAssignmentPlan;
+    if (plan == null) {
+      plan = new KeyAssignmentPlan(configuration, keyProperties == null ? 0 : keyProperties.length);
+      keyAssignmentPlan = plan;
+    }
+    return plan;
+  }
+
   private static String[] delimitedStringToArray(String in) {
     if (in == null || in.trim().length() == 0) {
       return null;
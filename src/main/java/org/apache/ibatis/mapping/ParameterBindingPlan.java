@@ -0,0 +1,144 @@
+/*
+ *    Copyright 2009-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.mapping;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.apache.ibatis.reflection.ExceptionUtil;
+import org.apache.ibatis.reflection.ReflectionException;
+import org.apache.ibatis.reflection.Reflector;
+import org.apache.ibatis.reflection.invoker.Invoker;
+import org.apache.ibatis.reflection.property.PropertyTokenizer;
+import org.apache.ibatis.reflection.wrapper.DefaultObjectWrapperFactory;
+import org.apache.ibatis.reflection.wrapper.ObjectWrapper;
+import org.apache.ibatis.session.Configuration;
+
+/**
+ * The parameter mappings of a statement with the way to read each value from the parameter object resolved once.
+ * <p>
+ * A plan is only reused while the statement produces the same {@link ParameterMapping} list, i.e. for static SQL. The
+ * readers are resolved for the last seen parameter type: simple properties of beans are read through their getter
+ * {@link Invoker} and simple keys of maps with {@link Map#get(Object)}, other properties through a
+ * {@link org.apache.ibatis.reflection.MetaObject}.
+ *
+ * @since 3.5.14
+ */
+public final class ParameterBindingPlan {
+
+  private final Configuration configuration;
+  private final List<ParameterMapping> parameterMappings;
+  private final String[] rootNames;
+  private volatile Readers readers;
+
+  ParameterBindingPlan(Configuration configuration, List<ParameterMapping> parameterMappings) {
+    this.configuration = configuration;
+    this.parameterMappings = parameterMappings;
+    this.rootNames = new String[parameterMappings.size()];
+    for (int i = 0; i < rootNames.length; i++) {
+      String property = parameterMappings.get(i).getProperty();
+      rootNames[i] = property == null ? null : new PropertyTokenizer(property).getName();
+    }
+  }
+
+  public List<ParameterMapping> getParameterMappings() {
+    return parameterMappings;
+  }
+
+  /**
+   * Same as {@link BoundSql#hasAdditionalParameter(String)} for the property of the parameter mapping at the index.
+   *
+   * @param index
+   *          the index of the parameter mapping
+   * @param boundSql
+   *          the bound sql
+   *
+   * @return {@code true} if the property is an additional parameter
+   */
+  public boolean hasAdditionalParameter(int index, BoundSql boundSql) {
+    Map<String, Object> additionalParameters = boundSql.getAdditionalParameters();
+    return !additionalParameters.isEmpty() && additionalParameters.containsKey(rootNames[index]);
+  }
+
+  /**
+   * Reads the property of the parameter mapping at the index from the parameter object.
+   *
+   * @param index
+   *          the index of the parameter mapping
+   * @param parameterObject
+   *          a non-null parameter object
+   *
+   * @return the property value
+   */
+  public Object getValue(int index, Object parameterObject) {
+    Readers current = readers;
+    if (current == null || current.type != parameterObject.getClass()) {
+      current = new Readers(parameterObject.getClass(), resolveReaders(parameterObject));
+      readers = current;
+    }
+    return current.readers[index].apply(parameterObject);
+  }
+
+  @SuppressWarnings("unchecked")
+  private Function<Object, Object>[] resolveReaders(Object parameterObject) {
+    Function<Object, Object>[] result = new Function[parameterMappings.size()];
+    boolean plain = configuration.getObjectWrapperFactory().getClass() == DefaultObjectWrapperFactory.class
+        && !(parameterObject instanceof ObjectWrapper) && !(parameterObject instanceof Collection);
+    boolean isMap = parameterObject instanceof Map;
+    Reflector reflector = plain && !isMap ? configuration.getReflectorFactory().findForClass(parameterObject.getClass())
+        : null;
+    for (int i = 0; i < result.length; i++) {
+      final String property = parameterMappings.get(i).getProperty();
+      boolean simple = property != null && property.equals(rootNames[i]);
+      if (plain && simple && isMap) {
+        result[i] = param -> ((Map<?, ?>) param).get(property);
+      } else if (reflector != null && simple && reflector.hasGetter(property)) {
+        final Invoker getter = reflector.getGetInvoker(property);
+        result[i] = param -> getBeanProperty(getter, property, param);
+      } else {
+        result[i] = param -> configuration.newMetaObject(param).getValue(property);
+      }
+    }
+    return result;
+  }
+
+  private static Object getBeanProperty(Invoker getter, String property, Object object) {
+    try {
+      return getter.get(object);
+    } catch (Throwable t) {
+      Throwable unwrapped = ExceptionUtil.unwrapThrowable(t);
+      if (unwrapped instanceof RuntimeException) {
+        throw (RuntimeException) unwrapped;
+      }
+      throw new ReflectionException(
+          "Could not get property '" + property + "' from " + object.getClass() + ".  Cause: " + unwrapped.toString(),
+          unwrapped);
+    }
+  }
+
+  private static final class Readers {
+    private final Class<?> type;
+    private final Function<Object, Object>[] readers;
+
+    Readers(Class<?> type, Function<Object, Object>[] readers) {
+      this.type = type;
+      this.readers = readers;
+    }
+  }
+
+}
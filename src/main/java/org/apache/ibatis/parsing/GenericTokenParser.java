@@ -15,6 +15,9 @@
  */
 package org.apache.ibatis.parsing;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * @author Clinton Begin
  */
@@ -39,6 +42,40 @@ public class GenericTokenParser {
     if (start == -1) {
       return text;
     }
+    return parse(text, start, null);
+  }
+
+  /**
+   * Splits the text into literal chunks and token contents once, so that it can be rendered repeatedly without scanning
+   * it again. The handler of this parser is not used.
+   *
+   * @param text
+   *          the text to compile
+   *
+   * @return a reusable template
+   *
+   * @since 3.5.14
+   */
+  public TokenTemplate compile(String text) {
+    List<String> segments = new ArrayList<>();
+    if (text == null || text.isEmpty()) {
+      segments.add("");
+    } else {
+      int start = text.indexOf(openToken);
+      if (start == -1) {
+        segments.add(text);
+      } else {
+        segments.add(parse(text, start, segments));
+      }
+    }
+    return new TokenTemplate(segments);
+  }
+
+  /**
+   * When segments is null, found tokens are replaced with the handler result. Otherwise, the literal text before each
+   * token and the token content are added to segments, and only the trailing literal text is returned.
+   */
+  private String parse(String text, int start, List<String> segments) {
     char[] src = text.toCharArray();
     int offset = 0;
     final StringBuilder builder = new StringBuilder();
@@ -73,7 +110,13 @@ public class GenericTokenParser {
           builder.append(src, start, src.length - start);
           offset = src.length;
         } else {
-          builder.append(handler.handleToken(expression.toString()));
+          if (segments == null) {
+            builder.append(handler.handleToken(expression.toString()));
+          } else {
+            segments.add(builder.toString());
+            segments.add(expression.toString());
+            builder.setLength(0);
+          }
           offset = end + closeToken.length();
         }
       }
@@ -0,0 +1,72 @@
+/*
+ *    Copyright 2009-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.parsing;
+
+import java.util.List;
+
+/**
+ * A text that has been split by {@link GenericTokenParser#compile(String)} into literal chunks and token slots.
+ *
+ * @since 3.5.14
+ */
+public final class TokenTemplate {
+
+  private final String[] literals;
+  private final String[] tokens;
+  private final int literalLength;
+
+  TokenTemplate(List<String> segments) {
+    // segments alternate literal, token, literal, ... and always end with a literal
+    int tokenCount = segments.size() / 2;
+    this.literals = new String[tokenCount + 1];
+    this.tokens = new String[tokenCount];
+    int length = 0;
+    for (int i = 0; i < segments.size(); i++) {
+      String segment = segments.get(i);
+      if (i % 2 == 0) {
+        literals[i / 2] = segment;
+        length += segment.length();
+      } else {
+        tokens[i / 2] = segment;
+      }
+    }
+    this.literalLength = length;
+  }
+
+  public boolean hasTokens() {
+    return tokens.length > 0;
+  }
+
+  /**
+   * Renders the template, replacing each token with the value returned by the handler.
+   *
+   * @param handler
+   *          the token handler
+   *
+   * @return the rendered text
+   */
+  public String apply(TokenHandler handler) {
+    if (tokens.length == 0) {
+      return literals[0];
+    }
+    StringBuilder builder = new StringBuilder(literalLength + tokens.length * 16);
+    for (int i = 0; i < tokens.length; i++) {
+      builder.append(literals[i]).append(handler.handleToken(tokens[i]));
+    }
+    return builder.append(literals[tokens.length]).toString();
+  }
+
+}
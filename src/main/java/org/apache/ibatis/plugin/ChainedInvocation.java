@@ -0,0 +1,58 @@
+/*
+ *    Copyright 2009-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.plugin;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import org.apache.ibatis.reflection.ExceptionUtil;
+
+/**
+ * An {@link Invocation} whose {@link #proceed()} calls the next interceptor of the chain, or the target method when all
+ * interceptors have been called.
+ */
+final class ChainedInvocation extends Invocation {
+
+  private final Interceptor[] interceptors;
+  private final int index;
+  private final Call call;
+
+  ChainedInvocation(Object target, Method method, Object[] args, Interceptor[] interceptors, int index, Call call) {
+    super(target, method, args);
+    this.interceptors = interceptors;
+    this.index = index;
+    this.call = call;
+  }
+
+  @Override
+  public Object proceed() throws InvocationTargetException {
+    try {
+      if (index == 0) {
+        return call.call(getArgs());
+      }
+      return interceptors[index - 1]
+          .intercept(new ChainedInvocation(getTarget(), getMethod(), getArgs(), interceptors, index - 1, call));
+    } catch (Throwable t) {
+      throw new InvocationTargetException(ExceptionUtil.unwrapThrowable(t));
+    }
+  }
+
+  @FunctionalInterface
+  interface Call {
+    Object call(Object[] args) throws Throwable;
+  }
+
+}
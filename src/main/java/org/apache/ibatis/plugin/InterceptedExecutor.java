@@ -0,0 +1,268 @@
+/*
+ *    Copyright 2009-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.plugin;
+
+import java.lang.reflect.Method;
+import java.sql.SQLException;
+import java.util.List;
+
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.apache.ibatis.transaction.Transaction;
+
+/**
+ * An {@link Executor} applying chained interceptors.
+ */
+final class InterceptedExecutor extends InterceptedTarget<Executor> implements Executor {
+
+  private static final int UPDATE = 0;
+  private static final int QUERY_WITH_CACHE_KEY = 1;
+  private static final int QUERY = 2;
+  private static final int QUERY_CURSOR = 3;
+  private static final int FLUSH_STATEMENTS = 4;
+  private static final int COMMIT = 5;
+  private static final int ROLLBACK = 6;
+  private static final int CREATE_CACHE_KEY = 7;
+  private static final int IS_CACHED = 8;
+  private static final int CLEAR_LOCAL_CACHE = 9;
+  private static final int DEFER_LOAD = 10;
+  private static final int GET_TRANSACTION = 11;
+  private static final int CLOSE = 12;
+  private static final int IS_CLOSED = 13;
+  private static final int SET_EXECUTOR_WRAPPER = 14;
+  private static final int PIPELINE = 15;
+  private static final int IS_PRIMARY_ONLY = 16;
+  private static final int SET_PRIMARY_ONLY = 17;
+
+  static final Method[] METHODS = { method(Executor.class, "update", MappedStatement.class, Object.class),
+      method(Executor.class, "query", MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class,
+          CacheKey.class, BoundSql.class),
+      method(Executor.class, "query", MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class),
+      method(Executor.class, "queryCursor", MappedStatement.class, Object.class, RowBounds.class),
+      method(Executor.class, "flushStatements"), method(Executor.class, "commit", boolean.class),
+      method(Executor.class, "rollback", boolean.class),
+      method(Executor.class, "createCacheKey", MappedStatement.class, Object.class, RowBounds.class, BoundSql.class),
+      method(Executor.class, "isCached", MappedStatement.class, CacheKey.class),
+      method(Executor.class, "clearLocalCache"),
+      method(Executor.class, "deferLoad", MappedStatement.class, MetaObject.class, String.class, CacheKey.class,
+          Class.class),
+      method(Executor.class, "getTransaction"), method(Executor.class, "close", boolean.class),
+      method(Executor.class, "isClosed"), method(Executor.class, "setExecutorWrapper", Executor.class),
+      method(Executor.class, "pipeline", List.class, List.class), method(Executor.class, "isPrimaryOnly"),
+      method(Executor.class, "setPrimaryOnly", boolean.class) };
+
+  InterceptedExecutor(Executor target, Interceptor[][] interceptors) {
+    super(target, METHODS, interceptors);
+  }
+
+  @Override
+  public int update(MappedStatement ms, Object parameter) throws SQLException {
+    if (!isIntercepted(UPDATE)) {
+      return target.update(ms, parameter);
+    }
+    return (Integer) invoke(UPDATE, new Object[] { ms, parameter },
+        args -> target.update((MappedStatement) args[0], args[1]));
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public <E> List<E> query(MappedStatement ms, Object parameter, RowBounds rowBounds, ResultHandler resultHandler,
+      CacheKey cacheKey, BoundSql boundSql) throws SQLException {
+    if (!isIntercepted(QUERY_WITH_CACHE_KEY)) {
+      return target.query(ms, parameter, rowBounds, resultHandler, cacheKey, boundSql);
+    }
+    return (List<E>) invoke(QUERY_WITH_CACHE_KEY,
+        new Object[] { ms, parameter, rowBounds, resultHandler, cacheKey, boundSql },
+        args -> target.query((MappedStatement) args[0], args[1], (RowBounds) args[2], (ResultHandler) args[3],
+            (CacheKey) args[4], (BoundSql) args[5]));
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public <E> List<E> query(MappedStatement ms, Object parameter, RowBounds rowBounds, ResultHandler resultHandler)
+      throws SQLException {
+    if (!isIntercepted(QUERY)) {
+      return target.query(ms, parameter, rowBounds, resultHandler);
+    }
+    return (List<E>) invoke(QUERY, new Object[] { ms, parameter, rowBounds, resultHandler },
+        args -> target.query((MappedStatement) args[0], args[1], (RowBounds) args[2], (ResultHandler) args[3]));
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public <E> Cursor<E> queryCursor(MappedStatement ms, Object parameter, RowBounds rowBounds) throws SQLException {
+    if (!isIntercepted(QUERY_CURSOR)) {
+      return target.queryCursor(ms, parameter, rowBounds);
+    }
+    return (Cursor<E>) invoke(QUERY_CURSOR, new Object[] { ms, parameter, rowBounds },
+        args -> target.queryCursor((MappedStatement) args[0], args[1], (RowBounds) args[2]));
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public List<Object> pipeline(List<MappedStatement> statements, List<Object> parameters) throws SQLException {
+    if (!isIntercepted(PIPELINE)) {
+      return target.pipeline(statements, parameters);
+    }
+    return (List<Object>) invoke(PIPELINE, new Object[] { statements, parameters },
+        args -> target.pipeline((List<MappedStatement>) args[0], (List<Object>) args[1]));
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public List<BatchResult> flushStatements() throws SQLException {
+    if (!isIntercepted(FLUSH_STATEMENTS)) {
+      return target.flushStatements();
+    }
+    return (List<BatchResult>) invoke(FLUSH_STATEMENTS, new Object[0], args -> target.flushStatements());
+  }
+
+  @Override
+  public void commit(boolean required) throws SQLException {
+    if (!isIntercepted(COMMIT)) {
+      target.commit(required);
+      return;
+    }
+    invoke(COMMIT, new Object[] { required }, args -> {
+      target.commit((Boolean) args[0]);
+      return null;
+    });
+  }
+
+  @Override
+  public void rollback(boolean required) throws SQLException {
+    if (!isIntercepted(ROLLBACK)) {
+      target.rollback(required);
+      return;
+    }
+    invoke(ROLLBACK, new Object[] { required }, args -> {
+      target.rollback((Boolean) args[0]);
+      return null;
+    });
+  }
+
+  @Override
+  public CacheKey createCacheKey(MappedStatement ms, Object parameterObject, RowBounds rowBounds, BoundSql boundSql) {
+    if (!isIntercepted(CREATE_CACHE_KEY)) {
+      return target.createCacheKey(ms, parameterObject, rowBounds, boundSql);
+    }
+    return (CacheKey) invoke(CREATE_CACHE_KEY, new Object[] { ms, parameterObject, rowBounds, boundSql },
+        args -> target.createCacheKey((MappedStatement) args[0], args[1], (RowBounds) args[2], (BoundSql) args[3]));
+  }
+
+  @Override
+  public boolean isCached(MappedStatement ms, CacheKey key) {
+    if (!isIntercepted(IS_CACHED)) {
+      return target.isCached(ms, key);
+    }
+    return (Boolean) invoke(IS_CACHED, new Object[] { ms, key },
+        args -> target.isCached((MappedStatement) args[0], (CacheKey) args[1]));
+  }
+
+  @Override
+  public void clearLocalCache() {
+    if (!isIntercepted(CLEAR_LOCAL_CACHE)) {
+      target.clearLocalCache();
+      return;
+    }
+    invoke(CLEAR_LOCAL_CACHE, new Object[0], args -> {
+      target.clearLocalCache();
+      return null;
+    });
+  }
+
+  @Override
+  public void deferLoad(MappedStatement ms, MetaObject resultObject, String property, CacheKey key,
+      Class<?> targetType) {
+    if (!isIntercepted(DEFER_LOAD)) {
+      target.deferLoad(ms, resultObject, property, key, targetType);
+      return;
+    }
+    invoke(DEFER_LOAD, new Object[] { ms, resultObject, property, key, targetType }, args -> {
+      target.deferLoad((MappedStatement) args[0], (MetaObject) args[1], (String) args[2], (CacheKey) args[3],
+          (Class<?>) args[4]);
+      return null;
+    });
+  }
+
+  @Override
+  public Transaction getTransaction() {
+    if (!isIntercepted(GET_TRANSACTION)) {
+      return target.getTransaction();
+    }
+    return (Transaction) invoke(GET_TRANSACTION, new Object[0], args -> target.getTransaction());
+  }
+
+  @Override
+  public void close(boolean forceRollback) {
+    if (!isIntercepted(CLOSE)) {
+      target.close(forceRollback);
+      return;
+    }
+    invoke(CLOSE, new Object[] { forceRollback }, args -> {
+      target.close((Boolean) args[0]);
+      return null;
+    });
+  }
+
+  @Override
+  public boolean isClosed() {
+    if (!isIntercepted(IS_CLOSED)) {
+      return target.isClosed();
+    }
+    return (Boolean) invoke(IS_CLOSED, new Object[0], args -> target.isClosed());
+  }
+
+  @Override
+  public void setExecutorWrapper(Executor executor) {
+    if (!isIntercepted(SET_EXECUTOR_WRAPPER)) {
+      target.setExecutorWrapper(executor);
+      return;
+    }
+    invoke(SET_EXECUTOR_WRAPPER, new Object[] { executor }, args -> {
+      target.setExecutorWrapper((Executor) args[0]);
+      return null;
+    });
+  }
+
+  @Override
+  public boolean isPrimaryOnly() {
+    if (!isIntercepted(IS_PRIMARY_ONLY)) {
+      return target.isPrimaryOnly();
+    }
+    return (Boolean) invoke(IS_PRIMARY_ONLY, new Object[0], args -> target.isPrimaryOnly());
+  }
+
+  @Override
+  public void setPrimaryOnly(boolean primaryOnly) {
+    if (!isIntercepted(SET_PRIMARY_ONLY)) {
+      target.setPrimaryOnly(primaryOnly);
+      return;
+    }
+    invoke(SET_PRIMARY_ONLY, new Object[] { primaryOnly }, args -> {
+      target.setPrimaryOnly((Boolean) args[0]);
+      return null;
+    });
+  }
+
+}
@@ -0,0 +1,71 @@
+/*
+ *    Copyright 2009-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.plugin;
+
+import java.lang.reflect.Method;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+import org.apache.ibatis.executor.parameter.ParameterHandler;
+
+/**
+ * A {@link ParameterHandler} applying chained interceptors.
+ */
+final class InterceptedParameterHandler extends InterceptedTarget<ParameterHandler> implements ParameterHandler {
+
+  private static final int GET_PARAMETER_OBJECT = 0;
+  private static final int SET_PARAMETERS = 1;
+  private static final int GET_PARAMETER_VALUES = 2;
+
+  static final Method[] METHODS = { method(ParameterHandler.class, "getParameterObject"),
+      method(ParameterHandler.class, "setParameters", PreparedStatement.class),
+      method(ParameterHandler.class, "getParameterValues") };
+
+  InterceptedParameterHandler(ParameterHandler target, Interceptor[][] interceptors) {
+    super(target, METHODS, interceptors);
+  }
+
+  @Override
+  public Object getParameterObject() {
+    if (!isIntercepted(GET_PARAMETER_OBJECT)) {
+      return target.getParameterObject();
+    }
+    return invoke(GET_PARAMETER_OBJECT, new Object[0], args -> target.getParameterObject());
+  }
+
+  @Override
+  public void setParameters(PreparedStatement ps) throws SQLException {
+    if (!isIntercepted(SET_PARAMETERS)) {
+      target.setParameters(ps);
+      return;
+    }
+    invoke(SET_PARAMETERS, new Object[] { ps }, args -> {
+      target.setParameters((PreparedStatement) args[0]);
+      return null;
+    });
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public List<Object> getParameterValues() {
+    if (!isIntercepted(GET_PARAMETER_VALUES)) {
+      return target.getParameterValues();
+    }
+    return (List<Object>) invoke(GET_PARAMETER_VALUES, new Object[0], args -> target.getParameterValues());
+  }
+
+}
@@ -0,0 +1,76 @@
+/*
+ *    Copyright 2009-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.plugin;
+
+import java.lang.reflect.Method;
+import java.sql.CallableStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.executor.resultset.ResultSetHandler;
+
+/**
+ * A {@link ResultSetHandler} applying chained interceptors.
+ */
+final class InterceptedResultSetHandler extends InterceptedTarget<ResultSetHandler> implements ResultSetHandler {
+
+  private static final int HANDLE_RESULT_SETS = 0;
+  private static final int HANDLE_CURSOR_RESULT_SETS = 1;
+  private static final int HANDLE_OUTPUT_PARAMETERS = 2;
+
+  static final Method[] METHODS = { method(ResultSetHandler.class, "handleResultSets", Statement.class),
+      method(ResultSetHandler.class, "handleCursorResultSets", Statement.class),
+      method(ResultSetHandler.class, "handleOutputParameters", CallableStatement.class) };
+
+  InterceptedResultSetHandler(ResultSetHandler target, Interceptor[][] interceptors) {
+    super(target, METHODS, interceptors);
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public <E> List<E> handleResultSets(Statement stmt) throws SQLException {
+    if (!isIntercepted(HANDLE_RESULT_SETS)) {
+      return target.handleResultSets(stmt);
+    }
+    return (List<E>) invoke(HANDLE_RESULT_SETS, new Object[] { stmt },
+        args -> target.handleResultSets((Statement) args[0]));
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public <E> Cursor<E> handleCursorResultSets(Statement stmt) throws SQLException {
+    if (!isIntercepted(HANDLE_CURSOR_RESULT_SETS)) {
+      return target.handleCursorResultSets(stmt);
+    }
+    return (Cursor<E>) invoke(HANDLE_CURSOR_RESULT_SETS, new Object[] { stmt },
+        args -> target.handleCursorResultSets((Statement) args[0]));
+  }
+
+  @Override
+  public void handleOutputParameters(CallableStatement cs) throws SQLException {
+    if (!isIntercepted(HANDLE_OUTPUT_PARAMETERS)) {
+      target.handleOutputParameters(cs);
+      return;
+    }
+    invoke(HANDLE_OUTPUT_PARAMETERS, new Object[] { cs }, args -> {
+      target.handleOutputParameters((CallableStatement) args[0]);
+      return null;
+    });
+  }
+
+}
@@ -0,0 +1,155 @@
+/*
+ *    Copyright 2009-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.plugin;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.executor.parameter.ParameterHandler;
+import org.apache.ibatis.executor.resultset.ResultSetHandler;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.reflection.ExceptionUtil;
+
+/**
+ * Base class of the delegating objects that apply interceptors declared with {@code @Intercepts(proxy = false)}.
+ * <p>
+ * The interceptors of each method are resolved once per {@link InterceptorChain}; calls to methods that are not
+ * intercepted go straight to the target.
+ *
+ * @param <T>
+ *          the intercepted type
+ */
+abstract class InterceptedTarget<T> {
+
+  protected final T target;
+  private final Method[] methods;
+  private final Interceptor[][] interceptors;
+
+  protected InterceptedTarget(T target, Method[] methods, Interceptor[][] interceptors) {
+    this.target = target;
+    this.methods = methods;
+    this.interceptors = interceptors;
+  }
+
+  protected final boolean isIntercepted(int index) {
+    return interceptors[index] != null;
+  }
+
+  protected final Object invoke(int index, Object[] args, ChainedInvocation.Call call) {
+    Interceptor[] chain = interceptors[index];
+    Method method = methods[index];
+    try {
+      return chain[chain.length - 1]
+          .intercept(new ChainedInvocation(target, method, args, chain, chain.length - 1, call));
+    } catch (Throwable t) {
+      throw rethrow(method, ExceptionUtil.unwrapThrowable(t));
+    }
+  }
+
+  private static RuntimeException rethrow(Method method, Throwable t) {
+    if (t instanceof RuntimeException || t instanceof Error) {
+      throw InterceptedTarget.<RuntimeException>sneakyThrow(t);
+    }
+    for (Class<?> exceptionType : method.getExceptionTypes()) {
+      if (exceptionType.isInstance(t)) {
+        throw InterceptedTarget.<RuntimeException>sneakyThrow(t);
+      }
+    }
+    return new UndeclaredThrowableException(t);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <E extends Throwable> E sneakyThrow(Throwable t) throws E {
+    throw (E) t;
+  }
+
+  protected static Method method(Class<?> type, String name, Class<?>... parameterTypes) {
+    try {
+      return type.getMethod(name, parameterTypes);
+    } catch (NoSuchMethodException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
+  static Class<?> typeOf(Object target) {
+    if (target instanceof Executor) {
+      return Executor.class;
+    }
+    if (target instanceof StatementHandler) {
+      return StatementHandler.class;
+    }
+    if (target instanceof ParameterHandler) {
+      return ParameterHandler.class;
+    }
+    if (target instanceof ResultSetHandler) {
+      return ResultSetHandler.class;
+    }
+    return null;
+  }
+
+  static Interceptor[][] plan(Class<?> type, List<Interceptor> group) {
+    Method[] methods = methodsOf(type);
+    Interceptor[][] plan = new Interceptor[methods.length][];
+    boolean intercepted = false;
+    for (int i = 0; i < methods.length; i++) {
+      List<Interceptor> matches = new ArrayList<>();
+      for (Interceptor interceptor : group) {
+        Map<Class<?>, Set<Method>> signatureMap = Plugin.getSignatureMap(interceptor);
+        Set<Method> signatures = signatureMap.get(methods[i].getDeclaringClass());
+        if (signatures != null && signatures.contains(methods[i])) {
+          matches.add(interceptor);
+        }
+      }
+      if (!matches.isEmpty()) {
+        plan[i] = matches.toArray(new Interceptor[0]);
+        intercepted = true;
+      }
+    }
+    return intercepted ? plan : null;
+  }
+
+  static Object wrap(Class<?> type, Object target, Interceptor[][] plan) {
+    if (type == Executor.class) {
+      return new InterceptedExecutor((Executor) target, plan);
+    }
+    if (type == StatementHandler.class) {
+      return new InterceptedStatementHandler((StatementHandler) target, plan);
+    }
+    if (type == ParameterHandler.class) {
+      return new InterceptedParameterHandler((ParameterHandler) target, plan);
+    }
+    return new InterceptedResultSetHandler((ResultSetHandler) target, plan);
+  }
+
+  private static Method[] methodsOf(Class<?> type) {
+    if (type == Executor.class) {
+      return InterceptedExecutor.METHODS;
+    }
+    if (type == StatementHandler.class) {
+      return InterceptedStatementHandler.METHODS;
+    }
+    if (type == ParameterHandler.class) {
+      return InterceptedParameterHandler.METHODS;
+    }
+    return InterceptedResultSetHandler.METHODS;
+  }
+
+}
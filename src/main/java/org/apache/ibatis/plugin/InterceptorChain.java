@@ -18,6 +18,10 @@ package org.apache.ibatis.plugin;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.ibatis.util.MapUtil;
 
 /**
  * @author Clinton Begin
@@ -25,16 +29,59 @@ import java.util.List;
 public class InterceptorChain {
 
   private final List<Interceptor> interceptors = new ArrayList<>();
+  private final Map<Class<?>, List<Object>> plans = new ConcurrentHashMap<>();
 
   public Object pluginAll(Object target) {
-    for (Interceptor interceptor : interceptors) {
-      target = interceptor.plugin(target);
+    Class<?> type = InterceptedTarget.typeOf(target);
+    if (type == null) {
+      for (Interceptor interceptor : interceptors) {
+        target = interceptor.plugin(target);
+      }
+      return target;
+    }
+    for (Object step : MapUtil.computeIfAbsent(plans, type, this::plan)) {
+      if (step instanceof Interceptor) {
+        target = ((Interceptor) step).plugin(target);
+      } else {
+        target = InterceptedTarget.wrap(type, target, (Interceptor[][]) step);
+      }
     }
     return target;
   }
 
   public void addInterceptor(Interceptor interceptor) {
     interceptors.add(interceptor);
+    plans.clear();
+  }
+
+  /**
+   * Interceptors applied through proxies are kept as is, consecutive interceptors declared with
+   * {@code @Intercepts(proxy = false)} are merged into a single step to preserve the order in which they are applied.
+   */
+  private List<Object> plan(Class<?> type) {
+    List<Object> steps = new ArrayList<>();
+    List<Interceptor> group = new ArrayList<>();
+    for (Interceptor interceptor : interceptors) {
+      Intercepts intercepts = interceptor.getClass().getAnnotation(Intercepts.class);
+      if (intercepts != null && !intercepts.proxy()) {
+        group.add(interceptor);
+        continue;
+      }
+      addChainedStep(steps, type, group);
+      steps.add(interceptor);
+    }
+    addChainedStep(steps, type, group);
+    return steps;
+  }
+
+  private static void addChainedStep(List<Object> steps, Class<?> type, List<Interceptor> group) {
+    if (!group.isEmpty()) {
+      Interceptor[][] plan = InterceptedTarget.plan(type, group);
+      if (plan != null) {
+        steps.add(plan);
+      }
+      group.clear();
+    }
   }
 
   public List<Interceptor> getInterceptors() {
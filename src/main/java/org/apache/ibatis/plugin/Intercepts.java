@@ -56,4 +56,19 @@ public @interface Intercepts {
    * @return method signatures
    */
   Signature[] value();
+
+  /**
+   * Returns whether the interceptor is applied by wrapping the target with a JDK proxy.
+   * <p>
+   * When {@code false}, interceptors intercepting {@code Executor}, {@code StatementHandler}, {@code ParameterHandler}
+   * or {@code ResultSetHandler} are chained inside a single delegating object and {@link Invocation#proceed()} calls
+   * the next interceptor or the target method directly, without {@code Method.invoke}. In that mode
+   * {@link Interceptor#plugin(Object)} is not called and {@link Invocation#getTarget()} always returns the original
+   * target rather than the proxy created by the previous interceptor.
+   *
+   * @return {@code true} if the interceptor is applied through a proxy
+   *
+   * @since 3.5.14
+   */
+  boolean proxy() default true;
 }
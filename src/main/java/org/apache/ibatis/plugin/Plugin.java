@@ -22,6 +22,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.ibatis.reflection.ExceptionUtil;
 import org.apache.ibatis.util.MapUtil;
@@ -31,6 +32,19 @@ import org.apache.ibatis.util.MapUtil;
  */
 public class Plugin implements InvocationHandler {
 
+  private static final ClassValue<Map<Class<?>, Set<Method>>> signatureMaps = new ClassValue<Map<Class<?>, Set<Method>>>() {
+    @Override
+    protected Map<Class<?>, Set<Method>> computeValue(Class<?> type) {
+      return resolveSignatureMap(type);
+    }
+  };
+  private static final ClassValue<Map<Class<?>, Class<?>[]>> interfacesCache = new ClassValue<Map<Class<?>, Class<?>[]>>() {
+    @Override
+    protected Map<Class<?>, Class<?>[]> computeValue(Class<?> type) {
+      return new ConcurrentHashMap<>();
+    }
+  };
+
   private final Object target;
   private final Interceptor interceptor;
   private final Map<Class<?>, Set<Method>> signatureMap;
@@ -44,7 +58,8 @@ public class Plugin implements InvocationHandler {
   public static Object wrap(Object target, Interceptor interceptor) {
     Map<Class<?>, Set<Method>> signatureMap = getSignatureMap(interceptor);
     Class<?> type = target.getClass();
-    Class<?>[] interfaces = getAllInterfaces(type, signatureMap);
+    Class<?>[] interfaces = MapUtil.computeIfAbsent(interfacesCache.get(interceptor.getClass()), type,
+        k -> getAllInterfaces(k, signatureMap));
     if (interfaces.length > 0) {
       return Proxy.newProxyInstance(type.getClassLoader(), interfaces, new Plugin(target, interceptor, signatureMap));
     }
@@ -64,12 +79,15 @@ public class Plugin implements InvocationHandler {
     }
   }
 
-  private static Map<Class<?>, Set<Method>> getSignatureMap(Interceptor interceptor) {
-    Intercepts interceptsAnnotation = interceptor.getClass().getAnnotation(Intercepts.class);
+  static Map<Class<?>, Set<Method>> getSignatureMap(Interceptor interceptor) {
+    return signatureMaps.get(interceptor.getClass());
+  }
+
+  private static Map<Class<?>, Set<Method>> resolveSignatureMap(Class<?> interceptorType) {
+    Intercepts interceptsAnnotation = interceptorType.getAnnotation(Intercepts.class);
     // issue #251
     if (interceptsAnnotation == null) {
-      throw new PluginException(
-          "No @Intercepts annotation was found in interceptor " + interceptor.getClass().getName());
+      throw new PluginException("No @Intercepts annotation was found in interceptor " + interceptorType.getName());
     }
     Signature[] sigs = interceptsAnnotation.value();
     Map<Class<?>, Set<Method>> signatureMap = new HashMap<>();
@@ -15,14 +15,18 @@
  */
 package org.apache.ibatis.reflection;
 
+import java.util.Collection;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
 import org.apache.ibatis.util.MapUtil;
 
 public class DefaultReflectorFactory implements ReflectorFactory {
+  private static final int MAX_PROPERTY_PATHS = 4096;
+
   private boolean classCacheEnabled = true;
   private final ConcurrentMap<Class<?>, Reflector> reflectorMap = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, PropertyPath> propertyPathMap = new ConcurrentHashMap<>();
 
   public DefaultReflectorFactory() {
   }
@@ -46,4 +50,37 @@ public class DefaultReflectorFactory implements ReflectorFactory {
     return new Reflector(type);
   }
 
+  PropertyPath findPropertyPath(String expression) {
+    if (!classCacheEnabled) {
+      return new PropertyPath(expression);
+    }
+    PropertyPath path = propertyPathMap.get(expression);
+    if (path == null) {
+      path = new PropertyPath(expression);
+      if (propertyPathMap.size() < MAX_PROPERTY_PATHS) {
+        PropertyPath existing = propertyPathMap.putIfAbsent(expression, path);
+        if (existing != null) {
+          path = existing;
+        }
+      }
+    }
+    return path;
+  }
+
+  /**
+   * Introspects the types in parallel, as building a reflector of one type does not depend on the others.
+   */
+  @Override
+  public void warmUp(Collection<Class<?>> types) {
+    if (classCacheEnabled) {
+      types.parallelStream().filter(type -> !reflectorMap.containsKey(type)).forEach(type -> {
+        try {
+          findForClass(type);
+        } catch (RuntimeException e) {
+          // Ignored, reported on use
+        }
+      });
+    }
+  }
+
 }
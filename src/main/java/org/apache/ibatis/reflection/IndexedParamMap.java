@@ -0,0 +1,213 @@
+/*
+ *    Copyright 2009-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import org.apache.ibatis.binding.MapperMethod.ParamMap;
+
+/**
+ * A {@link ParamMap} that reads the mapper method arguments by index.
+ * <p>
+ * The names (including the generic <code>param1</code>, <code>param2</code>, ... aliases) are resolved once per method
+ * by {@link ParamNameResolver} and shared by all invocations, so the map does not hold any entry until it is modified,
+ * iterated or serialized. At that point the entries are copied into the map and it behaves as a plain {@link ParamMap}.
+ */
+final class IndexedParamMap extends ParamMap<Object> {
+
+  private static final long serialVersionUID = 1L;
+
+  private transient Map<String, Integer> indexes;
+  private transient Object[] args;
+
+  IndexedParamMap(Map<String, Integer> indexes, Object[] args) {
+    this.indexes = indexes;
+    this.args = args;
+  }
+
+  private void materialize() {
+    if (indexes != null) {
+      for (Map.Entry<String, Integer> entry : indexes.entrySet()) {
+        super.put(entry.getKey(), args[entry.getValue()]);
+      }
+      indexes = null;
+      args = null;
+    }
+  }
+
+  @Override
+  public Object get(Object key) {
+    if (indexes != null) {
+      Integer index = indexes.get(key);
+      if (index != null) {
+        return args[index];
+      }
+      materialize();
+    }
+    return super.get(key);
+  }
+
+  @Override
+  public Object getOrDefault(Object key, Object defaultValue) {
+    if (indexes != null) {
+      Integer index = indexes.get(key);
+      return index == null ? defaultValue : args[index];
+    }
+    return super.getOrDefault(key, defaultValue);
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return indexes != null ? indexes.containsKey(key) : super.containsKey(key);
+  }
+
+  @Override
+  public int size() {
+    return indexes != null ? indexes.size() : super.size();
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return indexes != null ? indexes.isEmpty() : super.isEmpty();
+  }
+
+  @Override
+  public boolean containsValue(Object value) {
+    materialize();
+    return super.containsValue(value);
+  }
+
+  @Override
+  public Object put(String key, Object value) {
+    materialize();
+    return super.put(key, value);
+  }
+
+  @Override
+  public void putAll(Map<? extends String, ?> m) {
+    materialize();
+    super.putAll(m);
+  }
+
+  @Override
+  public Object remove(Object key) {
+    materialize();
+    return super.remove(key);
+  }
+
+  @Override
+  public boolean remove(Object key, Object value) {
+    materialize();
+    return super.remove(key, value);
+  }
+
+  @Override
+  public void clear() {
+    indexes = null;
+    args = null;
+    super.clear();
+  }
+
+  @Override
+  public Set<String> keySet() {
+    materialize();
+    return super.keySet();
+  }
+
+  @Override
+  public Collection<Object> values() {
+    materialize();
+    return super.values();
+  }
+
+  @Override
+  public Set<Map.Entry<String, Object>> entrySet() {
+    materialize();
+    return super.entrySet();
+  }
+
+  @Override
+  public Object putIfAbsent(String key, Object value) {
+    materialize();
+    return super.putIfAbsent(key, value);
+  }
+
+  @Override
+  public boolean replace(String key, Object oldValue, Object newValue) {
+    materialize();
+    return super.replace(key, oldValue, newValue);
+  }
+
+  @Override
+  public Object replace(String key, Object value) {
+    materialize();
+    return super.replace(key, value);
+  }
+
+  @Override
+  public Object computeIfAbsent(String key, Function<? super String, ?> mappingFunction) {
+    materialize();
+    return super.computeIfAbsent(key, mappingFunction);
+  }
+
+  @Override
+  public Object computeIfPresent(String key, BiFunction<? super String, ? super Object, ?> remappingFunction) {
+    materialize();
+    return super.computeIfPresent(key, remappingFunction);
+  }
+
+  @Override
+  public Object compute(String key, BiFunction<? super String, ? super Object, ?> remappingFunction) {
+    materialize();
+    return super.compute(key, remappingFunction);
+  }
+
+  @Override
+  public Object merge(String key, Object value, BiFunction<? super Object, ? super Object, ?> remappingFunction) {
+    materialize();
+    return super.merge(key, value, remappingFunction);
+  }
+
+  @Override
+  public void forEach(BiConsumer<? super String, ? super Object> action) {
+    materialize();
+    super.forEach(action);
+  }
+
+  @Override
+  public void replaceAll(BiFunction<? super String, ? super Object, ?> function) {
+    materialize();
+    super.replaceAll(function);
+  }
+
+  @Override
+  public Object clone() {
+    materialize();
+    return super.clone();
+  }
+
+  private Object writeReplace() {
+    ParamMap<Object> map = new ParamMap<>();
+    map.putAll(this);
+    return map;
+  }
+
+}
@@ -20,7 +20,6 @@ import java.util.List;
 import java.util.Map;
 
 import org.apache.ibatis.reflection.factory.ObjectFactory;
-import org.apache.ibatis.reflection.property.PropertyTokenizer;
 import org.apache.ibatis.reflection.wrapper.BeanWrapper;
 import org.apache.ibatis.reflection.wrapper.CollectionWrapper;
 import org.apache.ibatis.reflection.wrapper.MapWrapper;
@@ -111,33 +110,11 @@ public class MetaObject {
   }
 
   public Object getValue(String name) {
-    PropertyTokenizer prop = new PropertyTokenizer(name);
-    if (!prop.hasNext()) {
-      return objectWrapper.get(prop);
-    }
-    MetaObject metaValue = metaObjectForProperty(prop.getIndexedName());
-    if (metaValue == SystemMetaObject.NULL_META_OBJECT) {
-      return null;
-    } else {
-      return metaValue.getValue(prop.getChildren());
-    }
+    return PropertyPath.compile(name, reflectorFactory).getValue(this);
   }
 
   public void setValue(String name, Object value) {
-    PropertyTokenizer prop = new PropertyTokenizer(name);
-    if (prop.hasNext()) {
-      MetaObject metaValue = metaObjectForProperty(prop.getIndexedName());
-      if (metaValue == SystemMetaObject.NULL_META_OBJECT) {
-        if (value == null) {
-          // don't instantiate child path if value is null
-          return;
-        }
-        metaValue = objectWrapper.instantiatePropertyValue(name, prop, objectFactory);
-      }
-      metaValue.setValue(prop.getChildren(), value);
-    } else {
-      objectWrapper.set(prop, value);
-    }
+    PropertyPath.compile(name, reflectorFactory).setValue(this, value);
   }
 
   public MetaObject metaObjectForProperty(String name) {
@@ -145,6 +122,19 @@ public class MetaObject {
     return MetaObject.forObject(value, objectFactory, objectWrapperFactory, reflectorFactory);
   }
 
+  MetaObject forValue(Object value) {
+    return MetaObject.forObject(value, objectFactory, objectWrapperFactory, reflectorFactory);
+  }
+
+  boolean isBeanWrapped() {
+    return objectWrapper.getClass() == BeanWrapper.class;
+  }
+
+  boolean wrapsAsBean(Object object) {
+    return !(object instanceof ObjectWrapper) && !objectWrapperFactory.hasWrapperFor(object) && !(object instanceof Map)
+        && !(object instanceof Collection);
+  }
+
   public ObjectWrapper getObjectWrapper() {
     return objectWrapper;
   }
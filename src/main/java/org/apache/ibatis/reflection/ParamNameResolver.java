@@ -19,6 +19,7 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -54,6 +55,19 @@ public class ParamNameResolver {
 
   private boolean hasParamAnnotation;
 
+  /**
+   * The argument index of each parameter name, including the generic names (param1, param2, ...). Used when the method
+   * has multiple parameters or a {@link Param} annotation.
+   */
+  private final Map<String, Integer> paramIndexes;
+
+  /**
+   * The argument index of each name of a single {@link List}, {@link Collection} or array parameter.
+   */
+  private final Map<String, Integer> listIndexes;
+  private final Map<String, Integer> collectionIndexes;
+  private final Map<String, Integer> arrayIndexes;
+
   public ParamNameResolver(Configuration config, Method method) {
     this.useActualParamName = config.isUseActualParamName();
     final Class<?>[] paramTypes = method.getParameterTypes();
@@ -88,6 +102,42 @@ public class ParamNameResolver {
       map.put(paramIndex, name);
     }
     names = Collections.unmodifiableSortedMap(map);
+
+    Map<String, Integer> indexes = new HashMap<>();
+    int i = 0;
+    for (Map.Entry<Integer, String> entry : names.entrySet()) {
+      indexes.put(entry.getValue(), entry.getKey());
+      // add generic param names (param1, param2, ...)
+      final String genericParamName = GENERIC_NAME_PREFIX + (i + 1);
+      // ensure not to overwrite parameter named with @Param
+      if (!names.containsValue(genericParamName)) {
+        indexes.put(genericParamName, entry.getKey());
+      }
+      i++;
+    }
+    paramIndexes = indexes;
+    if (names.size() == 1) {
+      int index = names.firstKey();
+      String actualParamName = useActualParamName ? names.get(index) : null;
+      collectionIndexes = singleParamIndexes(index, actualParamName, "collection");
+      listIndexes = singleParamIndexes(index, actualParamName, "collection", "list");
+      arrayIndexes = singleParamIndexes(index, actualParamName, "array");
+    } else {
+      collectionIndexes = null;
+      listIndexes = null;
+      arrayIndexes = null;
+    }
+  }
+
+  private static Map<String, Integer> singleParamIndexes(int index, String actualParamName, String... names) {
+    Map<String, Integer> indexes = new HashMap<>();
+    for (String name : names) {
+      indexes.put(name, index);
+    }
+    if (actualParamName != null) {
+      indexes.put(actualParamName, index);
+    }
+    return indexes;
   }
 
   private String getActualParamName(Method method, int paramIndex) {
@@ -125,22 +175,18 @@ public class ParamNameResolver {
     }
     if (!hasParamAnnotation && paramCount == 1) {
       Object value = args[names.firstKey()];
-      return wrapToMapIfCollection(value, useActualParamName ? names.get(names.firstKey()) : null);
-    } else {
-      final Map<String, Object> param = new ParamMap<>();
-      int i = 0;
-      for (Map.Entry<Integer, String> entry : names.entrySet()) {
-        param.put(entry.getValue(), args[entry.getKey()]);
-        // add generic param names (param1, param2, ...)
-        final String genericParamName = GENERIC_NAME_PREFIX + (i + 1);
-        // ensure not to overwrite parameter named with @Param
-        if (!names.containsValue(genericParamName)) {
-          param.put(genericParamName, args[entry.getKey()]);
-        }
-        i++;
+      if (value instanceof List) {
+        return new IndexedParamMap(listIndexes, args);
+      }
+      if (value instanceof Collection) {
+        return new IndexedParamMap(collectionIndexes, args);
+      }
+      if (value != null && value.getClass().isArray()) {
+        return new IndexedParamMap(arrayIndexes, args);
       }
-      return param;
+      return value;
     }
+    return new IndexedParamMap(paramIndexes, args);
   }
 
   /**
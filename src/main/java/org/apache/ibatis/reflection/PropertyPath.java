@@ -0,0 +1,227 @@
+/*
+ *    Copyright 2009-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.ibatis.reflection.invoker.Invoker;
+import org.apache.ibatis.reflection.property.PropertyTokenizer;
+
+/**
+ * A property expression (e.g. <code>author.address.city</code>) tokenized once and cached by the
+ * {@link DefaultReflectorFactory} it is used with, so it does not outlive the classes it refers to.
+ * <p>
+ * Plain bean segments are read and written through the {@link Reflector} invokers directly, remembering the invokers of
+ * the classes seen at each segment, so no intermediate {@link MetaObject} is created for them. As the same expression
+ * (e.g. <code>id</code>) is commonly used with many classes, each segment keeps up to {@value #MAX_BINDINGS} of them.
+ * Indexed segments, maps, collections and custom wrappers are handled by the
+ * {@link org.apache.ibatis.reflection.wrapper.ObjectWrapper} as before.
+ */
+final class PropertyPath {
+
+  private static final int MAX_BINDINGS = 8;
+  private static final Binding[] NO_BINDINGS = {};
+
+  private final Segment[] segments;
+
+  PropertyPath(String expression) {
+    List<Segment> list = new ArrayList<>();
+    PropertyTokenizer prop = new PropertyTokenizer(expression);
+    String remaining = expression;
+    while (true) {
+      list.add(new Segment(remaining, prop));
+      if (!prop.hasNext()) {
+        break;
+      }
+      remaining = prop.getChildren();
+      prop = prop.next();
+    }
+    this.segments = list.toArray(new Segment[0]);
+  }
+
+  static PropertyPath compile(String expression, ReflectorFactory reflectorFactory) {
+    if (reflectorFactory instanceof DefaultReflectorFactory) {
+      return ((DefaultReflectorFactory) reflectorFactory).findPropertyPath(expression);
+    }
+    return new PropertyPath(expression);
+  }
+
+  Object getValue(MetaObject root) {
+    MetaObject metaObject = root;
+    Object bean = root.isBeanWrapped() ? root.getOriginalObject() : null;
+    for (int i = 0; i < segments.length; i++) {
+      Segment segment = segments[i];
+      boolean last = i == segments.length - 1;
+      Object value;
+      if (bean != null && segment.prop.getIndex() == null) {
+        value = segment.get(bean, root.getReflectorFactory());
+      } else {
+        if (metaObject == null) {
+          metaObject = root.forValue(bean);
+        }
+        value = metaObject.getObjectWrapper().get(last ? segment.prop : segment.indexedProp);
+      }
+      if (last || value == null) {
+        return value;
+      }
+      if (root.wrapsAsBean(value)) {
+        bean = value;
+        metaObject = null;
+      } else {
+        bean = null;
+        metaObject = root.forValue(value);
+      }
+    }
+    return null;
+  }
+
+  void setValue(MetaObject root, Object value) {
+    MetaObject metaObject = root;
+    Object bean = root.isBeanWrapped() ? root.getOriginalObject() : null;
+    for (int i = 0; i < segments.length; i++) {
+      Segment segment = segments[i];
+      boolean plain = bean != null && segment.prop.getIndex() == null;
+      if (i == segments.length - 1) {
+        if (plain) {
+          segment.set(bean, value, root.getReflectorFactory());
+        } else {
+          if (metaObject == null) {
+            metaObject = root.forValue(bean);
+          }
+          metaObject.getObjectWrapper().set(segment.prop, value);
+        }
+        return;
+      }
+      Object child;
+      if (plain) {
+        child = segment.get(bean, root.getReflectorFactory());
+      } else {
+        if (metaObject == null) {
+          metaObject = root.forValue(bean);
+        }
+        child = metaObject.getObjectWrapper().get(segment.indexedProp);
+      }
+      if (child == null) {
+        if (value == null) {
+          // don't instantiate child path if value is null
+          return;
+        }
+        if (metaObject == null) {
+          metaObject = root.forValue(bean);
+        }
+        metaObject = metaObject.getObjectWrapper().instantiatePropertyValue(segment.expression, segment.prop,
+            root.getObjectFactory());
+        bean = metaObject.isBeanWrapped() ? metaObject.getOriginalObject() : null;
+      } else if (root.wrapsAsBean(child)) {
+        bean = child;
+        metaObject = null;
+      } else {
+        bean = null;
+        metaObject = root.forValue(child);
+      }
+    }
+  }
+
+  private static final class Segment {
+    private final String expression;
+    private final PropertyTokenizer prop;
+    private final PropertyTokenizer indexedProp;
+    private volatile Binding[] getters = NO_BINDINGS;
+    private volatile Binding[] setters = NO_BINDINGS;
+
+    Segment(String expression, PropertyTokenizer prop) {
+      this.expression = expression;
+      this.prop = prop;
+      this.indexedProp = prop.hasNext() ? new PropertyTokenizer(prop.getIndexedName()) : prop;
+    }
+
+    Object get(Object bean, ReflectorFactory reflectorFactory) {
+      Invoker invoker = getGetInvoker(bean.getClass(), reflectorFactory);
+      try {
+        try {
+          return invoker.get(bean);
+        } catch (Throwable t) {
+          throw ExceptionUtil.unwrapThrowable(t);
+        }
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Throwable t) {
+        throw new ReflectionException(
+            "Could not get property '" + prop.getName() + "' from " + bean.getClass() + ".  Cause: " + t.toString(), t);
+      }
+    }
+
+    void set(Object bean, Object value, ReflectorFactory reflectorFactory) {
+      try {
+        Invoker invoker = getSetInvoker(bean.getClass(), reflectorFactory);
+        try {
+          invoker.set(bean, value);
+        } catch (Throwable t) {
+          throw ExceptionUtil.unwrapThrowable(t);
+        }
+      } catch (Throwable t) {
+        throw new ReflectionException("Could not set property '" + prop.getName() + "' of '" + bean.getClass()
+            + "' with value '" + value + "' Cause: " + t.toString(), t);
+      }
+    }
+
+    private Invoker getGetInvoker(Class<?> type, ReflectorFactory reflectorFactory) {
+      Binding[] bindings = getters;
+      for (Binding binding : bindings) {
+        if (binding.type == type) {
+          return binding.invoker;
+        }
+      }
+      Invoker invoker = reflectorFactory.findForClass(type).getGetInvoker(prop.getName());
+      if (bindings.length < MAX_BINDINGS) {
+        getters = append(bindings, new Binding(type, invoker));
+      }
+      return invoker;
+    }
+
+    private Invoker getSetInvoker(Class<?> type, ReflectorFactory reflectorFactory) {
+      Binding[] bindings = setters;
+      for (Binding binding : bindings) {
+        if (binding.type == type) {
+          return binding.invoker;
+        }
+      }
+      Invoker invoker = reflectorFactory.findForClass(type).getSetInvoker(prop.getName());
+      if (bindings.length < MAX_BINDINGS) {
+        setters = append(bindings, new Binding(type, invoker));
+      }
+      return invoker;
+    }
+
+    private static Binding[] append(Binding[] bindings, Binding binding) {
+      Binding[] result = Arrays.copyOf(bindings, bindings.length + 1);
+      result[bindings.length] = binding;
+      return result;
+    }
+  }
+
+  private static final class Binding {
+    private final Class<?> type;
+    private final Invoker invoker;
+
+    Binding(Class<?> type, Invoker invoker) {
+      this.type = type;
+      this.invoker = invoker;
+    }
+  }
+}
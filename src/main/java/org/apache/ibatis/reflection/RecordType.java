@@ -0,0 +1,205 @@
+/*
+ *    Copyright 2009-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The components and the canonical constructor of a record class, detected once per class.
+ * <p>
+ * Records are detected reflectively, so this class can be used on any Java version and {@link #forClass(Class)} simply
+ * returns {@code null} before Java 16.
+ *
+ * @since 3.5.14
+ */
+public final class RecordType {
+
+  private static final Method isRecordMethod;
+  private static final Method getRecordComponentsMethod;
+  private static final Method getComponentNameMethod;
+  private static final Method getComponentTypeMethod;
+
+  private static final ClassValue<RecordType> recordTypes = new ClassValue<RecordType>() {
+    @Override
+    protected RecordType computeValue(Class<?> type) {
+      return isRecord(type) ? new RecordType(type) : null;
+    }
+  };
+
+  static {
+    Method isRecord = null;
+    Method getRecordComponents = null;
+    Method getName = null;
+    Method getType = null;
+    try {
+      isRecord = Class.class.getMethod("isRecord");
+      getRecordComponents = Class.class.getMethod("getRecordComponents");
+      Class<?> recordComponentClass = getRecordComponents.getReturnType().getComponentType();
+      getName = recordComponentClass.getMethod("getName");
+      getType = recordComponentClass.getMethod("getType");
+    } catch (NoSuchMethodException e) {
+      // Records are not supported on this JVM
+      isRecord = null;
+    }
+    isRecordMethod = isRecord;
+    getRecordComponentsMethod = getRecordComponents;
+    getComponentNameMethod = getName;
+    getComponentTypeMethod = getType;
+  }
+
+  private final Class<?> type;
+  private final List<String> componentNames;
+  private final List<Class<?>> componentTypes;
+  private final Constructor<?> canonicalConstructor;
+  private final MethodHandle constructorHandle;
+
+  private RecordType(Class<?> type) {
+    this.type = type;
+    try {
+      Object[] components = (Object[]) getRecordComponentsMethod.invoke(type);
+      String[] names = new String[components.length];
+      Class<?>[] types = new Class<?>[components.length];
+      for (int i = 0; i < components.length; i++) {
+        names[i] = (String) getComponentNameMethod.invoke(components[i]);
+        types[i] = (Class<?>) getComponentTypeMethod.invoke(components[i]);
+      }
+      this.componentNames = Collections.unmodifiableList(Arrays.asList(names));
+      this.componentTypes = Collections.unmodifiableList(Arrays.asList(types));
+      this.canonicalConstructor = type.getDeclaredConstructor(types);
+    } catch (ReflectiveOperationException e) {
+      throw new ReflectionException("Error detecting the components of record " + type + ".  Cause: " + e, e);
+    }
+    this.constructorHandle = createConstructorHandle(canonicalConstructor);
+  }
+
+  private static MethodHandle createConstructorHandle(Constructor<?> constructor) {
+    try {
+      if (Reflector.canControlMemberAccessible()) {
+        constructor.setAccessible(true);
+      }
+      MethodHandle handle = MethodHandles.lookup().unreflectConstructor(constructor);
+      return handle.asType(handle.type().generic()).asSpreader(Object[].class, constructor.getParameterCount())
+          .asType(MethodType.methodType(Object.class, Object[].class));
+    } catch (Exception e) {
+      // Ignored, fall back to reflection
+      return null;
+    }
+  }
+
+  /**
+   * Returns whether the type is a record class.
+   *
+   * @param type
+   *          the type
+   *
+   * @return {@code true} if the type is a record class
+   */
+  public static boolean isRecord(Class<?> type) {
+    if (isRecordMethod == null) {
+      return false;
+    }
+    try {
+      return (Boolean) isRecordMethod.invoke(type);
+    } catch (ReflectiveOperationException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Returns the record type of the class.
+   *
+   * @param type
+   *          the type
+   *
+   * @return the record type, or {@code null} if the type is not a record class
+   */
+  public static RecordType forClass(Class<?> type) {
+    return recordTypes.get(type);
+  }
+
+  public Class<?> getType() {
+    return type;
+  }
+
+  public List<String> getComponentNames() {
+    return componentNames;
+  }
+
+  public List<Class<?>> getComponentTypes() {
+    return componentTypes;
+  }
+
+  public Constructor<?> getCanonicalConstructor() {
+    return canonicalConstructor;
+  }
+
+  /**
+   * Returns whether the argument types are the component types, i.e. they select the canonical constructor.
+   *
+   * @param argTypes
+   *          the constructor argument types
+   *
+   * @return {@code true} if the argument types select the canonical constructor
+   */
+  public boolean isCanonical(List<Class<?>> argTypes) {
+    return componentTypes.equals(argTypes);
+  }
+
+  /**
+   * Creates an instance through the canonical constructor.
+   *
+   * @param args
+   *          the component values
+   *
+   * @return the new instance
+   *
+   * @throws ReflectiveOperationException
+   *           the same exceptions as {@link Constructor#newInstance(Object...)}
+   */
+  public Object newInstance(Object... args) throws ReflectiveOperationException {
+    if (constructorHandle == null || !matchesExactly(args)) {
+      // let reflection apply the widening conversions or report the mismatch
+      return canonicalConstructor.newInstance(args);
+    }
+    try {
+      return constructorHandle.invokeExact(args);
+    } catch (Throwable t) {
+      throw new InvocationTargetException(t);
+    }
+  }
+
+  private boolean matchesExactly(Object[] args) {
+    if (args.length != componentTypes.size()) {
+      return false;
+    }
+    for (int i = 0; i < args.length; i++) {
+      Class<?> componentType = componentTypes.get(i);
+      if (args[i] == null ? componentType.isPrimitive()
+          : !MethodType.methodType(componentType).wrap().returnType().isInstance(args[i])) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
@@ -15,6 +15,8 @@
  */
 package org.apache.ibatis.reflection;
 
+import java.util.Collection;
+
 public interface ReflectorFactory {
 
   boolean isClassCacheEnabled();
@@ -22,4 +24,26 @@ public interface ReflectorFactory {
   void setClassCacheEnabled(boolean classCacheEnabled);
 
   Reflector findForClass(Class<?> type);
+
+  /**
+   * Creates and caches the reflectors of the specified types ahead of their first use.
+   * <p>
+   * A type that cannot be introspected is skipped, the error is reported when the type is actually used.
+   *
+   * @param types
+   *          the types to introspect
+   *
+   * @since 3.5.14
+   */
+  default void warmUp(Collection<Class<?>> types) {
+    if (isClassCacheEnabled()) {
+      types.forEach(type -> {
+        try {
+          findForClass(type);
+        } catch (RuntimeException e) {
+          // Ignored, reported on use
+        }
+      });
+    }
+  }
 }
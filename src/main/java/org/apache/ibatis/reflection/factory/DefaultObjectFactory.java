@@ -30,6 +30,7 @@ import java.util.SortedSet;
 import java.util.TreeSet;
 import java.util.stream.Collectors;
 
+import org.apache.ibatis.reflection.RecordType;
 import org.apache.ibatis.reflection.ReflectionException;
 import org.apache.ibatis.reflection.Reflector;
 
@@ -68,6 +69,10 @@ public class DefaultObjectFactory implements ObjectFactory, Serializable {
           throw e;
         }
       }
+      RecordType recordType = RecordType.forClass(type);
+      if (recordType != null && recordType.isCanonical(constructorArgTypes)) {
+        return type.cast(recordType.newInstance(constructorArgs.toArray()));
+      }
       constructor = type.getDeclaredConstructor(constructorArgTypes.toArray(new Class[0]));
       try {
         return constructor.newInstance(constructorArgs.toArray(new Object[0]));
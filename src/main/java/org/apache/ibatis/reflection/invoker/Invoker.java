@@ -23,5 +23,33 @@ import java.lang.reflect.InvocationTargetException;
 public interface Invoker {
   Object invoke(Object target, Object[] args) throws IllegalAccessException, InvocationTargetException;
 
+  /**
+   * Reads a property value from the target. Implementations may override this to avoid allocating an argument array.
+   *
+   * @param target
+   *          the target object
+   *
+   * @return the property value
+   *
+   * @since 3.5.14
+   */
+  default Object get(Object target) throws IllegalAccessException, InvocationTargetException {
+    return invoke(target, null);
+  }
+
+  /**
+   * Writes a property value to the target. Implementations may override this to avoid allocating an argument array.
+   *
+   * @param target
+   *          the target object
+   * @param value
+   *          the property value
+   *
+   * @since 3.5.14
+   */
+  default void set(Object target, Object value) throws IllegalAccessException, InvocationTargetException {
+    invoke(target, new Object[] { value });
+  }
+
   Class<?> getType();
 }
@@ -0,0 +1,209 @@
+/*
+ *    Copyright 2009-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection.invoker;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodHandles.Lookup;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * A {@link MethodInvoker} that calls a getter or setter through a class generated by {@link LambdaMetafactory} instead
+ * of {@link Method#invoke(Object, Object...)}.
+ * <p>
+ * Use {@link #of(Method)} to create an instance. The accessor class is generated on the first invocation, so that
+ * properties that are never accessed cost nothing. It falls back to reflection when the accessor cannot be generated
+ * (e.g. the declaring class is not open to MyBatis). The arguments are checked like
+ * {@link Method#invoke(Object, Object...)} does, so an invalid target or value results in the same exceptions.
+ *
+ * @since 3.5.14
+ */
+public class LambdaMethodInvoker extends MethodInvoker {
+
+  private static final int ALLOWED_MODES = MethodHandles.Lookup.PRIVATE | MethodHandles.Lookup.PROTECTED
+      | MethodHandles.Lookup.PACKAGE | MethodHandles.Lookup.PUBLIC;
+  private static final Method privateLookupInMethod;
+  private static final Constructor<Lookup> lookupConstructor;
+  private static final Object UNAVAILABLE = new Object();
+
+  private final Method method;
+  private final boolean setter;
+  private final Class<?> argumentType;
+  private final Class<?> wrappedArgumentType;
+  private volatile Object accessor;
+
+  static {
+    Method privateLookupIn;
+    try {
+      privateLookupIn = MethodHandles.class.getMethod("privateLookupIn", Class.class, MethodHandles.Lookup.class);
+    } catch (NoSuchMethodException e) {
+      privateLookupIn = null;
+    }
+    privateLookupInMethod = privateLookupIn;
+
+    Constructor<Lookup> lookup = null;
+    if (privateLookupInMethod == null) {
+      // JDK 1.8
+      try {
+        lookup = MethodHandles.Lookup.class.getDeclaredConstructor(Class.class, int.class);
+        lookup.setAccessible(true);
+      } catch (Exception e) {
+        lookup = null;
+      }
+    }
+    lookupConstructor = lookup;
+  }
+
+  private LambdaMethodInvoker(Method method) {
+    super(method);
+    this.method = method;
+    this.setter = method.getParameterTypes().length == 1;
+    this.argumentType = setter ? method.getParameterTypes()[0] : null;
+    this.wrappedArgumentType = setter ? wrap(argumentType) : null;
+  }
+
+  /**
+   * Creates an invoker for the specified getter (no parameter) or setter (one parameter).
+   *
+   * @param method
+   *          the getter or setter method
+   *
+   * @return a {@link LambdaMethodInvoker}, or a reflective {@link MethodInvoker} if the method is neither
+   */
+  public static MethodInvoker of(Method method) {
+    if (method.getParameterTypes().length <= 1 && !Modifier.isStatic(method.getModifiers())) {
+      return new LambdaMethodInvoker(method);
+    }
+    return new MethodInvoker(method);
+  }
+
+  private Object getAccessor() {
+    Object current = accessor;
+    if (current == null) {
+      current = UNAVAILABLE;
+      try {
+        Lookup lookup = privateLookup(method.getDeclaringClass());
+        if (lookup != null) {
+          MethodHandle handle = lookup.unreflect(method);
+          current = setter ? createSetter(lookup, handle, method) : createGetter(lookup, handle, method);
+        }
+      } catch (Throwable e) {
+        // Ignored, fall back to reflection
+      }
+      accessor = current;
+    }
+    return current;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Function<Object, Object> createGetter(Lookup lookup, MethodHandle handle, Method method)
+      throws Throwable {
+    CallSite site = LambdaMetafactory.metafactory(lookup, "apply", MethodType.methodType(Function.class),
+        MethodType.methodType(Object.class, Object.class), handle,
+        MethodType.methodType(wrap(method.getReturnType()), method.getDeclaringClass()));
+    return (Function<Object, Object>) site.getTarget().invokeExact();
+  }
+
+  @SuppressWarnings("unchecked")
+  private static BiConsumer<Object, Object> createSetter(Lookup lookup, MethodHandle handle, Method method)
+      throws Throwable {
+    CallSite site = LambdaMetafactory.metafactory(lookup, "accept", MethodType.methodType(BiConsumer.class),
+        MethodType.methodType(void.class, Object.class, Object.class), handle,
+        MethodType.methodType(void.class, method.getDeclaringClass(), wrap(method.getParameterTypes()[0])));
+    return (BiConsumer<Object, Object>) site.getTarget().invokeExact();
+  }
+
+  private static Class<?> wrap(Class<?> type) {
+    return MethodType.methodType(type).wrap().returnType();
+  }
+
+  private static Lookup privateLookup(Class<?> declaringClass) throws ReflectiveOperationException {
+    if (privateLookupInMethod != null) {
+      return (Lookup) privateLookupInMethod.invoke(null, declaringClass, MethodHandles.lookup());
+    }
+    if (lookupConstructor != null) {
+      return lookupConstructor.newInstance(declaringClass, ALLOWED_MODES);
+    }
+    return null;
+  }
+
+  @Override
+  public Object invoke(Object target, Object[] args) throws IllegalAccessException, InvocationTargetException {
+    int argumentCount = args == null ? 0 : args.length;
+    if (argumentCount != (setter ? 1 : 0)) {
+      // let reflection report the wrong number of arguments
+      return super.invoke(target, args);
+    }
+    if (setter) {
+      set(target, args[0]);
+      return null;
+    }
+    return get(target);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public Object get(Object target) throws IllegalAccessException, InvocationTargetException {
+    Object current = getAccessor();
+    if (setter || current == UNAVAILABLE) {
+      return super.invoke(target, null);
+    }
+    checkTarget(target);
+    try {
+      return ((Function<Object, Object>) current).apply(target);
+    } catch (Throwable t) {
+      throw new InvocationTargetException(t);
+    }
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public void set(Object target, Object value) throws IllegalAccessException, InvocationTargetException {
+    Object current = getAccessor();
+    if (!setter || current == UNAVAILABLE) {
+      super.invoke(target, new Object[] { value });
+      return;
+    }
+    checkTarget(target);
+    if (value == null ? argumentType.isPrimitive() : !wrappedArgumentType.isInstance(value)) {
+      // let reflection apply the widening conversions or report the mismatch
+      super.invoke(target, new Object[] { value });
+      return;
+    }
+    try {
+      ((BiConsumer<Object, Object>) current).accept(target, value);
+    } catch (Throwable t) {
+      throw new InvocationTargetException(t);
+    }
+  }
+
+  private void checkTarget(Object target) {
+    if (target == null) {
+      throw new NullPointerException("Cannot invoke " + method + " on a null target");
+    }
+    if (!method.getDeclaringClass().isInstance(target)) {
+      throw new IllegalArgumentException("object is not an instance of declaring class");
+    }
+  }
+}
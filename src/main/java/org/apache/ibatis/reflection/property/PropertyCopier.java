@@ -15,7 +15,14 @@
  */
 package org.apache.ibatis.reflection.property;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodHandles.Lookup;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.apache.ibatis.reflection.Reflector;
 
@@ -24,31 +31,73 @@ import org.apache.ibatis.reflection.Reflector;
  */
 public final class PropertyCopier {
 
+  private static final MethodType COPIER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+  private static final ClassValue<MethodHandle[]> fieldCopiers = new ClassValue<MethodHandle[]>() {
+    @Override
+    protected MethodHandle[] computeValue(Class<?> type) {
+      return resolveFieldCopiers(type);
+    }
+  };
+
   private PropertyCopier() {
     // Prevent Instantiation of Static Class
   }
 
   public static void copyBeanProperties(Class<?> type, Object sourceBean, Object destinationBean) {
+    for (MethodHandle fieldCopier : fieldCopiers.get(type)) {
+      try {
+        fieldCopier.invokeExact(sourceBean, destinationBean);
+      } catch (Throwable t) {
+        // Nothing useful to do, the field is skipped as before.
+      }
+    }
+  }
+
+  /**
+   * Resolves a copier <code>(source, destination) -&gt; destination.field = source.field</code> for each instance field
+   * of the class hierarchy once, instead of walking the fields reflectively on each copy. Fields that cannot be read or
+   * written (e.g. in classes not open to MyBatis) are skipped.
+   */
+  private static MethodHandle[] resolveFieldCopiers(Class<?> type) {
+    List<MethodHandle> copiers = new ArrayList<>();
     Class<?> parent = type;
     while (parent != null) {
-      final Field[] fields = parent.getDeclaredFields();
-      for (Field field : fields) {
+      for (Field field : parent.getDeclaredFields()) {
+        if (Modifier.isStatic(field.getModifiers())) {
+          continue;
+        }
         try {
-          try {
-            field.set(destinationBean, field.get(sourceBean));
-          } catch (IllegalAccessException e) {
-            if (!Reflector.canControlMemberAccessible()) {
-              throw e;
-            }
-            field.setAccessible(true);
-            field.set(destinationBean, field.get(sourceBean));
-          }
+          copiers.add(resolveFieldCopier(field));
         } catch (Exception e) {
-          // Nothing useful to do, will only fail on final fields, which will be ignored.
+          // Nothing useful to do, will only fail on inaccessible fields, which will be ignored.
         }
       }
       parent = parent.getSuperclass();
     }
+    return copiers.toArray(new MethodHandle[0]);
+  }
+
+  private static MethodHandle resolveFieldCopier(Field field) throws IllegalAccessException {
+    Lookup lookup = MethodHandles.lookup();
+    MethodHandle getter;
+    MethodHandle setter;
+    try {
+      getter = lookup.unreflectGetter(field);
+      setter = lookup.unreflectSetter(field);
+    } catch (IllegalAccessException e) {
+      if (!Reflector.canControlMemberAccessible()) {
+        throw e;
+      }
+      field.setAccessible(true);
+      getter = lookup.unreflectGetter(field);
+      setter = lookup.unreflectSetter(field);
+    }
+    getter = getter.asType(MethodType.methodType(Object.class, Object.class));
+    setter = setter.asType(COPIER_TYPE);
+    // (destination, source) -> set(destination, get(source)), then swap the arguments
+    MethodHandle copier = MethodHandles.filterArguments(setter, 1, getter);
+    return MethodHandles.permuteArguments(copier, COPIER_TYPE, 1, 0);
   }
 
 }
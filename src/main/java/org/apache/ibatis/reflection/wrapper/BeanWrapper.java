@@ -158,7 +158,7 @@ public class BeanWrapper extends BaseWrapper {
     try {
       Invoker method = metaClass.getGetInvoker(prop.getName());
       try {
-        return method.invoke(object, NO_ARGUMENTS);
+        return method.get(object);
       } catch (Throwable t) {
         throw ExceptionUtil.unwrapThrowable(t);
       }
@@ -173,9 +173,8 @@ public class BeanWrapper extends BaseWrapper {
   private void setBeanProperty(PropertyTokenizer prop, Object object, Object value) {
     try {
       Invoker method = metaClass.getSetInvoker(prop.getName());
-      Object[] params = { value };
       try {
-        method.invoke(object, params);
+        method.set(object, value);
       } catch (Throwable t) {
         throw ExceptionUtil.unwrapThrowable(t);
       }
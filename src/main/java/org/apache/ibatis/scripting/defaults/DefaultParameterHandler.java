@@ -17,12 +17,14 @@ package org.apache.ibatis.scripting.defaults;
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.apache.ibatis.executor.ErrorContext;
 import org.apache.ibatis.executor.parameter.ParameterHandler;
 import org.apache.ibatis.mapping.BoundSql;
 import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterBindingPlan;
 import org.apache.ibatis.mapping.ParameterMapping;
 import org.apache.ibatis.mapping.ParameterMode;
 import org.apache.ibatis.reflection.MetaObject;
@@ -44,6 +46,8 @@ public class DefaultParameterHandler implements ParameterHandler {
   private final Object parameterObject;
   private final BoundSql boundSql;
   private final Configuration configuration;
+  private Boolean parameterHasTypeHandler;
+  private MetaObject parameterMetaObject;
 
   public DefaultParameterHandler(MappedStatement mappedStatement, Object parameterObject, BoundSql boundSql) {
     this.mappedStatement = mappedStatement;
@@ -63,21 +67,11 @@ public class DefaultParameterHandler implements ParameterHandler {
     ErrorContext.instance().activity("setting parameters").object(mappedStatement.getParameterMap().getId());
     List<ParameterMapping> parameterMappings = boundSql.getParameterMappings();
     if (parameterMappings != null) {
+      ParameterBindingPlan plan = mappedStatement.getParameterBindingPlan(parameterMappings);
       for (int i = 0; i < parameterMappings.size(); i++) {
         ParameterMapping parameterMapping = parameterMappings.get(i);
         if (parameterMapping.getMode() != ParameterMode.OUT) {
-          Object value;
-          String propertyName = parameterMapping.getProperty();
-          if (boundSql.hasAdditionalParameter(propertyName)) { // issue #448 ask first for additional params
-            value = boundSql.getAdditionalParameter(propertyName);
-          } else if (parameterObject == null) {
-            value = null;
-          } else if (typeHandlerRegistry.hasTypeHandler(parameterObject.getClass())) {
-            value = parameterObject;
-          } else {
-            MetaObject metaObject = configuration.newMetaObject(parameterObject);
-            value = metaObject.getValue(propertyName);
-          }
+          Object value = getParameterValue(i, parameterMapping, plan);
           TypeHandler typeHandler = parameterMapping.getTypeHandler();
           JdbcType jdbcType = parameterMapping.getJdbcType();
           if (value == null && jdbcType == null) {
@@ -93,4 +87,43 @@ public class DefaultParameterHandler implements ParameterHandler {
     }
   }
 
+  @Override
+  public List<Object> getParameterValues() {
+    List<ParameterMapping> parameterMappings = boundSql.getParameterMappings();
+    List<Object> values = new ArrayList<>();
+    if (parameterMappings != null) {
+      for (int i = 0; i < parameterMappings.size(); i++) {
+        ParameterMapping parameterMapping = parameterMappings.get(i);
+        if (parameterMapping.getMode() != ParameterMode.OUT) {
+          values.add(getParameterValue(i, parameterMapping, null));
+        }
+      }
+    }
+    return values;
+  }
+
+  private Object getParameterValue(int index, ParameterMapping parameterMapping, ParameterBindingPlan plan) {
+    String propertyName = parameterMapping.getProperty();
+    // issue #448 ask first for additional params
+    if (plan != null ? plan.hasAdditionalParameter(index, boundSql) : boundSql.hasAdditionalParameter(propertyName)) {
+      return boundSql.getAdditionalParameter(propertyName);
+    }
+    if (parameterObject == null) {
+      return null;
+    }
+    if (parameterHasTypeHandler == null) {
+      parameterHasTypeHandler = typeHandlerRegistry.hasTypeHandler(parameterObject.getClass());
+    }
+    if (parameterHasTypeHandler) {
+      return parameterObject;
+    }
+    if (plan != null) {
+      return plan.getValue(index, parameterObject);
+    }
+    if (parameterMetaObject == null) {
+      parameterMetaObject = configuration.newMetaObject(parameterObject);
+    }
+    return parameterMetaObject.getValue(propertyName);
+  }
+
 }
@@ -0,0 +1,291 @@
+/*
+ *    Copyright 2009-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.scripting.xmltags;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+
+import ognl.ASTAnd;
+import ognl.ASTChain;
+import ognl.ASTConst;
+import ognl.ASTNot;
+import ognl.ASTOr;
+import ognl.ASTProperty;
+import ognl.ComparisonExpression;
+import ognl.Node;
+import ognl.Ognl;
+import ognl.OgnlException;
+import ognl.OgnlOps;
+
+import org.apache.ibatis.builder.BuilderException;
+import org.apache.ibatis.reflection.ExceptionUtil;
+import org.apache.ibatis.reflection.Reflector;
+import org.apache.ibatis.reflection.ReflectorFactory;
+
+/**
+ * An OGNL expression compiled into a tree of plain Java evaluators at build time.
+ * <p>
+ * Only property navigation, constants, comparisons and logical operators are compiled. They are evaluated the same way
+ * OGNL does (using {@link OgnlOps}) but without creating an OGNL context per evaluation. Anything that cannot be
+ * handled at runtime (e.g. a collection in the middle of a property path or a null target) makes the whole expression
+ * fall back to {@link OgnlCache}. An exception thrown by a getter is reported as OGNL would, without calling the getter
+ * again.
+ *
+ * @since 3.5.14
+ */
+final class CompiledExpression {
+
+  private static final FallbackException FALLBACK = new FallbackException();
+
+  private final String expression;
+  private final Evaluator root;
+
+  private CompiledExpression(String expression, Evaluator root) {
+    this.expression = expression;
+    this.root = root;
+  }
+
+  /**
+   * Compiles the expression.
+   *
+   * @param expression
+   *          the OGNL expression
+   * @param reflectorFactory
+   *          the reflector factory used to read bean properties
+   *
+   * @return the compiled expression, or {@code null} when the expression uses a syntax that is not supported
+   */
+  static CompiledExpression compile(String expression, ReflectorFactory reflectorFactory) {
+    try {
+      Evaluator root = new Compiler(reflectorFactory).compile((Node) Ognl.parseExpression(expression));
+      return root == null ? null : new CompiledExpression(expression, root);
+    } catch (OgnlException e) {
+      // let OgnlCache report the error when evaluating
+      return null;
+    }
+  }
+
+  Object getValue(Map<String, Object> bindings) {
+    if (bindings instanceof DynamicContext.ContextMap) {
+      try {
+        return root.evaluate(bindings);
+      } catch (FallbackException e) {
+        // fall through
+      } catch (GetterException e) {
+        throw new BuilderException("Error evaluating expression '" + expression + "'. Cause: " + e.getCause(),
+            e.getCause());
+      }
+    }
+    return OgnlCache.getValue(expression, bindings);
+  }
+
+  @FunctionalInterface
+  private interface Evaluator {
+    Object evaluate(Map<String, Object> bindings);
+  }
+
+  private static class Compiler {
+
+    private final ReflectorFactory reflectorFactory;
+
+    Compiler(ReflectorFactory reflectorFactory) {
+      this.reflectorFactory = reflectorFactory;
+    }
+
+    Evaluator compile(Node node) {
+      if (node instanceof ASTConst) {
+        Object value = ((ASTConst) node).getValue();
+        return bindings -> value;
+      }
+      if (node instanceof ASTProperty) {
+        String name = propertyName(node);
+        return name == null ? null : bindings -> getRootProperty(bindings, name);
+      }
+      if (node instanceof ASTChain) {
+        return compileChain(node);
+      }
+      Evaluator[] children = compileChildren(node);
+      if (children == null) {
+        return null;
+      }
+      if (node instanceof ASTAnd) {
+        return bindings -> {
+          // same as OGNL, returns the last evaluated value
+          Object result = null;
+          for (int i = 0; i < children.length; i++) {
+            result = children[i].evaluate(bindings);
+            if (i != children.length - 1 && !OgnlOps.booleanValue(result)) {
+              break;
+            }
+          }
+          return result;
+        };
+      }
+      if (node instanceof ASTOr) {
+        return bindings -> {
+          Object result = null;
+          for (int i = 0; i < children.length; i++) {
+            result = children[i].evaluate(bindings);
+            if (i != children.length - 1 && OgnlOps.booleanValue(result)) {
+              break;
+            }
+          }
+          return result;
+        };
+      }
+      if (node instanceof ASTNot && children.length == 1) {
+        Evaluator child = children[0];
+        return bindings -> OgnlOps.booleanValue(child.evaluate(bindings)) ? Boolean.FALSE : Boolean.TRUE;
+      }
+      if (node instanceof ComparisonExpression && children.length == 2) {
+        return compileComparison(((ComparisonExpression) node).getExpressionOperator(0), children[0], children[1]);
+      }
+      return null;
+    }
+
+    private Evaluator compileComparison(String operator, Evaluator left, Evaluator right) {
+      switch (operator) {
+        case "==":
+          return bindings -> OgnlOps.equal(left.evaluate(bindings), right.evaluate(bindings));
+        case "!=":
+          return bindings -> !OgnlOps.equal(left.evaluate(bindings), right.evaluate(bindings));
+        case "<":
+          return bindings -> OgnlOps.less(left.evaluate(bindings), right.evaluate(bindings));
+        case ">":
+          return bindings -> OgnlOps.greater(left.evaluate(bindings), right.evaluate(bindings));
+        case "<=":
+          return bindings -> !OgnlOps.greater(left.evaluate(bindings), right.evaluate(bindings));
+        case ">=":
+          return bindings -> !OgnlOps.less(left.evaluate(bindings), right.evaluate(bindings));
+        default:
+          return null;
+      }
+    }
+
+    private Evaluator compileChain(Node node) {
+      String[] names = new String[node.jjtGetNumChildren()];
+      for (int i = 0; i < names.length; i++) {
+        names[i] = propertyName(node.jjtGetChild(i));
+        if (names[i] == null) {
+          return null;
+        }
+      }
+      return bindings -> {
+        Object value = getRootProperty(bindings, names[0]);
+        for (int i = 1; i < names.length; i++) {
+          value = getProperty(value, names[i]);
+        }
+        return value;
+      };
+    }
+
+    private Evaluator[] compileChildren(Node node) {
+      Evaluator[] children = new Evaluator[node.jjtGetNumChildren()];
+      for (int i = 0; i < children.length; i++) {
+        children[i] = compile(node.jjtGetChild(i));
+        if (children[i] == null) {
+          return null;
+        }
+      }
+      return children;
+    }
+
+    private static String propertyName(Node node) {
+      if (!(node instanceof ASTProperty) || ((ASTProperty) node).isIndexedAccess() || node.jjtGetNumChildren() != 1
+          || !(node.jjtGetChild(0) instanceof ASTConst)) {
+        return null;
+      }
+      Object name = ((ASTConst) node.jjtGetChild(0)).getValue();
+      return name instanceof String ? (String) name : null;
+    }
+
+    /**
+     * Same as {@link DynamicContext.ContextAccessor#getProperty(Map, Object, Object)}.
+     */
+    private static Object getRootProperty(Map<String, Object> bindings, String name) {
+      Object result = bindings.get(name);
+      if (result != null || bindings.containsKey(name)) {
+        return result;
+      }
+      Object parameterObject = bindings.get(DynamicContext.PARAMETER_OBJECT_KEY);
+      if (parameterObject instanceof Map) {
+        return ((Map<?, ?>) parameterObject).get(name);
+      }
+      return null;
+    }
+
+    private Object getProperty(Object target, String name) {
+      if (target == null) {
+        // let OGNL report the error
+        throw FALLBACK;
+      }
+      if (target instanceof Map) {
+        // same as OGNL's MapPropertyAccessor
+        Map<?, ?> map = (Map<?, ?>) target;
+        switch (name) {
+          case "size":
+            return map.size();
+          case "keys":
+          case "keySet":
+            return map.keySet();
+          case "values":
+            return map.values();
+          case "isEmpty":
+            return map.isEmpty() ? Boolean.TRUE : Boolean.FALSE;
+          default:
+            return map.get(name);
+        }
+      }
+      if (target instanceof Collection || target instanceof Iterator || target instanceof Class
+          || target.getClass().isArray()) {
+        // OGNL has dedicated accessors for these
+        throw FALLBACK;
+      }
+      Reflector reflector = reflectorFactory.findForClass(target.getClass());
+      if (!reflector.hasGetter(name)) {
+        throw FALLBACK;
+      }
+      try {
+        return reflector.getGetInvoker(name).get(target);
+      } catch (InvocationTargetException e) {
+        // thrown by the getter itself, reported as OGNL's ObjectPropertyAccessor does
+        throw new GetterException(new OgnlException(name, ExceptionUtil.unwrapThrowable(e)));
+      } catch (Throwable t) {
+        // the getter was not called (e.g. not accessible), let OGNL try its own way
+        throw FALLBACK;
+      }
+    }
+  }
+
+  private static class GetterException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    GetterException(OgnlException cause) {
+      super(cause);
+    }
+  }
+
+  private static class FallbackException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    FallbackException() {
+      super(null, null, false, false);
+    }
+  }
+
+}
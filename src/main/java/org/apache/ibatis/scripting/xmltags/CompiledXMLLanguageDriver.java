@@ -0,0 +1,41 @@
+/*
+ *    Copyright 2009-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.scripting.xmltags;
+
+import org.apache.ibatis.mapping.SqlSource;
+import org.apache.ibatis.parsing.XNode;
+import org.apache.ibatis.session.Configuration;
+
+/**
+ * Same as the default XML language, except that the <code>test</code> expressions of <code>&lt;if&gt;</code> and
+ * <code>&lt;when&gt;</code> are compiled while building the statement instead of being interpreted by OGNL on every
+ * execution. Expressions that use anything other than property navigation, constants, comparisons and logical operators
+ * are still evaluated by OGNL, so mapper files can be used as they are.
+ * <p>
+ * Can be set per statement with <code>lang="COMPILED_XML"</code> or globally as the
+ * <code>defaultScriptingLanguage</code>.
+ *
+ * @since 3.5.14
+ */
+public class CompiledXMLLanguageDriver extends XMLLanguageDriver {
+
+  @Override
+  public SqlSource createSqlSource(Configuration configuration, XNode script, Class<?> parameterType) {
+    XMLScriptBuilder builder = new XMLScriptBuilder(configuration, script, parameterType, true);
+    return builder.parseScriptNode();
+  }
+
+}
@@ -40,9 +40,11 @@ public class DynamicContext {
 
   private final ContextMap bindings;
   private final StringJoiner sqlBuilder = new StringJoiner(" ");
+  private final boolean shrinkWhitespaces;
   private int uniqueNumber;
 
   public DynamicContext(Configuration configuration, Object parameterObject) {
+    shrinkWhitespaces = configuration.isShrinkWhitespacesInSql();
     if (parameterObject != null && !(parameterObject instanceof Map)) {
       MetaObject metaObject = configuration.newMetaObject(parameterObject);
       boolean existsTypeHandler = configuration.getTypeHandlerRegistry().hasTypeHandler(parameterObject.getClass());
@@ -63,6 +65,13 @@ public class DynamicContext {
   }
 
   public void appendSql(String sql) {
+    if (shrinkWhitespaces && sql != null) {
+      // fragments are shrunk while building, only the boundaries are left to normalize
+      sql = trimWhitespaces(sql);
+      if (sql.isEmpty()) {
+        return;
+      }
+    }
     sqlBuilder.add(sql);
   }
 
@@ -74,6 +83,52 @@ public class DynamicContext {
     return uniqueNumber++;
   }
 
+  /**
+   * Same delimiters as the {@link java.util.StringTokenizer} used by
+   * {@link org.apache.ibatis.builder.SqlSourceBuilder#removeExtraWhitespaces(String)}.
+   */
+  static boolean isWhitespace(char c) {
+    return c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\f';
+  }
+
+  /**
+   * Replaces each run of whitespaces with a single space. Unlike
+   * {@link org.apache.ibatis.builder.SqlSourceBuilder#removeExtraWhitespaces(String)}, a leading or trailing run is
+   * kept as a single space so that the fragment stays separated from its neighbours.
+   */
+  static String shrinkWhitespaces(String text) {
+    StringBuilder builder = new StringBuilder(text.length());
+    boolean inWhitespace = false;
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      if (isWhitespace(c)) {
+        inWhitespace = true;
+      } else {
+        if (inWhitespace) {
+          builder.append(' ');
+          inWhitespace = false;
+        }
+        builder.append(c);
+      }
+    }
+    if (inWhitespace) {
+      builder.append(' ');
+    }
+    return builder.length() == text.length() ? text : builder.toString();
+  }
+
+  static String trimWhitespaces(String text) {
+    int start = 0;
+    int end = text.length();
+    while (start < end && isWhitespace(text.charAt(start))) {
+      start++;
+    }
+    while (end > start && isWhitespace(text.charAt(end - 1))) {
+      end--;
+    }
+    return text.substring(start, end);
+  }
+
   static class ContextMap extends HashMap<String, Object> {
     private static final long serialVersionUID = 2977601501966151582L;
     private final MetaObject parameterMetaObject;
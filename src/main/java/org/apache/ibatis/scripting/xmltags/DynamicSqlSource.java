@@ -16,6 +16,7 @@
 package org.apache.ibatis.scripting.xmltags;
 
 import org.apache.ibatis.builder.SqlSourceBuilder;
+import org.apache.ibatis.builder.StaticSqlSource;
 import org.apache.ibatis.mapping.BoundSql;
 import org.apache.ibatis.mapping.SqlSource;
 import org.apache.ibatis.session.Configuration;
@@ -27,22 +28,36 @@ public class DynamicSqlSource implements SqlSource {
 
   private final Configuration configuration;
   private final SqlNode rootSqlNode;
+  private final SqlSourceBuilder sqlSourceParser;
+  private final boolean shrunkAtBuildTime;
 
   public DynamicSqlSource(Configuration configuration, SqlNode rootSqlNode) {
+    this(configuration, rootSqlNode, false);
+  }
+
+  /**
+   * @param shrunkAtBuildTime
+   *          {@code true} if the nodes were built by {@link XMLScriptBuilder} and do not substitute <code>${}</code>
+   *          values, so that the whitespaces need not be shrunk again at runtime
+   */
+  DynamicSqlSource(Configuration configuration, SqlNode rootSqlNode, boolean shrunkAtBuildTime) {
     this.configuration = configuration;
     this.rootSqlNode = rootSqlNode;
+    this.sqlSourceParser = new SqlSourceBuilder(configuration);
+    this.shrunkAtBuildTime = shrunkAtBuildTime;
   }
 
   @Override
   public BoundSql getBoundSql(Object parameterObject) {
     DynamicContext context = new DynamicContext(configuration, parameterObject);
     rootSqlNode.apply(context);
-    SqlSourceBuilder sqlSourceParser = new SqlSourceBuilder(configuration);
     Class<?> parameterType = parameterObject == null ? Object.class : parameterObject.getClass();
-    SqlSource sqlSource = sqlSourceParser.parse(context.getSql(), parameterType, context.getBindings());
-    BoundSql boundSql = sqlSource.getBoundSql(parameterObject);
-    context.getBindings().forEach(boundSql::setAdditionalParameter);
-    return boundSql;
+    // whitespaces of nodes built by XMLScriptBuilder are already shrunk, only substituted values and other nodes need
+    // it
+    StaticSqlSource sqlSource = (StaticSqlSource) sqlSourceParser.parse(context.getSql(), parameterType,
+        context.getBindings(), !shrunkAtBuildTime && configuration.isShrinkWhitespacesInSql());
+    // SqlSourceBuilder always returns a StaticSqlSource, share the bindings instead of copying them one by one
+    return sqlSource.getBoundSql(parameterObject, context.getBindings());
   }
 
 }
@@ -29,7 +29,14 @@ import org.apache.ibatis.builder.BuilderException;
 public class ExpressionEvaluator {
 
   public boolean evaluateBoolean(String expression, Object parameterObject) {
-    Object value = OgnlCache.getValue(expression, parameterObject);
+    return booleanValue(OgnlCache.getValue(expression, parameterObject));
+  }
+
+  boolean evaluateBoolean(CompiledExpression expression, Map<String, Object> bindings) {
+    return booleanValue(expression.getValue(bindings));
+  }
+
+  private boolean booleanValue(Object value) {
     if (value instanceof Boolean) {
       return (Boolean) value;
     }
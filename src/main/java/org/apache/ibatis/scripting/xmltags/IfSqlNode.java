@@ -22,16 +22,23 @@ public class IfSqlNode implements SqlNode {
   private final ExpressionEvaluator evaluator;
   private final String test;
   private final SqlNode contents;
+  private final CompiledExpression compiledTest;
 
   public IfSqlNode(SqlNode contents, String test) {
+    this(contents, test, null);
+  }
+
+  IfSqlNode(SqlNode contents, String test, CompiledExpression compiledTest) {
     this.test = test;
     this.contents = contents;
+    this.compiledTest = compiledTest;
     this.evaluator = new ExpressionEvaluator();
   }
 
   @Override
   public boolean apply(DynamicContext context) {
-    if (evaluator.evaluateBoolean(test, context.getBindings())) {
+    if (compiledTest == null ? evaluator.evaluateBoolean(test, context.getBindings())
+        : evaluator.evaluateBoolean(compiledTest, context.getBindings())) {
       contents.apply(context);
       return true;
     }
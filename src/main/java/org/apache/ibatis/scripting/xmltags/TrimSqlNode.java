@@ -113,7 +113,31 @@ public class TrimSqlNode implements SqlNode {
 
     @Override
     public void appendSql(String sql) {
-      sqlBuffer.append(sql);
+      if (configuration.isShrinkWhitespacesInSql() && sql != null) {
+        appendShrunkSql(sql);
+      } else {
+        sqlBuffer.append(sql);
+      }
+    }
+
+    private void appendShrunkSql(String sql) {
+      // collapse the whitespaces at the boundary between the buffer and the fragment into a single space
+      int start = 0;
+      int end = sql.length();
+      while (start < end && DynamicContext.isWhitespace(sql.charAt(start))) {
+        start++;
+      }
+      while (end > start && DynamicContext.isWhitespace(sql.charAt(end - 1))) {
+        end--;
+      }
+      if (start > 0 && sqlBuffer.length() > 0
+          && !DynamicContext.isWhitespace(sqlBuffer.charAt(sqlBuffer.length() - 1))) {
+        sqlBuffer.append(' ');
+      }
+      sqlBuffer.append(sql, start, end);
+      if (end < sql.length() && end > start) {
+        sqlBuffer.append(' ');
+      }
     }
 
     @Override
@@ -128,6 +152,11 @@ public class TrimSqlNode implements SqlNode {
           for (String toRemove : prefixesToOverride) {
             if (trimmedUppercaseSql.startsWith(toRemove)) {
               sql.delete(0, toRemove.trim().length());
+              if (configuration.isShrinkWhitespacesInSql()) {
+                while (sql.length() > 0 && DynamicContext.isWhitespace(sql.charAt(0))) {
+                  sql.deleteCharAt(0);
+                }
+              }
               break;
             }
           }
@@ -148,6 +177,11 @@ public class TrimSqlNode implements SqlNode {
               int start = sql.length() - toRemove.trim().length();
               int end = sql.length();
               sql.delete(start, end);
+              if (configuration.isShrinkWhitespacesInSql()) {
+                while (sql.length() > 0 && DynamicContext.isWhitespace(sql.charAt(sql.length() - 1))) {
+                  sql.deleteCharAt(sql.length() - 1);
+                }
+              }
               break;
             }
           }
@@ -15,6 +15,7 @@
  */
 package org.apache.ibatis.scripting.xmltags;
 
+import org.apache.ibatis.builder.SqlSourceBuilder;
 import org.apache.ibatis.builder.xml.XMLMapperEntityResolver;
 import org.apache.ibatis.executor.parameter.ParameterHandler;
 import org.apache.ibatis.mapping.BoundSql;
@@ -54,6 +55,9 @@ public class XMLLanguageDriver implements LanguageDriver {
     }
     // issue #127
     script = PropertyParser.parse(script, configuration.getVariables());
+    if (configuration.isShrinkWhitespacesInSql()) {
+      script = SqlSourceBuilder.removeExtraWhitespaces(script);
+    }
     TextSqlNode textSqlNode = new TextSqlNode(script);
     if (textSqlNode.isDynamic()) {
       return new DynamicSqlSource(configuration, textSqlNode);
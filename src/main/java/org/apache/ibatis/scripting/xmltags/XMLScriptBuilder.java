@@ -36,17 +36,24 @@ public class XMLScriptBuilder extends BaseBuilder {
 
   private final XNode context;
   private boolean isDynamic;
+  private boolean textSubstitution;
   private final Class<?> parameterType;
   private final Map<String, NodeHandler> nodeHandlerMap = new HashMap<>();
+  private final boolean compileExpressions;
 
   public XMLScriptBuilder(Configuration configuration, XNode context) {
     this(configuration, context, null);
   }
 
   public XMLScriptBuilder(Configuration configuration, XNode context, Class<?> parameterType) {
+    this(configuration, context, parameterType, false);
+  }
+
+  XMLScriptBuilder(Configuration configuration, XNode context, Class<?> parameterType, boolean compileExpressions) {
     super(configuration);
     this.context = context;
     this.parameterType = parameterType;
+    this.compileExpressions = compileExpressions;
     initNodeHandlerMap();
   }
 
@@ -66,7 +73,7 @@ public class XMLScriptBuilder extends BaseBuilder {
     MixedSqlNode rootSqlNode = parseDynamicTags(context);
     SqlSource sqlSource;
     if (isDynamic) {
-      sqlSource = new DynamicSqlSource(configuration, rootSqlNode);
+      sqlSource = new DynamicSqlSource(configuration, rootSqlNode, !textSubstitution);
     } else {
       sqlSource = new RawSqlSource(configuration, rootSqlNode, parameterType);
     }
@@ -80,10 +87,14 @@ public class XMLScriptBuilder extends BaseBuilder {
       XNode child = node.newXNode(children.item(i));
       if (child.getNode().getNodeType() == Node.CDATA_SECTION_NODE || child.getNode().getNodeType() == Node.TEXT_NODE) {
         String data = child.getStringBody("");
+        if (configuration.isShrinkWhitespacesInSql()) {
+          data = DynamicContext.shrinkWhitespaces(data);
+        }
         TextSqlNode textSqlNode = new TextSqlNode(data);
         if (textSqlNode.isDynamic()) {
           contents.add(textSqlNode);
           isDynamic = true;
+          textSubstitution = true;
         } else {
           contents.add(new StaticTextSqlNode(data));
         }
@@ -191,7 +202,9 @@ public class XMLScriptBuilder extends BaseBuilder {
     public void handleNode(XNode nodeToHandle, List<SqlNode> targetContents) {
       MixedSqlNode mixedSqlNode = parseDynamicTags(nodeToHandle);
       String test = nodeToHandle.getStringAttribute("test");
-      IfSqlNode ifSqlNode = new IfSqlNode(mixedSqlNode, test);
+      IfSqlNode ifSqlNode = compileExpressions
+          ? new IfSqlNode(mixedSqlNode, test, CompiledExpression.compile(test, configuration.getReflectorFactory()))
+          : new IfSqlNode(mixedSqlNode, test);
       targetContents.add(ifSqlNode);
     }
   }
@@ -0,0 +1,190 @@
+/*
+ *    Copyright 2009-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.session;
+
+import java.io.Closeable;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Runs work against the database asynchronously, each task in a session (and transaction) of its own.
+ * <p>
+ * A task opens a session from the {@link SqlSessionFactory}, commits it when the work completes and closes it, which
+ * rolls back the changes of a task that failed. At most {@code maxConcurrency} tasks hold a session at the same time,
+ * so the number of connections borrowed by independent parallel reads stays within the size of the pool.
+ *
+ * <pre>
+ * try (AsyncSqlSession async = new AsyncSqlSession(sqlSessionFactory, 10)) {
+ *   CompletableFuture&lt;Author&gt; author = async.selectOne("selectAuthor", 101);
+ *   CompletableFuture&lt;List&lt;Blog&gt;&gt; blogs = async.withMapper(BlogMapper.class, m -&gt; m.selectBlogsOf(101));
+ *   CompletableFuture.allOf(author, blogs).join();
+ * }
+ * </pre>
+ *
+ * @since 3.5.14
+ */
+public class AsyncSqlSession implements Closeable {
+
+  private final SqlSessionFactory sqlSessionFactory;
+  private final Executor executor;
+  private final ExecutorService ownedExecutor;
+  private final Semaphore sessionPermits;
+
+  /**
+   * Creates an async session running its tasks on virtual threads (Java 21 or later), or on a pool of
+   * {@code maxConcurrency} daemon threads otherwise. The threads are released by {@link #close()}.
+   *
+   * @param sqlSessionFactory
+   *          the factory opening the session of each task
+   * @param maxConcurrency
+   *          the maximum number of tasks holding a session at the same time
+   */
+  public AsyncSqlSession(SqlSessionFactory sqlSessionFactory, int maxConcurrency) {
+    this(sqlSessionFactory, null, maxConcurrency);
+  }
+
+  /**
+   * Creates an async session running its tasks on the specified executor.
+   *
+   * @param sqlSessionFactory
+   *          the factory opening the session of each task
+   * @param executor
+   *          the executor running the tasks, not shut down by {@link #close()}
+   * @param maxConcurrency
+   *          the maximum number of tasks holding a session at the same time
+   */
+  public AsyncSqlSession(SqlSessionFactory sqlSessionFactory, Executor executor, int maxConcurrency) {
+    if (maxConcurrency < 1) {
+      throw new IllegalArgumentException("maxConcurrency must be greater than 0 but was " + maxConcurrency);
+    }
+    this.sqlSessionFactory = sqlSessionFactory;
+    this.ownedExecutor = executor == null ? newExecutorService(maxConcurrency) : null;
+    this.executor = executor == null ? ownedExecutor : executor;
+    this.sessionPermits = new Semaphore(maxConcurrency, true);
+  }
+
+  /**
+   * Runs the work in a session of its own. The session is committed when the work completes and closed afterwards.
+   *
+   * @param <T>
+   *          the result type
+   * @param work
+   *          the work to run
+   *
+   * @return a future completed with the result of the work, or exceptionally with the failure of the task
+   */
+  public <T> CompletableFuture<T> execute(Function<SqlSession, T> work) {
+    return CompletableFuture.supplyAsync(() -> run(work), executor);
+  }
+
+  /**
+   * Runs the work with a mapper of a session of its own.
+   *
+   * @param <M>
+   *          the mapper type
+   * @param <T>
+   *          the result type
+   * @param type
+   *          the mapper interface
+   * @param work
+   *          the work to run
+   *
+   * @return a future completed with the result of the work, or exceptionally with the failure of the task
+   */
+  public <M, T> CompletableFuture<T> withMapper(Class<M> type, Function<M, T> work) {
+    return execute(sqlSession -> work.apply(sqlSession.getMapper(type)));
+  }
+
+  public <T> CompletableFuture<T> selectOne(String statement) {
+    return execute(sqlSession -> sqlSession.selectOne(statement));
+  }
+
+  public <T> CompletableFuture<T> selectOne(String statement, Object parameter) {
+    return execute(sqlSession -> sqlSession.selectOne(statement, parameter));
+  }
+
+  public <E> CompletableFuture<List<E>> selectList(String statement) {
+    return execute(sqlSession -> sqlSession.selectList(statement));
+  }
+
+  public <E> CompletableFuture<List<E>> selectList(String statement, Object parameter) {
+    return execute(sqlSession -> sqlSession.selectList(statement, parameter));
+  }
+
+  public <E> CompletableFuture<List<E>> selectList(String statement, Object parameter, RowBounds rowBounds) {
+    return execute(sqlSession -> sqlSession.selectList(statement, parameter, rowBounds));
+  }
+
+  public CompletableFuture<Integer> insert(String statement, Object parameter) {
+    return execute(sqlSession -> sqlSession.insert(statement, parameter));
+  }
+
+  public CompletableFuture<Integer> update(String statement, Object parameter) {
+    return execute(sqlSession -> sqlSession.update(statement, parameter));
+  }
+
+  public CompletableFuture<Integer> delete(String statement, Object parameter) {
+    return execute(sqlSession -> sqlSession.delete(statement, parameter));
+  }
+
+  /**
+   * Releases the threads created by this async session. Tasks already submitted are completed.
+   */
+  @Override
+  public void close() {
+    if (ownedExecutor != null) {
+      ownedExecutor.shutdown();
+    }
+  }
+
+  private <T> T run(Function<SqlSession, T> work) {
+    try {
+      sessionPermits.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SqlSessionException("Interrupted while waiting for a session.", e);
+    }
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      T result = work.apply(sqlSession);
+      sqlSession.commit();
+      return result;
+    } finally {
+      sessionPermits.release();
+    }
+  }
+
+  private static ExecutorService newExecutorService(int maxConcurrency) {
+    try {
+      // Java 21+
+      Method newVirtualThreadPerTaskExecutor = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+      return (ExecutorService) newVirtualThreadPerTaskExecutor.invoke(null);
+    } catch (ReflectiveOperationException e) {
+      AtomicInteger threadNumber = new AtomicInteger();
+      return Executors.newFixedThreadPool(maxConcurrency, runnable -> {
+        Thread thread = new Thread(runnable, "mybatis-async-" + threadNumber.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+      });
+    }
+  }
+}
@@ -20,6 +20,7 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -27,6 +28,7 @@ import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiFunction;
+import java.util.function.Supplier;
 
 import org.apache.ibatis.binding.MapperRegistry;
 import org.apache.ibatis.builder.CacheRefResolver;
@@ -40,8 +42,11 @@ import org.apache.ibatis.cache.decorators.LruCache;
 import org.apache.ibatis.cache.decorators.SoftCache;
 import org.apache.ibatis.cache.decorators.WeakCache;
 import org.apache.ibatis.cache.impl.PerpetualCache;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.cursor.CursorPublisher;
 import org.apache.ibatis.datasource.jndi.JndiDataSourceFactory;
 import org.apache.ibatis.datasource.pooled.PooledDataSourceFactory;
+import org.apache.ibatis.datasource.routing.RoutingDataSourceFactory;
 import org.apache.ibatis.datasource.unpooled.UnpooledDataSourceFactory;
 import org.apache.ibatis.executor.BatchExecutor;
 import org.apache.ibatis.executor.CachingExecutor;
@@ -52,6 +57,7 @@ import org.apache.ibatis.executor.keygen.KeyGenerator;
 import org.apache.ibatis.executor.loader.ProxyFactory;
 import org.apache.ibatis.executor.loader.cglib.CglibProxyFactory;
 import org.apache.ibatis.executor.loader.javassist.JavassistProxyFactory;
+import org.apache.ibatis.executor.metrics.ExecutionMetrics;
 import org.apache.ibatis.executor.parameter.ParameterHandler;
 import org.apache.ibatis.executor.resultset.DefaultResultSetHandler;
 import org.apache.ibatis.executor.resultset.ResultSetHandler;
@@ -67,6 +73,8 @@ import org.apache.ibatis.logging.log4j2.Log4j2Impl;
 import org.apache.ibatis.logging.nologging.NoLoggingImpl;
 import org.apache.ibatis.logging.slf4j.Slf4jImpl;
 import org.apache.ibatis.logging.stdout.StdOutImpl;
+import org.apache.ibatis.logging.tracing.LoggingSqlTracer;
+import org.apache.ibatis.logging.tracing.SqlTracer;
 import org.apache.ibatis.mapping.BoundSql;
 import org.apache.ibatis.mapping.Environment;
 import org.apache.ibatis.mapping.MappedStatement;
@@ -87,6 +95,7 @@ import org.apache.ibatis.reflection.wrapper.ObjectWrapperFactory;
 import org.apache.ibatis.scripting.LanguageDriver;
 import org.apache.ibatis.scripting.LanguageDriverRegistry;
 import org.apache.ibatis.scripting.defaults.RawLanguageDriver;
+import org.apache.ibatis.scripting.xmltags.CompiledXMLLanguageDriver;
 import org.apache.ibatis.scripting.xmltags.XMLLanguageDriver;
 import org.apache.ibatis.transaction.Transaction;
 import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
@@ -117,11 +126,24 @@ public class Configuration {
   protected boolean shrinkWhitespacesInSql;
   protected boolean nullableOnForEach;
   protected boolean argNameBasedConstructorAutoMapping;
+  protected boolean useGeneratedMapperClasses;
+  protected boolean warmUpReflectors;
+  protected boolean metricsEnabled;
+  protected boolean streamingCursors;
+  protected Integer cursorPrefetchSize;
+  protected java.util.concurrent.Executor cursorPublisherExecutor;
+  protected int cursorPublisherBatchSize = 256;
+  protected boolean rewriteBatchedInserts;
+  protected boolean multiStatementPipeline;
 
   protected String logPrefix;
   protected Class<? extends Log> logImpl;
   protected Class<? extends VFS> vfsImpl;
   protected Class<?> defaultSqlProviderType;
+  protected SqlTracer sqlTracer;
+  protected Double sqlTracerSampleRate;
+  protected Integer sqlTracerAsyncCapacity;
+  protected final ExecutionMetrics executionMetrics = new ExecutionMetrics();
   protected LocalCacheScope localCacheScope = LocalCacheScope.SESSION;
   protected JdbcType jdbcTypeForNull = JdbcType.OTHER;
   protected Set<String> lazyLoadTriggerMethods = new HashSet<>(
@@ -189,6 +211,7 @@ public class Configuration {
 
     typeAliasRegistry.registerAlias("JNDI", JndiDataSourceFactory.class);
     typeAliasRegistry.registerAlias("POOLED", PooledDataSourceFactory.class);
+    typeAliasRegistry.registerAlias("ROUTING", RoutingDataSourceFactory.class);
     typeAliasRegistry.registerAlias("UNPOOLED", UnpooledDataSourceFactory.class);
 
     typeAliasRegistry.registerAlias("PERPETUAL", PerpetualCache.class);
@@ -201,6 +224,7 @@ public class Configuration {
 
     typeAliasRegistry.registerAlias("XML", XMLLanguageDriver.class);
     typeAliasRegistry.registerAlias("RAW", RawLanguageDriver.class);
+    typeAliasRegistry.registerAlias("COMPILED_XML", CompiledXMLLanguageDriver.class);
 
     typeAliasRegistry.registerAlias("SLF4J", Slf4jImpl.class);
     typeAliasRegistry.registerAlias("COMMONS_LOGGING", JakartaCommonsLoggingImpl.class);
@@ -210,6 +234,8 @@ public class Configuration {
     typeAliasRegistry.registerAlias("STDOUT_LOGGING", StdOutImpl.class);
     typeAliasRegistry.registerAlias("NO_LOGGING", NoLoggingImpl.class);
 
+    typeAliasRegistry.registerAlias("LOGGING_TRACER", LoggingSqlTracer.class);
+
     typeAliasRegistry.registerAlias("CGLIB", CglibProxyFactory.class);
     typeAliasRegistry.registerAlias("JAVASSIST", JavassistProxyFactory.class);
 
@@ -296,6 +322,360 @@ public class Configuration {
     this.returnInstanceForEmptyRow = returnEmptyInstance;
   }
 
+  /**
+   * Returns whether mappers are implemented by classes generated at runtime instead of JDK dynamic proxies.
+   * <p>
+   * Default is {@code false}. Requires Javassist on the classpath, a proxy is used otherwise.
+   *
+   * @return If generated classes are used, return {@code true}
+   *
+   * @since 3.5.14
+   */
+  public boolean isUseGeneratedMapperClasses() {
+    return useGeneratedMapperClasses;
+  }
+
+  /**
+   * Sets whether mappers are implemented by classes generated at runtime instead of JDK dynamic proxies.
+   *
+   * @param useGeneratedMapperClasses
+   *          If generated classes are used, set {@code true}
+   *
+   * @since 3.5.14
+   */
+  public void setUseGeneratedMapperClasses(boolean useGeneratedMapperClasses) {
+    this.useGeneratedMapperClasses = useGeneratedMapperClasses;
+  }
+
+  /**
+   * Returns whether the reflectors of the result and parameter types are created in parallel when the
+   * {@link SqlSessionFactory} is built.
+   * <p>
+   * Default is {@code false}, reflectors are created on first use.
+   *
+   * @return If reflectors are warmed up, return {@code true}
+   *
+   * @since 3.5.14
+   */
+  public boolean isWarmUpReflectors() {
+    return warmUpReflectors;
+  }
+
+  /**
+   * Sets whether the reflectors of the result and parameter types are created in parallel when the
+   * {@link SqlSessionFactory} is built.
+   *
+   * @param warmUpReflectors
+   *          If reflectors are warmed up, set {@code true}
+   *
+   * @since 3.5.14
+   */
+  public void setWarmUpReflectors(boolean warmUpReflectors) {
+    this.warmUpReflectors = warmUpReflectors;
+  }
+
+  /**
+   * Creates the reflectors of the types of the registered result maps, parameter maps and mapped statements.
+   *
+   * @since 3.5.14
+   */
+  public void warmUpReflectors() {
+    Set<Class<?>> types = new LinkedHashSet<>();
+    // short names may hold an Ambiguity instead of a value
+    for (Object value : resultMaps.values()) {
+      if (value instanceof ResultMap) {
+        addReflectorType(types, ((ResultMap) value).getType());
+      }
+    }
+    for (Object value : parameterMaps.values()) {
+      if (value instanceof ParameterMap) {
+        addReflectorType(types, ((ParameterMap) value).getType());
+      }
+    }
+    for (Object value : mappedStatements.values()) {
+      if (value instanceof MappedStatement) {
+        MappedStatement ms = (MappedStatement) value;
+        addReflectorType(types, ms.getParameterMap().getType());
+        for (ResultMap resultMap : ms.getResultMaps()) {
+          addReflectorType(types, resultMap.getType());
+        }
+      }
+    }
+    reflectorFactory.warmUp(types);
+  }
+
+  private void addReflectorType(Set<Class<?>> types, Class<?> type) {
+    if (type != null && !type.isInterface() && !typeHandlerRegistry.hasTypeHandler(type)) {
+      types.add(type);
+    }
+  }
+
+  /**
+   * Returns whether the execution metrics of the mapped statements are recorded.
+   * <p>
+   * Default is {@code false}.
+   *
+   * @return If metrics are recorded, return {@code true}
+   *
+   * @since 3.5.14
+   */
+  public boolean isMetricsEnabled() {
+    return metricsEnabled;
+  }
+
+  /**
+   * Sets whether the execution metrics of the mapped statements are recorded.
+   *
+   * @param metricsEnabled
+   *          If metrics are recorded, set {@code true}
+   *
+   * @since 3.5.14
+   */
+  public void setMetricsEnabled(boolean metricsEnabled) {
+    this.metricsEnabled = metricsEnabled;
+  }
+
+  /**
+   * Returns whether the streaming settings of the driver are applied to statements executed as a cursor.
+   * <p>
+   * Default is {@code false}.
+   *
+   * @return If the streaming settings are applied, return {@code true}
+   *
+   * @since 3.5.14
+   */
+  public boolean isStreamingCursors() {
+    return streamingCursors;
+  }
+
+  /**
+   * Sets whether the streaming settings of the driver are applied to statements executed as a cursor that do not
+   * specify a fetch size.
+   *
+   * @param streamingCursors
+   *          If the streaming settings are applied, set {@code true}
+   *
+   * @since 3.5.14
+   */
+  public void setStreamingCursors(boolean streamingCursors) {
+    this.streamingCursors = streamingCursors;
+  }
+
+  /**
+   * Gets the number of rows a cursor maps ahead on a background thread.
+   *
+   * @return the prefetch size, or {@code null} if cursors do not prefetch
+   *
+   * @since 3.5.14
+   */
+  public Integer getCursorPrefetchSize() {
+    return cursorPrefetchSize;
+  }
+
+  /**
+   * Sets the number of rows a cursor maps ahead on a background thread while the current ones are consumed. Cursors
+   * whose result map contains nested queries never prefetch.
+   *
+   * @param cursorPrefetchSize
+   *          the prefetch size, or {@code null} to disable prefetching
+   *
+   * @since 3.5.14
+   */
+  public void setCursorPrefetchSize(Integer cursorPrefetchSize) {
+    this.cursorPrefetchSize = cursorPrefetchSize;
+  }
+
+  /**
+   * Gets the executor emitting the items of the publishers returned by {@code SqlSession.selectPublisher} and mapper
+   * methods.
+   *
+   * @return the executor, or {@code null} if items are emitted on the thread requesting them
+   *
+   * @since 3.5.14
+   */
+  public java.util.concurrent.Executor getCursorPublisherExecutor() {
+    return cursorPublisherExecutor;
+  }
+
+  /**
+   * Sets the executor emitting the items of the publishers returned by {@code SqlSession.selectPublisher} and mapper
+   * methods.
+   *
+   * @param cursorPublisherExecutor
+   *          the executor, or {@code null} to emit items on the thread requesting them
+   *
+   * @since 3.5.14
+   */
+  public void setCursorPublisherExecutor(java.util.concurrent.Executor cursorPublisherExecutor) {
+    this.cursorPublisherExecutor = cursorPublisherExecutor;
+  }
+
+  /**
+   * Gets the maximum number of items a publisher emits in one task of the {@link #getCursorPublisherExecutor() cursor
+   * publisher executor}.
+   *
+   * @return the batch size
+   *
+   * @since 3.5.14
+   */
+  public int getCursorPublisherBatchSize() {
+    return cursorPublisherBatchSize;
+  }
+
+  /**
+   * Sets the maximum number of items a publisher emits in one task of the {@link #getCursorPublisherExecutor() cursor
+   * publisher executor} before it is rescheduled. Default is 256.
+   *
+   * @param cursorPublisherBatchSize
+   *          the batch size
+   *
+   * @since 3.5.14
+   */
+  public void setCursorPublisherBatchSize(int cursorPublisherBatchSize) {
+    this.cursorPublisherBatchSize = cursorPublisherBatchSize;
+  }
+
+  /**
+   * Returns whether the batched executions of a simple {@code INSERT ... VALUES (...)} statement are rewritten into
+   * multi-row statements.
+   * <p>
+   * Default is {@code false}.
+   *
+   * @return If batched inserts are rewritten, return {@code true}
+   *
+   * @since 3.5.14
+   */
+  public boolean isRewriteBatchedInserts() {
+    return rewriteBatchedInserts;
+  }
+
+  /**
+   * Sets whether the batched executions of a simple {@code INSERT ... VALUES (...)} statement are rewritten into
+   * multi-row {@code INSERT ... VALUES (...), (...)} statements by the {@link ExecutorType#BATCH} executor.
+   *
+   * @param rewriteBatchedInserts
+   *          If batched inserts are rewritten, set {@code true}
+   *
+   * @since 3.5.14
+   */
+  public void setRewriteBatchedInserts(boolean rewriteBatchedInserts) {
+    this.rewriteBatchedInserts = rewriteBatchedInserts;
+  }
+
+  /**
+   * Returns whether the statements of a {@link StatementPipeline} are sent to the database as one multi-statement
+   * execution.
+   * <p>
+   * Default is {@code false}, the statements are executed one by one.
+   *
+   * @return If pipelined statements are sent in one execution, return {@code true}
+   *
+   * @since 3.5.14
+   */
+  public boolean isMultiStatementPipeline() {
+    return multiStatementPipeline;
+  }
+
+  /**
+   * Sets whether the statements of a {@link StatementPipeline} are sent to the database as one multi-statement
+   * execution. The driver must accept several statements separated by {@code ;} in one prepared statement.
+   *
+   * @param multiStatementPipeline
+   *          If pipelined statements are sent in one execution, set {@code true}
+   *
+   * @since 3.5.14
+   */
+  public void setMultiStatementPipeline(boolean multiStatementPipeline) {
+    this.multiStatementPipeline = multiStatementPipeline;
+  }
+
+  /**
+   * Gets the execution metrics of the mapped statements.
+   *
+   * @return the execution metrics
+   *
+   * @since 3.5.14
+   */
+  public ExecutionMetrics getExecutionMetrics() {
+    return executionMetrics;
+  }
+
+  /**
+   * Gets the tracer of the executed SQL statements.
+   *
+   * @return the SQL tracer, or {@code null} if not set
+   *
+   * @since 3.5.14
+   */
+  public SqlTracer getSqlTracer() {
+    return sqlTracer;
+  }
+
+  /**
+   * Sets the tracer of the executed SQL statements.
+   * <p>
+   * The JDBC logging proxies are not used for the statements that the tracer traces, and their statement logs only
+   * receive what the tracer writes (e.g. with {@link org.apache.ibatis.logging.tracing.LoggingSqlTracer}).
+   *
+   * @param sqlTracer
+   *          the SQL tracer
+   *
+   * @since 3.5.14
+   */
+  public void setSqlTracer(SqlTracer sqlTracer) {
+    this.sqlTracer = sqlTracer;
+  }
+
+  /**
+   * Gets the ratio of executions traced by the tracer of the {@code sqlTracer} setting.
+   *
+   * @return the sample rate, or {@code null} if every execution is traced
+   *
+   * @since 3.5.14
+   */
+  public Double getSqlTracerSampleRate() {
+    return sqlTracerSampleRate;
+  }
+
+  /**
+   * Sets the ratio of executions traced by the tracer of the {@code sqlTracer} setting. The XML configuration wraps
+   * that tracer in a {@link org.apache.ibatis.logging.tracing.SamplingSqlTracer} when set.
+   *
+   * @param sqlTracerSampleRate
+   *          the sample rate, between {@code 0.0} and {@code 1.0}
+   *
+   * @since 3.5.14
+   */
+  public void setSqlTracerSampleRate(Double sqlTracerSampleRate) {
+    this.sqlTracerSampleRate = sqlTracerSampleRate;
+  }
+
+  /**
+   * Gets the capacity of the queue of trace events when the tracer of the {@code sqlTracer} setting is called
+   * asynchronously.
+   *
+   * @return the queue capacity, or {@code null} if the tracer is called by the executing thread
+   *
+   * @since 3.5.14
+   */
+  public Integer getSqlTracerAsyncCapacity() {
+    return sqlTracerAsyncCapacity;
+  }
+
+  /**
+   * Sets the capacity of the queue of trace events when the tracer of the {@code sqlTracer} setting is called
+   * asynchronously. The XML configuration wraps that tracer in an
+   * {@link org.apache.ibatis.logging.tracing.AsyncSqlTracer} when set.
+   *
+   * @param sqlTracerAsyncCapacity
+   *          the queue capacity
+   *
+   * @since 3.5.14
+   */
+  public void setSqlTracerAsyncCapacity(Integer sqlTracerAsyncCapacity) {
+    this.sqlTracerAsyncCapacity = sqlTracerAsyncCapacity;
+  }
+
   public boolean isShrinkWhitespacesInSql() {
     return shrinkWhitespacesInSql;
   }
@@ -716,6 +1096,23 @@ public class Configuration {
     return (StatementHandler) interceptorChain.pluginAll(statementHandler);
   }
 
+  /**
+   * Creates a publisher emitting the items of a cursor on the {@link #getCursorPublisherExecutor() cursor publisher
+   * executor}, if any.
+   *
+   * @param <T>
+   *          the type of the emitted items
+   * @param cursorSupplier
+   *          opens the cursor when the first items are requested
+   *
+   * @return the publisher
+   *
+   * @since 3.5.14
+   */
+  public <T> CursorPublisher<T> newCursorPublisher(Supplier<? extends Cursor<T>> cursorSupplier) {
+    return new CursorPublisher<>(cursorSupplier, cursorPublisherExecutor, cursorPublisherBatchSize);
+  }
+
   public Executor newExecutor(Transaction transaction) {
     return newExecutor(transaction, defaultExecutorType);
   }
@@ -17,11 +17,15 @@ package org.apache.ibatis.session;
 
 import java.io.Closeable;
 import java.sql.Connection;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
 
 import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.cursor.CursorPublisher;
 import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.mapping.SqlCommandType;
 
 /**
  * The primary Java interface for working with MyBatis. Through this interface you can execute commands, get mappers and
@@ -198,6 +202,92 @@ public interface SqlSession extends Closeable {
    */
   <T> Cursor<T> selectCursor(String statement, Object parameter, RowBounds rowBounds);
 
+  /**
+   * A CursorPublisher emits the results of a Cursor on demand. The statement is executed when the first items are
+   * requested and cancelling the subscription closes it. Items are emitted on the
+   * {@link Configuration#getCursorPublisherExecutor() cursor publisher executor}, if any.
+   *
+   * @param <T>
+   *          the returned publisher element type.
+   * @param statement
+   *          Unique identifier matching the statement to use.
+   *
+   * @return CursorPublisher of mapped objects
+   *
+   * @since 3.5.14
+   */
+  default <T> CursorPublisher<T> selectPublisher(String statement) {
+    return getConfiguration().newCursorPublisher(() -> selectCursor(statement));
+  }
+
+  /**
+   * A CursorPublisher emits the results of a Cursor on demand. The statement is executed when the first items are
+   * requested and cancelling the subscription closes it. Items are emitted on the
+   * {@link Configuration#getCursorPublisherExecutor() cursor publisher executor}, if any.
+   *
+   * @param <T>
+   *          the returned publisher element type.
+   * @param statement
+   *          Unique identifier matching the statement to use.
+   * @param parameter
+   *          A parameter object to pass to the statement.
+   *
+   * @return CursorPublisher of mapped objects
+   *
+   * @since 3.5.14
+   */
+  default <T> CursorPublisher<T> selectPublisher(String statement, Object parameter) {
+    return getConfiguration().newCursorPublisher(() -> selectCursor(statement, parameter));
+  }
+
+  /**
+   * A CursorPublisher emits the results of a Cursor on demand. The statement is executed when the first items are
+   * requested and cancelling the subscription closes it. Items are emitted on the
+   * {@link Configuration#getCursorPublisherExecutor() cursor publisher executor}, if any.
+   *
+   * @param <T>
+   *          the returned publisher element type.
+   * @param statement
+   *          Unique identifier matching the statement to use.
+   * @param parameter
+   *          A parameter object to pass to the statement.
+   * @param rowBounds
+   *          Bounds to limit object retrieval
+   *
+   * @return CursorPublisher of mapped objects
+   *
+   * @since 3.5.14
+   */
+  default <T> CursorPublisher<T> selectPublisher(String statement, Object parameter, RowBounds rowBounds) {
+    return getConfiguration().newCursorPublisher(() -> selectCursor(statement, parameter, rowBounds));
+  }
+
+  /**
+   * A CursorPublisher emits the results of a Cursor on demand. The statement is executed when the first items are
+   * requested and cancelling the subscription closes it.
+   *
+   * @param <T>
+   *          the returned publisher element type.
+   * @param statement
+   *          Unique identifier matching the statement to use.
+   * @param parameter
+   *          A parameter object to pass to the statement.
+   * @param rowBounds
+   *          Bounds to limit object retrieval
+   * @param executor
+   *          the executor emitting the items, or {@code null} to emit them on the thread requesting them
+   * @param batchSize
+   *          the maximum number of items emitted by a task of the executor before it is rescheduled
+   *
+   * @return CursorPublisher of mapped objects
+   *
+   * @since 3.5.14
+   */
+  default <T> CursorPublisher<T> selectPublisher(String statement, Object parameter, RowBounds rowBounds,
+      Executor executor, int batchSize) {
+    return new CursorPublisher<>(() -> selectCursor(statement, parameter, rowBounds), executor, batchSize);
+  }
+
   /**
    * Retrieve a single row mapped from the statement key and parameter using a {@code ResultHandler}.
    *
@@ -302,6 +392,43 @@ public interface SqlSession extends Closeable {
    */
   int delete(String statement, Object parameter);
 
+  /**
+   * Creates a pipeline that queues several independent statements and executes them together, in one round trip when
+   * {@link Configuration#isMultiStatementPipeline()} is enabled.
+   *
+   * @return a new pipeline bound to this session
+   *
+   * @since 3.5.14
+   */
+  default StatementPipeline pipeline() {
+    return new StatementPipeline(this);
+  }
+
+  /**
+   * Executes several statements, in order, as a pipeline. The default implementation executes them one by one.
+   *
+   * @param statements
+   *          Unique identifiers matching the statements to execute.
+   * @param parameters
+   *          The parameter object of each statement.
+   *
+   * @return one value per statement: the list of results of a select, the number of affected rows otherwise
+   *
+   * @since 3.5.14
+   */
+  default List<Object> executePipeline(List<String> statements, List<Object> parameters) {
+    List<Object> results = new ArrayList<>(statements.size());
+    for (int i = 0; i < statements.size(); i++) {
+      String statement = statements.get(i);
+      if (getConfiguration().getMappedStatement(statement).getSqlCommandType() == SqlCommandType.SELECT) {
+        results.add(selectList(statement, parameters.get(i)));
+      } else {
+        results.add(update(statement, parameters.get(i)));
+      }
+    }
+    return results;
+  }
+
   /**
    * Flushes batch statements and commits database connection. Note that database connection will not be committed if no
    * updates/deletes/inserts were called. To force the commit call {@link SqlSession#commit(boolean)}
@@ -93,6 +93,9 @@ public class SqlSessionFactoryBuilder {
   }
 
   public SqlSessionFactory build(Configuration config) {
+    if (config.isWarmUpReflectors()) {
+      config.warmUpReflectors();
+    }
     return new DefaultSqlSessionFactory(config);
   }
 
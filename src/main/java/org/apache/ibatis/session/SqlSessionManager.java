@@ -254,6 +254,11 @@ public class SqlSessionManager implements SqlSessionFactory, SqlSession {
     return sqlSessionProxy.delete(statement, parameter);
   }
 
+  @Override
+  public List<Object> executePipeline(List<String> statements, List<Object> parameters) {
+    return sqlSessionProxy.executePipeline(statements, parameters);
+  }
+
   @Override
   public <T> T getMapper(Class<T> type) {
     return getConfiguration().getMapper(type, this);
@@ -0,0 +1,182 @@
+/*
+ *    Copyright 2009-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.session;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.ibatis.exceptions.TooManyResultsException;
+
+/**
+ * Queues several independent mapped statements and executes them together.
+ * <p>
+ * When {@link Configuration#isMultiStatementPipeline()} is enabled, the queued statements are sent to the database as
+ * one multi-statement execution, so a page that needs ten small queries pays one round trip instead of ten. Otherwise
+ * they are executed one by one. Either way the statements run in the order they were queued, and the value of each of
+ * them is available from its {@link Result} once {@link #execute()} has returned.
+ *
+ * <pre>
+ * StatementPipeline pipeline = sqlSession.pipeline();
+ * StatementPipeline.Result&lt;List&lt;Blog&gt;&gt; blogs = pipeline.selectList("selectRecentBlogs");
+ * StatementPipeline.Result&lt;Author&gt; author = pipeline.selectOne("selectAuthor", 101);
+ * StatementPipeline.Result&lt;Integer&gt; visits = pipeline.update("incrementVisits", 101);
+ * pipeline.execute();
+ * </pre>
+ *
+ * @since 3.5.14
+ */
+public class StatementPipeline {
+
+  private final SqlSession sqlSession;
+  private final List<String> statements = new ArrayList<>();
+  private final List<Object> parameters = new ArrayList<>();
+  private final List<Result<?>> results = new ArrayList<>();
+  private boolean executed;
+
+  public StatementPipeline(SqlSession sqlSession) {
+    this.sqlSession = sqlSession;
+  }
+
+  public <T> Result<T> selectOne(String statement) {
+    return selectOne(statement, null);
+  }
+
+  public <T> Result<T> selectOne(String statement, Object parameter) {
+    return add(statement, parameter, true);
+  }
+
+  public <E> Result<List<E>> selectList(String statement) {
+    return selectList(statement, null);
+  }
+
+  public <E> Result<List<E>> selectList(String statement, Object parameter) {
+    return add(statement, parameter, false);
+  }
+
+  public Result<Integer> insert(String statement) {
+    return update(statement, null);
+  }
+
+  public Result<Integer> insert(String statement, Object parameter) {
+    return update(statement, parameter);
+  }
+
+  public Result<Integer> update(String statement) {
+    return update(statement, null);
+  }
+
+  public Result<Integer> update(String statement, Object parameter) {
+    return add(statement, parameter, false);
+  }
+
+  public Result<Integer> delete(String statement) {
+    return update(statement, null);
+  }
+
+  public Result<Integer> delete(String statement, Object parameter) {
+    return update(statement, parameter);
+  }
+
+  /**
+   * Returns the number of queued statements.
+   *
+   * @return the number of queued statements
+   */
+  public int size() {
+    return statements.size();
+  }
+
+  /**
+   * Executes the queued statements and makes their values available from their {@link Result}.
+   */
+  public void execute() {
+    if (executed) {
+      throw new IllegalStateException("The pipeline has already been executed.");
+    }
+    executed = true;
+    if (statements.isEmpty()) {
+      return;
+    }
+    List<Object> values = sqlSession.executePipeline(statements, parameters);
+    for (int i = 0; i < results.size(); i++) {
+      results.get(i).complete(values.get(i));
+    }
+  }
+
+  private <T> Result<T> add(String statement, Object parameter, boolean single) {
+    if (executed) {
+      throw new IllegalStateException("The pipeline has already been executed.");
+    }
+    Result<T> result = new Result<>(single);
+    statements.add(statement);
+    parameters.add(parameter);
+    results.add(result);
+    return result;
+  }
+
+  /**
+   * The value of a statement of the pipeline.
+   *
+   * @param <T>
+   *          the value type
+   */
+  public static final class Result<T> {
+
+    private final boolean single;
+    private boolean done;
+    private Object value;
+
+    private Result(boolean single) {
+      this.single = single;
+    }
+
+    private void complete(Object value) {
+      this.value = value;
+      this.done = true;
+    }
+
+    /**
+     * Returns whether the pipeline has been executed.
+     *
+     * @return {@code true} if the value is available
+     */
+    public boolean isDone() {
+      return done;
+    }
+
+    /**
+     * Returns the value of the statement: the list of results of a select (or the single result of a
+     * {@code selectOne}), the number of affected rows otherwise.
+     *
+     * @return the value of the statement
+     */
+    @SuppressWarnings("unchecked")
+    public T get() {
+      if (!done) {
+        throw new IllegalStateException("The pipeline has not been executed yet.");
+      }
+      if (!single) {
+        return (T) value;
+      }
+      List<?> list = (List<?>) value;
+      if (list.size() > 1) {
+        throw new TooManyResultsException(
+            "Expected one result (or null) to be returned by selectOne(), but found: " + list.size());
+      }
+      return list.isEmpty() ? null : (T) list.get(0);
+    }
+  }
+}
@@ -33,6 +33,7 @@ import org.apache.ibatis.executor.Executor;
 import org.apache.ibatis.executor.result.DefaultMapResultHandler;
 import org.apache.ibatis.executor.result.DefaultResultContext;
 import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
 import org.apache.ibatis.reflection.ParamNameResolver;
 import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.session.ResultHandler;
@@ -212,6 +213,25 @@ public class DefaultSqlSession implements SqlSession {
     return update(statement, parameter);
   }
 
+  @Override
+  public List<Object> executePipeline(List<String> statements, List<Object> parameters) {
+    try {
+      List<MappedStatement> mappedStatements = new ArrayList<>(statements.size());
+      List<Object> wrappedParameters = new ArrayList<>(parameters.size());
+      for (int i = 0; i < statements.size(); i++) {
+        MappedStatement ms = configuration.getMappedStatement(statements.get(i));
+        dirty |= ms.getSqlCommandType() != SqlCommandType.SELECT || ms.isDirtySelect();
+        mappedStatements.add(ms);
+        wrappedParameters.add(wrapCollection(parameters.get(i)));
+      }
+      return executor.pipeline(mappedStatements, wrappedParameters);
+    } catch (Exception e) {
+      throw ExceptionFactory.wrapException("Error executing pipeline.  Cause: " + e, e);
+    } finally {
+      ErrorContext.instance().reset();
+    }
+  }
+
   @Override
   public void commit() {
     commit(false);
@@ -42,11 +42,13 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import org.apache.ibatis.binding.MapperMethod.ParamMap;
 import org.apache.ibatis.io.ResolverUtil;
 import org.apache.ibatis.io.Resources;
 import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.util.MapUtil;
 
 /**
  * @author Clinton Begin
@@ -61,6 +63,13 @@ public final class TypeHandlerRegistry {
 
   private static final Map<JdbcType, TypeHandler<?>> NULL_TYPE_HANDLER_MAP = Collections.emptyMap();
 
+  // Resolved handlers per java type, indexed by jdbc type (0 for null), cleared on each registration
+  private final Map<Type, AtomicReferenceArray<Object>> resolvedTypeHandlerMap = new ConcurrentHashMap<>();
+
+  private static final Object NO_TYPE_HANDLER = new Object();
+
+  private static final int JDBC_TYPE_SLOTS = JdbcType.values().length + 1;
+
   private Class<? extends TypeHandler> defaultEnumTypeHandler = EnumTypeHandler.class;
 
   /**
@@ -236,7 +245,20 @@ public final class TypeHandlerRegistry {
 
   @SuppressWarnings("unchecked")
   private <T> TypeHandler<T> getTypeHandler(Type type, JdbcType jdbcType) {
-    if (ParamMap.class.equals(type)) {
+    // get the slots before resolving, so a result computed before a registration is stored in the discarded slots
+    AtomicReferenceArray<Object> resolved = MapUtil.computeIfAbsent(resolvedTypeHandlerMap, type,
+        k -> new AtomicReferenceArray<>(JDBC_TYPE_SLOTS));
+    int slot = jdbcType == null ? 0 : jdbcType.ordinal() + 1;
+    Object handler = resolved.get(slot);
+    if (handler == null) {
+      handler = resolveTypeHandler(type, jdbcType);
+      resolved.set(slot, handler == null ? NO_TYPE_HANDLER : handler);
+    }
+    return handler == NO_TYPE_HANDLER ? null : (TypeHandler<T>) handler;
+  }
+
+  private TypeHandler<?> resolveTypeHandler(Type type, JdbcType jdbcType) {
+    if (type instanceof Class && ParamMap.class.isAssignableFrom((Class<?>) type)) {
       return null;
     }
     Map<JdbcType, TypeHandler<?>> jdbcHandlerMap = getJdbcHandlerMap(type);
@@ -251,8 +273,7 @@ public final class TypeHandlerRegistry {
         handler = pickSoleHandler(jdbcHandlerMap);
       }
     }
-    // type drives generics here
-    return (TypeHandler<T>) handler;
+    return handler;
   }
 
   private Map<JdbcType, TypeHandler<?>> getJdbcHandlerMap(Type type) {
@@ -400,6 +421,7 @@ public final class TypeHandlerRegistry {
       }
       map.put(jdbcType, handler);
       typeHandlerMap.put(javaType, map);
+      resolvedTypeHandlerMap.clear();
     }
     allTypeHandlersMap.put(handler.getClass(), handler);
   }
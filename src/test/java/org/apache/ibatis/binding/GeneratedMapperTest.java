@@ -0,0 +1,122 @@
+/*
+ *    Copyright 2009-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.binding;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.domain.blog.Author;
+import org.apache.ibatis.domain.blog.Blog;
+import org.apache.ibatis.domain.blog.Post;
+import org.apache.ibatis.domain.blog.Section;
+import org.apache.ibatis.exceptions.PersistenceException;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.RowBounds;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class GeneratedMapperTest {
+
+  private static SqlSessionFactory sqlSessionFactory;
+
+  @BeforeAll
+  static void setup() throws Exception {
+    DataSource dataSource = BaseDataTest.createBlogDataSource();
+    BaseDataTest.runScript(dataSource, BaseDataTest.BLOG_DDL);
+    BaseDataTest.runScript(dataSource, BaseDataTest.BLOG_DATA);
+    Environment environment = new Environment("Production", new JdbcTransactionFactory(), dataSource);
+    Configuration configuration = new Configuration(environment);
+    configuration.setUseActualParamName(false);
+    configuration.setUseGeneratedMapperClasses(true);
+    configuration.getTypeAliasRegistry().registerAlias(Blog.class);
+    configuration.getTypeAliasRegistry().registerAlias(Post.class);
+    configuration.getTypeAliasRegistry().registerAlias(Author.class);
+    configuration.addMapper(BoundBlogMapper.class);
+    configuration.addMapper(BoundAuthorMapper.class);
+    configuration.addMapper(AuthorNameMapper.class);
+    sqlSessionFactory = new SqlSessionFactoryBuilder().build(configuration);
+  }
+
+  @Test
+  void shouldUseGeneratedClass() {
+    try (SqlSession session = sqlSessionFactory.openSession()) {
+      BoundAuthorMapper mapper = session.getMapper(BoundAuthorMapper.class);
+      assertFalse(Proxy.isProxyClass(mapper.getClass()));
+      assertTrue(mapper instanceof GeneratedMapper);
+      assertSame(mapper.getClass(), session.getMapper(BoundAuthorMapper.class).getClass());
+    }
+  }
+
+  @Test
+  void shouldSelectAndUpdateThroughGeneratedClass() {
+    try (SqlSession session = sqlSessionFactory.openSession()) {
+      BoundAuthorMapper mapper = session.getMapper(BoundAuthorMapper.class);
+      assertEquals("jim", mapper.selectAuthor(101).getUsername());
+      List<Post> posts = mapper.findThreeSpecificPosts(1, new RowBounds(1, 1), 3, 5);
+      assertEquals(1, posts.size());
+      assertEquals(3, posts.get(0).getId());
+      assertEquals(3, mapper.findPostsInArray(new Integer[] { 1, 3, 5 }).size());
+      Author author = new Author(-1, "cbegin", "******", "cbegin@nowhere.com", "N/A", Section.NEWS);
+      assertEquals(1, mapper.insertAuthor(author));
+      session.rollback();
+    }
+  }
+
+  @Test
+  void shouldCallDefaultMethod() {
+    try (SqlSession session = sqlSessionFactory.openSession()) {
+      AuthorNameMapper mapper = session.getMapper(AuthorNameMapper.class);
+      assertEquals("JIM", mapper.selectUpperCaseName(101));
+    }
+  }
+
+  @Test
+  void shouldPropagateExceptionsUnwrapped() {
+    try (SqlSession session = sqlSessionFactory.openSession()) {
+      AuthorNameMapper mapper = session.getMapper(AuthorNameMapper.class);
+      assertThrows(PersistenceException.class, () -> mapper.selectInvalid(101));
+    }
+  }
+
+  public interface AuthorNameMapper {
+    @Select("select username from author where id = #{id}")
+    String selectName(@Param("id") int id);
+
+    @Select("select username from unknown_table where id = #{id}")
+    String selectInvalid(@Param("id") int id);
+
+    default String selectUpperCaseName(int id) {
+      return selectName(id).toUpperCase();
+    }
+  }
+
+}
@@ -51,6 +51,7 @@ import org.apache.ibatis.executor.loader.javassist.JavassistProxyFactory;
 import org.apache.ibatis.io.JBoss6VFS;
 import org.apache.ibatis.io.Resources;
 import org.apache.ibatis.logging.slf4j.Slf4jImpl;
+import org.apache.ibatis.logging.tracing.SamplingSqlTracer;
 import org.apache.ibatis.mapping.Environment;
 import org.apache.ibatis.mapping.ResultSetType;
 import org.apache.ibatis.scripting.defaults.RawLanguageDriver;
@@ -111,6 +112,17 @@ class XmlConfigBuilderTest {
       assertThat(config.isArgNameBasedConstructorAutoMapping()).isFalse();
       assertThat(config.getDefaultSqlProviderType()).isNull();
       assertThat(config.isNullableOnForEach()).isFalse();
+      assertThat(config.isUseGeneratedMapperClasses()).isFalse();
+      assertThat(config.isWarmUpReflectors()).isFalse();
+      assertThat(config.getSqlTracer()).isNull();
+      assertThat(config.getSqlTracerSampleRate()).isNull();
+      assertThat(config.getCursorPublisherBatchSize()).isEqualTo(256);
+      assertThat(config.getSqlTracerAsyncCapacity()).isNull();
+      assertThat(config.isMetricsEnabled()).isFalse();
+      assertThat(config.isStreamingCursors()).isFalse();
+      assertNull(config.getCursorPrefetchSize());
+      assertThat(config.isRewriteBatchedInserts()).isFalse();
+      assertThat(config.isMultiStatementPipeline()).isFalse();
     }
   }
 
@@ -217,6 +229,17 @@ class XmlConfigBuilderTest {
       assertThat(config.isArgNameBasedConstructorAutoMapping()).isTrue();
       assertThat(config.getDefaultSqlProviderType().getName()).isEqualTo(MySqlProvider.class.getName());
       assertThat(config.isNullableOnForEach()).isTrue();
+      assertThat(config.isUseGeneratedMapperClasses()).isTrue();
+      assertThat(config.isWarmUpReflectors()).isTrue();
+      assertThat(config.getSqlTracer()).isInstanceOf(SamplingSqlTracer.class);
+      assertThat(config.getSqlTracerSampleRate()).isEqualTo(0.5);
+      assertThat(config.getCursorPublisherBatchSize()).isEqualTo(64);
+      assertThat(config.getSqlTracerAsyncCapacity()).isEqualTo(256);
+      assertThat(config.isMetricsEnabled()).isTrue();
+      assertThat(config.isStreamingCursors()).isTrue();
+      assertThat(config.getCursorPrefetchSize()).isEqualTo(500);
+      assertThat(config.isRewriteBatchedInserts()).isTrue();
+      assertThat(config.isMultiStatementPipeline()).isTrue();
 
       assertThat(config.getTypeAliasRegistry().getTypeAliases().get("blogauthor")).isEqualTo(Author.class);
       assertThat(config.getTypeAliasRegistry().getTypeAliases().get("blog")).isEqualTo(Blog.class);
@@ -16,6 +16,7 @@
 package org.apache.ibatis.builder.xml.dynamic;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.IOException;
 import java.io.Reader;
@@ -27,17 +28,21 @@ import java.util.List;
 import java.util.Map;
 
 import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.builder.SqlSourceBuilder;
 import org.apache.ibatis.io.Resources;
 import org.apache.ibatis.mapping.BoundSql;
 import org.apache.ibatis.scripting.xmltags.ChooseSqlNode;
+import org.apache.ibatis.scripting.xmltags.DynamicContext;
 import org.apache.ibatis.scripting.xmltags.DynamicSqlSource;
 import org.apache.ibatis.scripting.xmltags.ForEachSqlNode;
 import org.apache.ibatis.scripting.xmltags.IfSqlNode;
 import org.apache.ibatis.scripting.xmltags.MixedSqlNode;
 import org.apache.ibatis.scripting.xmltags.SetSqlNode;
 import org.apache.ibatis.scripting.xmltags.SqlNode;
+import org.apache.ibatis.scripting.xmltags.StaticTextSqlNode;
 import org.apache.ibatis.scripting.xmltags.TextSqlNode;
 import org.apache.ibatis.scripting.xmltags.WhereSqlNode;
+import org.apache.ibatis.scripting.xmltags.XMLLanguageDriver;
 import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.session.SqlSessionFactory;
 import org.apache.ibatis.session.SqlSessionFactoryBuilder;
@@ -280,6 +285,10 @@ class DynamicSqlSourceTest extends BaseDataTest {
     assertEquals("__frch_item_0", boundSql.getParameterMappings().get(0).getProperty());
     assertEquals("__frch_item_1", boundSql.getParameterMappings().get(1).getProperty());
     assertEquals("__frch_item_2", boundSql.getParameterMappings().get(2).getProperty());
+    assertTrue(boundSql.hasAdditionalParameter("__frch_item_0"));
+    assertEquals("one", boundSql.getAdditionalParameter("__frch_item_0"));
+    assertEquals("three", boundSql.getAdditionalParameter("__frch_item_2"));
+    assertEquals(parameterObject, boundSql.getAdditionalParameter(DynamicContext.PARAMETER_OBJECT_KEY));
   }
 
   @Test
@@ -361,6 +370,48 @@ class DynamicSqlSourceTest extends BaseDataTest {
     Assertions.assertEquals("id=", sql);
   }
 
+  @Test
+  void shouldShrinkWhitespacesWhileBuildingDynamicSql() {
+    String script = "<script>\n  SELECT *\n    FROM BLOG\n  <where>\n"
+        + "    <if test=\"ids != null\">\n      AND   ID IN\n"
+        + "      <foreach collection=\"ids\" item=\"id\" open=\"(\" separator=\",\" close=\")\">\n"
+        + "        #{id}\n      </foreach>\n    </if>\n"
+        + "    <if test=\"title != null\">\n\t\tOR\tTITLE = #{title}\n    </if>\n  </where>\n"
+        + "  <trim prefix=\"ORDER BY\" suffixOverrides=\",\">\n    ID,\n    <if test=\"title != null\"> TITLE ,</if>\n"
+        + "  </trim>\n</script>";
+    Map<String, Object> param = new HashMap<>();
+    param.put("ids", Arrays.asList(1, 2, 3));
+    param.put("title", "mybatis");
+
+    Configuration configuration = new Configuration();
+    String expected = SqlSourceBuilder.removeExtraWhitespaces(
+        new XMLLanguageDriver().createSqlSource(configuration, script, Map.class).getBoundSql(param).getSql());
+    assertEquals("SELECT * FROM BLOG WHERE ID IN ( ? , ? , ? ) OR TITLE = ? ORDER BY ID, TITLE", expected);
+
+    configuration.setShrinkWhitespacesInSql(true);
+    BoundSql boundSql = new XMLLanguageDriver().createSqlSource(configuration, script, Map.class).getBoundSql(param);
+    assertEquals(expected, boundSql.getSql());
+    assertEquals(4, boundSql.getParameterMappings().size());
+  }
+
+  @Test
+  void shouldShrinkWhitespacesOfSubstitutedValuesAndCustomNodes() {
+    Map<String, Object> param = new HashMap<>();
+    param.put("columns", "ID,\n    TITLE");
+    param.put("id", 1);
+    Configuration configuration = new Configuration();
+    configuration.setShrinkWhitespacesInSql(true);
+
+    String script = "<script>\n  SELECT ${columns}\n  FROM BLOG <where> ID = #{id} </where>\n</script>";
+    BoundSql boundSql = new XMLLanguageDriver().createSqlSource(configuration, script, Map.class).getBoundSql(param);
+    assertEquals("SELECT ID, TITLE FROM BLOG WHERE ID = ?", boundSql.getSql());
+
+    boundSql = new DynamicSqlSource(configuration,
+        mixedContents(new StaticTextSqlNode("SELECT *\n  FROM   BLOG"), new StaticTextSqlNode("WHERE  ID = #{id}")))
+            .getBoundSql(param);
+    assertEquals("SELECT * FROM BLOG WHERE ID = ?", boundSql.getSql());
+  }
+
   public static class Bean {
     public String id;
 
@@ -0,0 +1,127 @@
+/*
+ *    Copyright 2009-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.apache.ibatis.cache.decorators.LruCache;
+import org.apache.ibatis.cache.decorators.TaggedCache;
+import org.apache.ibatis.cache.decorators.TransactionalCache;
+import org.apache.ibatis.cache.impl.PerpetualCache;
+import org.junit.jupiter.api.Test;
+
+class TaggedCacheTest {
+
+  @Test
+  void shouldEvictOnlyEntriesOfTheTags() {
+    TaggedCache cache = new TaggedCache(new PerpetualCache("default"));
+    cache.putObject(1, "user 1", tags("users", "user:1"));
+    cache.putObject(2, "user 2", tags("users", "user:2"));
+    cache.putObject(3, "order 3", tags("orders"));
+    cache.evict(tags("user:1"));
+    assertNull(cache.getObject(1));
+    assertNotNull(cache.getObject(2));
+    assertNotNull(cache.getObject(3));
+    cache.evict(tags("users"));
+    assertNull(cache.getObject(2));
+    assertNotNull(cache.getObject(3));
+  }
+
+  @Test
+  void shouldClearAllItemsWhenAnEntryHasNoTags() {
+    TaggedCache cache = new TaggedCache(new PerpetualCache("default"));
+    cache.putObject(1, "user 1", tags("users"));
+    cache.putObject(2, "any");
+    cache.evict(tags("orders"));
+    assertNull(cache.getObject(1));
+    assertNull(cache.getObject(2));
+    cache.putObject(3, "order 3", tags("orders"));
+    cache.putObject(4, "user 4", tags("users"));
+    cache.evict(tags("orders"));
+    assertNull(cache.getObject(3));
+    assertNotNull(cache.getObject(4));
+  }
+
+  @Test
+  void shouldForgetTagsOfRemovedEntries() {
+    TaggedCache cache = new TaggedCache(new PerpetualCache("default"));
+    cache.putObject(1, "user 1", tags("users"));
+    cache.removeObject(1);
+    cache.putObject(1, "order 1", tags("orders"));
+    cache.evict(tags("users"));
+    assertNotNull(cache.getObject(1));
+  }
+
+  @Test
+  void shouldResetWhenTrackingTooManyKeys() {
+    LruCache lru = new LruCache(new PerpetualCache("default"));
+    lru.setSize(10);
+    TaggedCache cache = new TaggedCache(lru);
+    for (int i = 0; i < 1024; i++) {
+      cache.putObject(i, i, tags("numbers"));
+    }
+    assertEquals(10, cache.getSize());
+    cache.putObject(1024, 1024, tags("numbers"));
+    assertEquals(1, cache.getSize());
+    assertNotNull(cache.getObject(1024));
+  }
+
+  @Test
+  void shouldEvictOnCommitOnly() {
+    TaggedCache cache = new TaggedCache(new PerpetualCache("default"));
+    cache.putObject(1, "user 1", tags("user:1"));
+    cache.putObject(2, "user 2", tags("user:2"));
+    TransactionalCache txCache = new TransactionalCache(cache);
+    txCache.evict(tags("user:1"));
+    assertNull(txCache.getObject(1, tags("user:1")));
+    assertNotNull(txCache.getObject(2, tags("user:2")));
+    assertNull(txCache.getObject(2, null));
+    assertNotNull(cache.getObject(1));
+    txCache.putObject(3, "user 3", tags("user:3"));
+    txCache.commit();
+    assertNull(cache.getObject(1));
+    assertNotNull(cache.getObject(2));
+    assertNotNull(cache.getObject(3));
+    txCache.evict(tags("user:3"));
+    txCache.rollback();
+    assertNotNull(cache.getObject(3));
+  }
+
+  @Test
+  void shouldClearCachesNotTrackingTags() {
+    Cache cache = new PerpetualCache("default");
+    cache.putObject(1, "user 1");
+    cache.putObject(2, "user 2");
+    TransactionalCache txCache = new TransactionalCache(cache);
+    txCache.putObject(3, "user 3", tags("user:3"));
+    txCache.evict(tags("user:1"));
+    txCache.commit();
+    assertNull(cache.getObject(1));
+    assertNull(cache.getObject(2));
+    assertNull(cache.getObject(3));
+  }
+
+  private static Set<String> tags(String... tags) {
+    return new HashSet<>(Arrays.asList(tags));
+  }
+
+}
@@ -0,0 +1,127 @@
+/*
+ *    Copyright 2009-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.datasource.routing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Properties;
+
+import javax.sql.DataSource;
+
+import org.apache.ibatis.datasource.DataSourceException;
+import org.apache.ibatis.datasource.pooled.PooledDataSource;
+import org.junit.jupiter.api.Test;
+
+class RoutingDataSourceTest {
+
+  @Test
+  void shouldUseReplicaWithLeastOutstandingConnections() throws SQLException {
+    DataSource primary = dataSource();
+    DataSource replica1 = dataSource();
+    DataSource replica2 = dataSource();
+    RoutingDataSource dataSource = new RoutingDataSource(primary, Arrays.asList(replica1, replica2));
+
+    Connection first = dataSource.getReplicaConnection();
+    Connection second = dataSource.getReplicaConnection();
+    assertThat(dataSource.getOutstandingConnections(0)).isEqualTo(1);
+    assertThat(dataSource.getOutstandingConnections(1)).isEqualTo(1);
+
+    first.close();
+    first.close();
+    assertThat(dataSource.getOutstandingConnections(0) + dataSource.getOutstandingConnections(1)).isEqualTo(1);
+    int idle = dataSource.getOutstandingConnections(0) == 0 ? 0 : 1;
+    Connection third = dataSource.getReplicaConnection();
+    assertThat(dataSource.getOutstandingConnections(idle)).isEqualTo(1);
+
+    second.close();
+    third.close();
+    assertThat(dataSource.getOutstandingConnections(0)).isZero();
+    assertThat(dataSource.getOutstandingConnections(1)).isZero();
+  }
+
+  @Test
+  void shouldWriteToPrimary() throws SQLException {
+    DataSource primary = dataSource();
+    Connection connection = mock(Connection.class);
+    when(primary.getConnection()).thenReturn(connection);
+    RoutingDataSource dataSource = new RoutingDataSource(primary, Arrays.asList(dataSource()));
+    assertThat(dataSource.getConnection()).isSameAs(connection);
+    assertThat(dataSource.getOutstandingConnections(0)).isZero();
+  }
+
+  @Test
+  void shouldFallBackWhenReplicaFails() throws SQLException {
+    DataSource primary = dataSource();
+    Connection primaryConnection = mock(Connection.class);
+    when(primary.getConnection()).thenReturn(primaryConnection);
+    DataSource broken = mock(DataSource.class);
+    when(broken.getConnection()).thenThrow(new SQLException("down"));
+    DataSource replica = dataSource();
+    RoutingDataSource dataSource = new RoutingDataSource(primary, Arrays.asList(broken, replica));
+
+    for (int i = 0; i < 4; i++) {
+      assertThat(dataSource.getReplicaConnection()).isNotSameAs(primaryConnection);
+    }
+    assertThat(dataSource.getOutstandingConnections(0)).isZero();
+    assertThat(dataSource.getOutstandingConnections(1)).isEqualTo(4);
+
+    RoutingDataSource allBroken = new RoutingDataSource(primary, Arrays.asList(broken));
+    assertThat(allBroken.getReplicaConnection()).isSameAs(primaryConnection);
+  }
+
+  @Test
+  void shouldCreatePooledDataSources() {
+    Properties properties = new Properties();
+    properties.setProperty("driver", "org.hsqldb.jdbcDriver");
+    properties.setProperty("username", "sa");
+    properties.setProperty("primary.url", "jdbc:hsqldb:mem:primary");
+    properties.setProperty("replica.b.url", "jdbc:hsqldb:mem:replica_b");
+    properties.setProperty("replica.a.url", "jdbc:hsqldb:mem:replica_a");
+    properties.setProperty("replica.a.poolMaximumActiveConnections", "20");
+    RoutingDataSourceFactory factory = new RoutingDataSourceFactory();
+    factory.setProperties(properties);
+
+    RoutingDataSource dataSource = (RoutingDataSource) factory.getDataSource();
+    PooledDataSource primary = (PooledDataSource) dataSource.getPrimary();
+    assertThat(primary.getUrl()).isEqualTo("jdbc:hsqldb:mem:primary");
+    assertThat(primary.getUsername()).isEqualTo("sa");
+    assertThat(dataSource.getReplicas()).extracting(replica -> ((PooledDataSource) replica).getUrl())
+        .containsExactly("jdbc:hsqldb:mem:replica_a", "jdbc:hsqldb:mem:replica_b");
+    assertThat(((PooledDataSource) dataSource.getReplicas().get(0)).getPoolMaximumActiveConnections()).isEqualTo(20);
+    assertThat(((PooledDataSource) dataSource.getReplicas().get(1)).getPoolMaximumActiveConnections()).isEqualTo(10);
+  }
+
+  @Test
+  void shouldRejectInvalidReplicaProperty() {
+    Properties properties = new Properties();
+    properties.setProperty("replica.url", "jdbc:hsqldb:mem:replica");
+    assertThatThrownBy(() -> new RoutingDataSourceFactory().setProperties(properties))
+        .isInstanceOf(DataSourceException.class).hasMessageContaining("replica.<name>.<property>");
+  }
+
+  private static DataSource dataSource() throws SQLException {
+    DataSource dataSource = mock(DataSource.class);
+    when(dataSource.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+    return dataSource;
+  }
+
+}
@@ -0,0 +1,58 @@
+/*
+ *    Copyright 2009-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class MultiRowInsertTest {
+
+  @Test
+  void shouldRewriteSimpleInsert() {
+    MultiRowInsert insert = MultiRowInsert.parse("insert into users (id, name) values (?, upper(?))", 2);
+    assertThat(insert).isNotNull();
+    assertThat(insert.getSql(3))
+        .isEqualTo("insert into users (id, name) values (?, upper(?)), (?, upper(?)), (?, upper(?))");
+    assertThat(insert.getRowsPerStatement()).isEqualTo(MultiRowInsert.MAX_ROWS);
+  }
+
+  @Test
+  void shouldBoundParametersPerStatement() {
+    assertThat(MultiRowInsert.parse("INSERT INTO t VALUES(?, ?, ?, ?, ?, ?, ?)", 7).getRowsPerStatement())
+        .isEqualTo(MultiRowInsert.MAX_PARAMETERS / 7);
+  }
+
+  @Test
+  void shouldIgnoreKeywordsInLiteralsAndIdentifiers() {
+    MultiRowInsert insert = MultiRowInsert.parse("insert into \"values\" (a, values_b) values ('values (?)', ?);", 1);
+    assertThat(insert).isNotNull();
+    assertThat(insert.getSql(2))
+        .isEqualTo("insert into \"values\" (a, values_b) values ('values (?)', ?), ('values (?)', ?)");
+  }
+
+  @Test
+  void shouldNotRewriteOtherStatements() {
+    assertThat(MultiRowInsert.parse("update users set name = ? where id = ?", 2)).isNull();
+    assertThat(MultiRowInsert.parse("insert into users select id, name from other where id = ?", 1)).isNull();
+    assertThat(MultiRowInsert.parse("insert into users values (?, ?), (?, ?)", 4)).isNull();
+    assertThat(MultiRowInsert.parse("insert into users values (?, ?) on conflict do nothing", 2)).isNull();
+    assertThat(MultiRowInsert.parse("insert into users values (?, ?) returning id", 2)).isNull();
+    assertThat(MultiRowInsert.parse("insert into users values (?) -- comment", 1)).isNull();
+    assertThat(MultiRowInsert.parse("insert into users (id) select ? from dual where 1 = (?)", 2)).isNull();
+  }
+
+}
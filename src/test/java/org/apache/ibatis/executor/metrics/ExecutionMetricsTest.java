@@ -0,0 +1,152 @@
+/*
+ *    Copyright 2009-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.TabularData;
+import javax.sql.DataSource;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ExecutionMetricsTest {
+
+  private static Configuration configuration;
+  private static SqlSessionFactory sqlSessionFactory;
+
+  @BeforeAll
+  static void setup() throws Exception {
+    DataSource dataSource = BaseDataTest.createBlogDataSource();
+    BaseDataTest.runScript(dataSource, BaseDataTest.BLOG_DDL);
+    BaseDataTest.runScript(dataSource, BaseDataTest.BLOG_DATA);
+    Environment environment = new Environment("Production", new JdbcTransactionFactory(), dataSource);
+    configuration = new Configuration(environment);
+    configuration.setMetricsEnabled(true);
+    configuration.addMapper(AuthorMapper.class);
+    sqlSessionFactory = new SqlSessionFactoryBuilder().build(configuration);
+  }
+
+  @BeforeEach
+  void reset() {
+    configuration.getExecutionMetrics().reset();
+  }
+
+  @Test
+  void shouldRecordHistogramPercentiles() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    assertEquals(0, histogram.getP99Nanos());
+    for (long i = 1; i <= 1000; i++) {
+      histogram.record(i * 1000);
+    }
+    assertEquals(1000, histogram.getCount());
+    assertEquals(1_000_000, histogram.getMaxNanos());
+    assertEquals(500_500, histogram.getMeanNanos());
+    assertTrue(Math.abs(histogram.getP50Nanos() - 500_000) <= 500_000 / 8);
+    assertTrue(Math.abs(histogram.getP99Nanos() - 990_000) <= 990_000 / 8);
+    assertEquals(1_000_000, histogram.getPercentileNanos(100.0));
+  }
+
+  @Test
+  void shouldMapEveryValueToBucketContainingIt() {
+    for (long value : new long[] { 0, 1, 15, 16, 17, 31, 32, 1000, 123_456_789, Long.MAX_VALUE }) {
+      int index = LatencyHistogram.bucketIndex(value);
+      assertTrue(value <= LatencyHistogram.bucketUpperBound(index));
+      assertTrue(index == 0 || value > LatencyHistogram.bucketUpperBound(index - 1));
+    }
+  }
+
+  @Test
+  void shouldRecordExecutionsAndLocalCache() {
+    try (SqlSession session = sqlSessionFactory.openSession()) {
+      AuthorMapper mapper = session.getMapper(AuthorMapper.class);
+      mapper.selectName(101);
+      mapper.selectName(101);
+      mapper.selectName(102);
+    }
+    StatementMetrics metrics = configuration.getExecutionMetrics()
+        .getStatementMetrics(AuthorMapper.class.getName() + ".selectName");
+    assertEquals(2, metrics.getExecutionCount());
+    assertEquals(2, metrics.getRowCount());
+    assertEquals(0, metrics.getErrorCount());
+    assertEquals(1, metrics.getLocalCacheHits());
+    assertEquals(2, metrics.getLocalCacheMisses());
+    assertEquals(1.0 / 3, metrics.getLocalCacheHitRatio(), 0.0001);
+    assertTrue(configuration.getExecutionMetrics().getConnectionWait().getCount() > 0);
+  }
+
+  @Test
+  void shouldRecordBatches() {
+    try (SqlSession session = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+      AuthorMapper mapper = session.getMapper(AuthorMapper.class);
+      mapper.updateBio(101, "bio1");
+      mapper.updateBio(102, "bio2");
+      mapper.updateBio(999, "bio3");
+      session.flushStatements();
+      session.rollback();
+    }
+    StatementMetrics metrics = configuration.getExecutionMetrics()
+        .getStatementMetrics(AuthorMapper.class.getName() + ".updateBio");
+    assertEquals(1, metrics.getExecutionCount());
+    assertEquals(2, metrics.getRowCount());
+    assertEquals(1, metrics.getBatchCount());
+    assertEquals(3, metrics.getBatchedStatementCount());
+    assertEquals(3, metrics.getMaxBatchSize());
+  }
+
+  @Test
+  void shouldRegisterAsMXBean() throws Exception {
+    try (SqlSession session = sqlSessionFactory.openSession()) {
+      session.getMapper(AuthorMapper.class).selectName(101);
+    }
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    ObjectName name = new ObjectName("org.apache.ibatis:type=ExecutionMetrics,name=test");
+    server.registerMBean(configuration.getExecutionMetrics(), name);
+    try {
+      TabularData data = (TabularData) server.getAttribute(name, "StatementMetrics");
+      assertFalse(data.isEmpty());
+    } finally {
+      server.unregisterMBean(name);
+    }
+  }
+
+  public interface AuthorMapper {
+    @Select("select username from author where id = #{id}")
+    String selectName(@Param("id") int id);
+
+    @Update("update author set bio = #{bio} where id = #{id}")
+    int updateBio(@Param("id") int id, @Param("bio") String bio);
+  }
+
+}
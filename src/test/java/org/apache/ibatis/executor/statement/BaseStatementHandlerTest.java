@@ -15,12 +15,17 @@
  */
 package org.apache.ibatis.executor.statement;
 
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 
@@ -57,6 +62,74 @@ class BaseStatementHandlerTest {
     reset(configuration, statement);
   }
 
+  @Test
+  void applyMysqlStreamingFetchSizeToCursor() throws SQLException {
+    doReturn(true).when(configuration).isStreamingCursors();
+    mockDatabaseProduct("MySQL");
+    doReturn(ResultSet.TYPE_FORWARD_ONLY).when(statement).getResultSetType();
+    doReturn(ResultSet.CONCUR_READ_ONLY).when(statement).getResultSetConcurrency();
+
+    BaseStatementHandler handler = new SimpleStatementHandler(null, mappedStatementBuilder.build(), null, null, null,
+        null);
+    handler.setCursorFetchSize(statement);
+
+    verify(statement).setFetchSize(Integer.MIN_VALUE);
+  }
+
+  @Test
+  void applyStreamingFetchSizeToCursor() throws SQLException {
+    doReturn(true).when(configuration).isStreamingCursors();
+    mockDatabaseProduct("HSQL Database Engine");
+
+    BaseStatementHandler handler = new SimpleStatementHandler(null, mappedStatementBuilder.build(), null, null, null,
+        null);
+    handler.setCursorFetchSize(statement);
+
+    verify(statement).setFetchSize(BaseStatementHandler.STREAMING_FETCH_SIZE);
+  }
+
+  @Test
+  void keepDefaultFetchSizeOfStreamingCursor() throws SQLException {
+    doReturn(true).when(configuration).isStreamingCursors();
+    doReturn(100).when(configuration).getDefaultFetchSize();
+    mockDatabaseProduct("HSQL Database Engine");
+
+    BaseStatementHandler handler = new SimpleStatementHandler(null, mappedStatementBuilder.build(), null, null, null,
+        null);
+    handler.setCursorFetchSize(statement);
+
+    verify(statement, never()).setFetchSize(anyInt());
+  }
+
+  @Test
+  void keepMappedStatementFetchSizeOfStreamingCursor() throws SQLException {
+    doReturn(true).when(configuration).isStreamingCursors();
+    mappedStatementBuilder.fetchSize(10);
+
+    BaseStatementHandler handler = new SimpleStatementHandler(null, mappedStatementBuilder.build(), null, null, null,
+        null);
+    handler.setCursorFetchSize(statement);
+
+    verifyNoInteractions(statement);
+  }
+
+  @Test
+  void notStreamCursorByDefault() throws SQLException {
+    BaseStatementHandler handler = new SimpleStatementHandler(null, mappedStatementBuilder.build(), null, null, null,
+        null);
+    handler.setCursorFetchSize(statement);
+
+    verifyNoInteractions(statement);
+  }
+
+  private void mockDatabaseProduct(String productName) throws SQLException {
+    Connection connection = mock(Connection.class);
+    DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+    doReturn(connection).when(statement).getConnection();
+    doReturn(metaData).when(connection).getMetaData();
+    doReturn(productName).when(metaData).getDatabaseProductName();
+  }
+
   @Test
   void notSpecifyTimeout() throws SQLException {
     BaseStatementHandler handler = new SimpleStatementHandler(null, mappedStatementBuilder.build(), null, null, null,
@@ -0,0 +1,172 @@
+/*
+ *    Copyright 2009-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.logging.tracing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+import org.apache.ibatis.exceptions.PersistenceException;
+import org.apache.ibatis.executor.parameter.ParameterHandler;
+import org.apache.ibatis.logging.tracing.SqlTraceEvent.ExecutionType;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SqlTracerTest {
+
+  private static Configuration configuration;
+  private static SqlSessionFactory sqlSessionFactory;
+  private final List<SqlTraceEvent> events = new CopyOnWriteArrayList<>();
+
+  @BeforeAll
+  static void setup() throws Exception {
+    DataSource dataSource = BaseDataTest.createBlogDataSource();
+    BaseDataTest.runScript(dataSource, BaseDataTest.BLOG_DDL);
+    BaseDataTest.runScript(dataSource, BaseDataTest.BLOG_DATA);
+    Environment environment = new Environment("Production", new JdbcTransactionFactory(), dataSource);
+    configuration = new Configuration(environment);
+    configuration.addMapper(AuthorMapper.class);
+    sqlSessionFactory = new SqlSessionFactoryBuilder().build(configuration);
+  }
+
+  @BeforeEach
+  void resetTracer() {
+    configuration.setSqlTracer(events::add);
+  }
+
+  @Test
+  void shouldTraceQuery() {
+    try (SqlSession session = sqlSessionFactory.openSession()) {
+      List<String> names = session.getMapper(AuthorMapper.class).selectNames(101, "jim");
+      assertEquals(Arrays.asList("jim"), names);
+    }
+    assertEquals(1, events.size());
+    SqlTraceEvent event = events.get(0);
+    assertEquals(AuthorMapper.class.getName() + ".selectNames", event.getMappedStatement().getId());
+    assertEquals(ExecutionType.QUERY, event.getExecutionType());
+    assertEquals("select username from author where id = ? and username = ?", event.getFormattedSql());
+    assertEquals(Arrays.asList(101, "jim"), event.getParameters());
+    assertEquals("101(Integer), jim(String)", event.getFormattedParameters());
+    assertEquals(1, event.getRows());
+    assertTrue(event.getElapsedNanos() >= 0);
+    assertNull(event.getError());
+  }
+
+  @Test
+  void shouldTraceUpdateAndError() {
+    try (SqlSession session = sqlSessionFactory.openSession()) {
+      AuthorMapper mapper = session.getMapper(AuthorMapper.class);
+      assertEquals(1, mapper.updateBio(101, "new bio"));
+      assertThrows(PersistenceException.class, () -> mapper.selectInvalid(101));
+      session.rollback();
+    }
+    assertEquals(2, events.size());
+    assertEquals(ExecutionType.UPDATE, events.get(0).getExecutionType());
+    assertEquals(1, events.get(0).getRows());
+    assertEquals("new bio(String), 101(Integer)", events.get(0).getFormattedParameters());
+    assertEquals(-1, events.get(1).getRows());
+    assertNotNull(events.get(1).getError());
+  }
+
+  @Test
+  void shouldNotTraceUnsampledStatements() {
+    configuration.setSqlTracer(new SamplingSqlTracer(events::add, 0.0));
+    try (SqlSession session = sqlSessionFactory.openSession()) {
+      session.getMapper(AuthorMapper.class).selectNames(101, "jim");
+    }
+    assertTrue(events.isEmpty());
+    assertThrows(IllegalArgumentException.class, () -> new SamplingSqlTracer(events::add, 1.5));
+  }
+
+  @Test
+  void shouldDeliverEventsOnTracerThread() {
+    List<String> threads = new CopyOnWriteArrayList<>();
+    AsyncSqlTracer tracer = new AsyncSqlTracer(event -> {
+      threads.add(Thread.currentThread().getName());
+      events.add(event);
+    }, 16);
+    configuration.setSqlTracer(tracer);
+    try (SqlSession session = sqlSessionFactory.openSession()) {
+      AuthorMapper mapper = session.getMapper(AuthorMapper.class);
+      mapper.selectNames(101, "jim");
+      mapper.selectNames(102, "sally");
+    }
+    tracer.close();
+    assertEquals(2, events.size());
+    assertEquals(Arrays.asList("mybatis-sql-tracer", "mybatis-sql-tracer"), threads);
+    assertEquals(0, tracer.getDroppedCount());
+    tracer.trace(events.get(0));
+    assertEquals(1, tracer.getDroppedCount());
+  }
+
+  @Test
+  void shouldTraceValuesOfPluggedParameterHandler() {
+    Configuration masking = new Configuration(configuration.getEnvironment());
+    masking.addMapper(AuthorMapper.class);
+    masking.addInterceptor(new MaskingInterceptor());
+    masking.setSqlTracer(events::add);
+    try (SqlSession session = new SqlSessionFactoryBuilder().build(masking).openSession()) {
+      assertEquals(Arrays.asList("jim"), session.getMapper(AuthorMapper.class).selectNames(101, "jim"));
+    }
+    assertEquals(1, events.size());
+    assertEquals(Arrays.asList("***", "***"), events.get(0).getParameters());
+  }
+
+  @Intercepts(@Signature(type = ParameterHandler.class, method = "getParameterValues", args = {}))
+  public static class MaskingInterceptor implements Interceptor {
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+      List<?> values = (List<?>) invocation.proceed();
+      return values.stream().map(value -> "***").collect(Collectors.toList());
+    }
+  }
+
+  public interface AuthorMapper {
+    @Select("select username from author where id = #{id} and username = #{name}")
+    List<String> selectNames(@Param("id") int id, @Param("name") String name);
+
+    @Update("update author set bio = #{bio} where id = #{id}")
+    int updateBio(@Param("id") int id, @Param("bio") String bio);
+
+    @Select("select username from unknown_table where id = #{id}")
+    String selectInvalid(@Param("id") int id);
+  }
+
+}
@@ -0,0 +1,79 @@
+/*
+ *    Copyright 2009-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.mapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.ResultSet;
+import java.util.HashMap;
+
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.domain.blog.Author;
+import org.apache.ibatis.domain.blog.Post;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.type.JdbcType;
+import org.junit.jupiter.api.Test;
+
+class KeyAssignmentPlanTest {
+
+  private final Configuration configuration = new Configuration();
+
+  private KeyAssignmentPlan newPlan() {
+    MappedStatement ms = new MappedStatement.Builder(configuration, "insert",
+        new StaticSqlSource(configuration, "insert into author (username) values (?)"), SqlCommandType.INSERT)
+            .keyProperty("id").build();
+    return ms.getKeyAssignmentPlan();
+  }
+
+  @Test
+  void shouldAssignKeyThroughSetter() throws Exception {
+    KeyAssignmentPlan plan = newPlan();
+    ResultSet rs = mock(ResultSet.class);
+    when(rs.getInt(1)).thenReturn(101, 102);
+
+    Author first = new Author();
+    Author second = new Author();
+    KeyAssignmentPlan.Assignment assignment = plan.getAssignment(0, "id", first, JdbcType.INTEGER);
+    assignment.assign(rs, 1, first);
+    assertThat(plan.getAssignment(0, "id", second, JdbcType.INTEGER)).isSameAs(assignment);
+    assignment.assign(rs, 1, second);
+
+    assertThat(first.getId()).isEqualTo(101);
+    assertThat(second.getId()).isEqualTo(102);
+  }
+
+  @Test
+  void shouldResolveAgainForAnotherTargetType() {
+    KeyAssignmentPlan plan = newPlan();
+    KeyAssignmentPlan.Assignment author = plan.getAssignment(0, "id", new Author(), JdbcType.INTEGER);
+    KeyAssignmentPlan.Assignment post = plan.getAssignment(0, "id", new Post(), JdbcType.INTEGER);
+
+    assertThat(author).isNotNull();
+    assertThat(post).isNotNull().isNotSameAs(author);
+  }
+
+  @Test
+  void shouldNotPlanMapsAndNestedProperties() {
+    KeyAssignmentPlan plan = newPlan();
+
+    assertThat(plan.getAssignment(0, "id", new HashMap<String, Object>(), JdbcType.INTEGER)).isNull();
+    assertThat(plan.getAssignment(0, "author.id", new Post(), JdbcType.INTEGER)).isNull();
+    assertThat(plan.getAssignment(0, "missing", new Author(), JdbcType.INTEGER)).isNull();
+  }
+
+}
@@ -16,6 +16,8 @@
 package org.apache.ibatis.parsing;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
 
 import java.time.Duration;
@@ -63,6 +65,38 @@ class GenericTokenParserTest {
     assertEquals(expected, parser.parse(text));
   }
 
+  @ParameterizedTest
+  @MethodSource("shouldDemonstrateGenericTokenReplacementProvider")
+  void shouldRenderCompiledTemplateLikeParse(String expected, String text) {
+    TokenTemplate template = new GenericTokenParser("${", "}", null).compile(text);
+    Map<String, String> variables = new HashMap<>();
+    variables.put("first_name", "James");
+    variables.put("initial", "T");
+    variables.put("last_name", "Kirk");
+    variables.put("var{with}brace", "Hiya");
+    variables.put("", "");
+    assertEquals(expected, template.apply(new VariableTokenHandler(variables)));
+    assertEquals(expected, template.apply(new VariableTokenHandler(variables)));
+  }
+
+  @ParameterizedTest
+  @MethodSource("shallNotInterpolateSkippedVariablesProvider")
+  void shallNotInterpolateSkippedVariablesInCompiledTemplate(String expected, String text) {
+    TokenTemplate template = new GenericTokenParser("${", "}", null).compile(text);
+    assertEquals(expected, template.apply(new VariableTokenHandler(new HashMap<>())));
+  }
+
+  @Test
+  void shouldDetectTokensInCompiledTemplate() {
+    GenericTokenParser parser = new GenericTokenParser("${", "}", null);
+    assertTrue(parser.compile("SELECT ${columns} FROM t").hasTokens());
+    assertTrue(parser.compile("${}").hasTokens());
+    assertFalse(parser.compile("SELECT \\${columns} FROM t").hasTokens());
+    assertFalse(parser.compile("SELECT ${columns FROM t").hasTokens());
+    assertFalse(parser.compile(null).hasTokens());
+    assertEquals("", parser.compile(null).apply(null));
+  }
+
   static Stream<Arguments> shouldDemonstrateGenericTokenReplacementProvider() {
     return Stream.of(arguments("James T Kirk reporting.", "${first_name} ${initial} ${last_name} reporting."),
         arguments("Hello captain James T Kirk", "Hello captain ${first_name} ${initial} ${last_name}"),
@@ -0,0 +1,153 @@
+/*
+ *    Copyright 2009-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.plugin;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.ibatis.executor.parameter.ParameterHandler;
+import org.junit.jupiter.api.Test;
+
+class InterceptorChainTest {
+
+  @Test
+  void shouldChainInterceptorsWithoutProxy() throws SQLException {
+    List<String> calls = new ArrayList<>();
+    InterceptorChain chain = new InterceptorChain();
+    chain.addInterceptor(new FirstChainedInterceptor(calls));
+    chain.addInterceptor(new SecondChainedInterceptor(calls));
+    RecordingParameterHandler target = new RecordingParameterHandler(calls);
+
+    ParameterHandler handler = (ParameterHandler) chain.pluginAll(target);
+    assertFalse(Proxy.isProxyClass(handler.getClass()));
+    assertEquals("parameter", handler.getParameterObject());
+    handler.setParameters(null);
+    assertEquals(Arrays.asList("second", "first", "target"), calls);
+  }
+
+  @Test
+  void shouldPreserveOrderWithProxiedInterceptors() throws SQLException {
+    List<String> calls = new ArrayList<>();
+    InterceptorChain chain = new InterceptorChain();
+    chain.addInterceptor(new FirstChainedInterceptor(calls));
+    chain.addInterceptor(new ProxiedInterceptor(calls));
+    chain.addInterceptor(new SecondChainedInterceptor(calls));
+
+    ParameterHandler handler = (ParameterHandler) chain.pluginAll(new RecordingParameterHandler(calls));
+    handler.setParameters(null);
+    assertEquals(Arrays.asList("second", "proxied", "first", "target"), calls);
+  }
+
+  @Test
+  void shouldPropagateDeclaredException() {
+    List<String> calls = new ArrayList<>();
+    InterceptorChain chain = new InterceptorChain();
+    chain.addInterceptor(new FirstChainedInterceptor(calls));
+    RecordingParameterHandler target = new RecordingParameterHandler(calls);
+    target.failure = new SQLException("expected");
+
+    ParameterHandler handler = (ParameterHandler) chain.pluginAll(target);
+    SQLException e = assertThrows(SQLException.class, () -> handler.setParameters(null));
+    assertSame(target.failure, e);
+  }
+
+  @Test
+  void shouldNotWrapWhenNoMethodIsIntercepted() {
+    InterceptorChain chain = new InterceptorChain();
+    chain.addInterceptor(new UnrelatedChainedInterceptor());
+    RecordingParameterHandler target = new RecordingParameterHandler(new ArrayList<>());
+    assertSame(target, chain.pluginAll(target));
+    assertTrue(chain.pluginAll("not intercepted") instanceof String);
+  }
+
+  static class RecordingParameterHandler implements ParameterHandler {
+    private final List<String> calls;
+    private SQLException failure;
+
+    RecordingParameterHandler(List<String> calls) {
+      this.calls = calls;
+    }
+
+    @Override
+    public Object getParameterObject() {
+      return "parameter";
+    }
+
+    @Override
+    public void setParameters(PreparedStatement ps) throws SQLException {
+      if (failure != null) {
+        throw failure;
+      }
+      calls.add("target");
+    }
+  }
+
+  abstract static class RecordingInterceptor implements Interceptor {
+    private final List<String> calls;
+    private final String name;
+
+    RecordingInterceptor(List<String> calls, String name) {
+      this.calls = calls;
+      this.name = name;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+      calls.add(name);
+      return invocation.proceed();
+    }
+  }
+
+  @Intercepts(value = @Signature(type = ParameterHandler.class, method = "setParameters", args = PreparedStatement.class), proxy = false)
+  static class FirstChainedInterceptor extends RecordingInterceptor {
+    FirstChainedInterceptor(List<String> calls) {
+      super(calls, "first");
+    }
+  }
+
+  @Intercepts(value = @Signature(type = ParameterHandler.class, method = "setParameters", args = PreparedStatement.class), proxy = false)
+  static class SecondChainedInterceptor extends RecordingInterceptor {
+    SecondChainedInterceptor(List<String> calls) {
+      super(calls, "second");
+    }
+  }
+
+  @Intercepts(@Signature(type = ParameterHandler.class, method = "setParameters", args = PreparedStatement.class))
+  static class ProxiedInterceptor extends RecordingInterceptor {
+    ProxiedInterceptor(List<String> calls) {
+      super(calls, "proxied");
+    }
+  }
+
+  @Intercepts(value = @Signature(type = Runnable.class, method = "run", args = {}), proxy = false)
+  static class UnrelatedChainedInterceptor implements Interceptor {
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+      return invocation.proceed();
+    }
+  }
+
+}
@@ -19,7 +19,9 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.ArrayList;
@@ -30,6 +32,7 @@ import java.util.Map;
 
 import org.apache.ibatis.domain.blog.Author;
 import org.apache.ibatis.domain.blog.Section;
+import org.apache.ibatis.domain.blog.Tag;
 import org.apache.ibatis.domain.misc.CustomBeanWrapper;
 import org.apache.ibatis.domain.misc.CustomBeanWrapperFactory;
 import org.apache.ibatis.domain.misc.RichType;
@@ -298,4 +301,81 @@ class MetaObjectTest {
     assertTrue(meta.hasGetter("filterParams[2]"));
   }
 
+  static class Named {
+    private String name;
+    private Named child;
+
+    public String getName() {
+      return name;
+    }
+
+    public void setName(String name) {
+      this.name = name;
+    }
+
+    public Named getChild() {
+      return child;
+    }
+
+    public void setChild(Named child) {
+      this.child = child;
+    }
+  }
+
+  static class OtherNamed extends Named {
+    @Override
+    public String getName() {
+      return "other:" + super.getName();
+    }
+  }
+
+  @Test
+  void shouldReuseCompiledPathAcrossClassesAndWrappers() {
+    Named named = new Named();
+    MetaObject meta = SystemMetaObject.forObject(named);
+    meta.setValue("child.child.name", "foo");
+    assertEquals("foo", named.getChild().getChild().getName());
+    assertEquals("foo", meta.getValue("child.child.name"));
+    assertNull(SystemMetaObject.forObject(new Named()).getValue("child.child.name"));
+
+    OtherNamed other = new OtherNamed();
+    other.setChild(new OtherNamed());
+    MetaObject otherMeta = SystemMetaObject.forObject(other);
+    otherMeta.setValue("child.name", "bar");
+    assertEquals("other:bar", otherMeta.getValue("child.name"));
+
+    Map<String, Object> map = new HashMap<>();
+    map.put("named", named);
+    MetaObject mapMeta = SystemMetaObject.forObject(map);
+    assertEquals("foo", mapMeta.getValue("named.child.child.name"));
+    mapMeta.setValue("named.child.name", "baz");
+    assertEquals("baz", named.getChild().getName());
+  }
+
+  @Test
+  void shouldKeepBindingsOfEachClassUsingTheSameExpression() {
+    Named named = new Named();
+    OtherNamed other = new OtherNamed();
+    Tag tag = new Tag();
+    for (int i = 0; i < 3; i++) {
+      SystemMetaObject.forObject(named).setValue("name", "named" + i);
+      SystemMetaObject.forObject(other).setValue("name", "other" + i);
+      SystemMetaObject.forObject(tag).setValue("name", "tag" + i);
+      assertEquals("named" + i, SystemMetaObject.forObject(named).getValue("name"));
+      assertEquals("other:other" + i, SystemMetaObject.forObject(other).getValue("name"));
+      assertEquals("tag" + i, SystemMetaObject.forObject(tag).getValue("name"));
+    }
+  }
+
+  @Test
+  void shouldCachePropertyPathsPerReflectorFactory() {
+    DefaultReflectorFactory reflectorFactory = new DefaultReflectorFactory();
+    DefaultReflectorFactory otherReflectorFactory = new DefaultReflectorFactory();
+    PropertyPath path = PropertyPath.compile("child.name", reflectorFactory);
+    assertSame(path, PropertyPath.compile("child.name", reflectorFactory));
+    assertNotSame(path, PropertyPath.compile("child.name", otherReflectorFactory));
+
+    reflectorFactory.setClassCacheEnabled(false);
+    assertNotSame(path, PropertyPath.compile("child.name", reflectorFactory));
+  }
 }
@@ -0,0 +1,102 @@
+/*
+ *    Copyright 2009-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.binding.BindingException;
+import org.apache.ibatis.binding.MapperMethod.ParamMap;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.RowBounds;
+import org.junit.jupiter.api.Test;
+
+class ParamNameResolverTest {
+
+  interface Mapper {
+    void multiple(@Param("id") Integer id, RowBounds rowBounds, @Param("name") String name);
+
+    void list(List<Integer> ids);
+
+    void single(Integer id);
+  }
+
+  private static ParamNameResolver resolver(String methodName) {
+    Method method = Arrays.stream(Mapper.class.getMethods()).filter(m -> m.getName().equals(methodName)).findFirst()
+        .get();
+    return new ParamNameResolver(new Configuration(), method);
+  }
+
+  @Test
+  void shouldResolveNamesAndGenericNamesByIndex() {
+    @SuppressWarnings("unchecked")
+    Map<String, Object> params = (Map<String, Object>) resolver("multiple")
+        .getNamedParams(new Object[] { 1, RowBounds.DEFAULT, "foo" });
+    assertTrue(params instanceof ParamMap);
+    assertEquals(1, params.get("id"));
+    assertEquals(1, params.get("param1"));
+    assertEquals("foo", params.get("name"));
+    assertEquals("foo", params.get("param2"));
+    assertTrue(params.containsKey("param2"));
+    assertFalse(params.containsKey("param3"));
+    assertEquals(4, params.size());
+    BindingException e = assertThrows(BindingException.class, () -> params.get("param3"));
+    assertTrue(e.getMessage().startsWith("Parameter 'param3' not found."));
+  }
+
+  @Test
+  void shouldBehaveAsPlainMapOnceModified() {
+    @SuppressWarnings("unchecked")
+    Map<String, Object> params = (Map<String, Object>) resolver("multiple")
+        .getNamedParams(new Object[] { 1, RowBounds.DEFAULT, "foo" });
+    params.put("extra", "bar");
+    Map<String, Object> expected = new HashMap<>();
+    expected.put("id", 1);
+    expected.put("param1", 1);
+    expected.put("name", "foo");
+    expected.put("param2", "foo");
+    expected.put("extra", "bar");
+    assertEquals(expected, params);
+    assertEquals(expected.keySet(), params.keySet());
+  }
+
+  @Test
+  void shouldWrapSingleCollectionParam() {
+    List<Integer> ids = Arrays.asList(1, 2);
+    @SuppressWarnings("unchecked")
+    Map<String, Object> params = (Map<String, Object>) resolver("list").getNamedParams(new Object[] { ids });
+    assertSame(ids, params.get("collection"));
+    assertSame(ids, params.get("list"));
+    assertSame(ids, params.get("ids"));
+    assertEquals(3, params.size());
+  }
+
+  @Test
+  void shouldNotWrapSingleParam() {
+    assertEquals(1, resolver("single").getNamedParams(new Object[] { 1 }));
+  }
+
+}
@@ -23,10 +23,12 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.Serializable;
+import java.lang.reflect.InvocationTargetException;
 import java.util.Arrays;
 import java.util.List;
 
 import org.apache.ibatis.reflection.invoker.Invoker;
+import org.apache.ibatis.reflection.invoker.LambdaMethodInvoker;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -362,4 +364,80 @@ class ReflectorTest {
         "Ambiguous setters defined for property 'bool' in class '" + Bean.class.getName().replace("$", "\\$")
             + "' with types '(java.lang.Integer|boolean)' and '(java.lang.Integer|boolean)'\\.");
   }
+
+  @Test
+  void shouldWarmUpReflectors() {
+    ReflectorFactory reflectorFactory = new DefaultReflectorFactory();
+    reflectorFactory.warmUp(Arrays.asList(Section.class, Child.class));
+    Reflector reflector = reflectorFactory.findForClass(Section.class);
+    assertTrue(reflector.hasGetter("id"));
+    Assertions.assertSame(reflector, reflectorFactory.findForClass(Section.class));
+
+    reflectorFactory.setClassCacheEnabled(false);
+    reflectorFactory.warmUp(Arrays.asList(Parent.class));
+    Assertions.assertNotSame(reflectorFactory.findForClass(Parent.class), reflectorFactory.findForClass(Parent.class));
+  }
+
+  @Test
+  void shouldUseLambdaInvokersForPrivateAccessors() throws Exception {
+    @SuppressWarnings("unused")
+    class Bean {
+      private int count;
+      private long total;
+      private String name;
+
+      private int getCount() {
+        return count;
+      }
+
+      public long getTotal() {
+        return total;
+      }
+
+      public void setTotal(long total) {
+        this.total = total;
+      }
+
+      private void setCount(int count) {
+        this.count = count;
+      }
+
+      public String getName() {
+        return name;
+      }
+
+      public void setName(String name) {
+        if (name == null) {
+          throw new IllegalArgumentException("name is required");
+        }
+        this.name = name;
+      }
+    }
+    Reflector reflector = new DefaultReflectorFactory().findForClass(Bean.class);
+    Bean bean = new Bean();
+    Invoker countSetter = reflector.getSetInvoker("count");
+    Invoker countGetter = reflector.getGetInvoker("count");
+    assertTrue(countSetter instanceof LambdaMethodInvoker);
+    assertTrue(countGetter instanceof LambdaMethodInvoker);
+    countSetter.set(bean, 3);
+    assertEquals(3, countGetter.get(bean));
+    reflector.getSetInvoker("name").invoke(bean, new Object[] { "foo" });
+    assertEquals("foo", reflector.getGetInvoker("name").invoke(bean, null));
+    when(() -> reflector.getSetInvoker("name").set(bean, null));
+    then(caughtException()).isInstanceOf(InvocationTargetException.class)
+        .hasCauseInstanceOf(IllegalArgumentException.class);
+    // same conversions and exceptions as Method#invoke
+    reflector.getSetInvoker("total").set(bean, 5);
+    assertEquals(5L, reflector.getGetInvoker("total").get(bean));
+    countSetter.invoke(bean, new Object[] { (short) 4 });
+    assertEquals(4, countGetter.get(bean));
+    countSetter.set(bean, 3);
+    when(() -> countSetter.set(bean, null));
+    then(caughtException()).isInstanceOf(IllegalArgumentException.class);
+    when(() -> countSetter.invoke(bean, new Object[] { "3" }));
+    then(caughtException()).isInstanceOf(IllegalArgumentException.class);
+    when(() -> countGetter.get("not a bean"));
+    then(caughtException()).isInstanceOf(IllegalArgumentException.class);
+    assertEquals(3, countGetter.get(bean));
+  }
 }
@@ -0,0 +1,94 @@
+/*
+ *    Copyright 2009-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection.property;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+class PropertyCopierTest {
+
+  @Test
+  void shouldCopyFieldsOfClassHierarchy() {
+    Child source = new Child("parent", 1, 2L, "child");
+    Child destination = new Child(null, 0, 0L, null);
+
+    PropertyCopier.copyBeanProperties(Child.class, source, destination);
+    assertEquals("parent", destination.getParentName());
+    assertEquals(1, destination.getCount());
+    assertEquals(2L, destination.getFinalValue());
+    assertEquals("child", destination.getChildName());
+
+    // copying twice reuses the resolved copiers
+    PropertyCopier.copyBeanProperties(Child.class, new Child(null, 3, 4L, "other"), destination);
+    assertNull(destination.getParentName());
+    assertEquals(3, destination.getCount());
+    assertEquals(4L, destination.getFinalValue());
+    assertEquals("other", destination.getChildName());
+  }
+
+  @Test
+  void shouldCopyOnlyFieldsOfSpecifiedType() {
+    Child source = new Child("parent", 1, 2L, "child");
+    Child destination = new Child(null, 0, 0L, null);
+
+    PropertyCopier.copyBeanProperties(Parent.class, source, destination);
+    assertEquals("parent", destination.getParentName());
+    assertEquals(1, destination.getCount());
+    assertEquals(0L, destination.getFinalValue());
+    assertNull(destination.getChildName());
+  }
+
+  static class Parent {
+    static String staticField = "static";
+    private String parentName;
+    protected int count;
+
+    Parent(String parentName, int count) {
+      this.parentName = parentName;
+      this.count = count;
+    }
+
+    public String getParentName() {
+      return parentName;
+    }
+
+    public int getCount() {
+      return count;
+    }
+  }
+
+  static class Child extends Parent {
+    private final long finalValue;
+    private String childName;
+
+    Child(String parentName, int count, long finalValue, String childName) {
+      super(parentName, count);
+      this.finalValue = finalValue;
+      this.childName = childName;
+    }
+
+    public long getFinalValue() {
+      return finalValue;
+    }
+
+    public String getChildName() {
+      return childName;
+    }
+  }
+
+}
@@ -19,18 +19,22 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.ibatis.builder.StaticSqlSource;
 import org.apache.ibatis.mapping.BoundSql;
 import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterBindingPlan;
 import org.apache.ibatis.mapping.ParameterMapping;
 import org.apache.ibatis.mapping.ResultMap;
 import org.apache.ibatis.mapping.ResultMapping;
@@ -78,6 +82,82 @@ class DefaultParameterHandlerTest {
 
   }
 
+  @Test
+  void shouldBindThroughPlanForStaticParameterMappings() throws SQLException {
+    final MappedStatement mappedStatement = getMappedStatement();
+    final Configuration config = mappedStatement.getConfiguration();
+    final TypeHandlerRegistry registry = config.getTypeHandlerRegistry();
+    List<ParameterMapping> parameterMappings = Arrays.asList(
+        new ParameterMapping.Builder(config, "id", registry.getTypeHandler(Integer.class)).build(),
+        new ParameterMapping.Builder(config, "name", registry.getTypeHandler(String.class)).build(),
+        new ParameterMapping.Builder(config, "nested.id", registry.getTypeHandler(Integer.class)).build());
+
+    Assertions.assertNull(mappedStatement.getParameterBindingPlan(parameterMappings));
+    ParameterBindingPlan plan = mappedStatement.getParameterBindingPlan(parameterMappings);
+    Assertions.assertNotNull(plan);
+    Assertions.assertSame(plan, mappedStatement.getParameterBindingPlan(parameterMappings));
+
+    Item item = new Item(1, "first", new Item(2, "second", null));
+    BoundSql boundSql = new BoundSql(config, "some select statement", parameterMappings, item);
+    PreparedStatement ps = mock(PreparedStatement.class);
+    new DefaultParameterHandler(mappedStatement, item, boundSql).setParameters(ps);
+    verify(ps).setInt(1, 1);
+    verify(ps).setString(2, "first");
+    verify(ps).setInt(3, 2);
+
+    Map<String, Object> map = new HashMap<>();
+    map.put("id", 3);
+    map.put("name", "third");
+    map.put("nested", new Item(4, "fourth", null));
+    boundSql = new BoundSql(config, "some select statement", parameterMappings, map);
+    boundSql.setAdditionalParameter("name", "additional");
+    ps = mock(PreparedStatement.class);
+    new DefaultParameterHandler(mappedStatement, map, boundSql).setParameters(ps);
+    verify(ps).setInt(1, 3);
+    verify(ps).setString(2, "additional");
+    verify(ps).setInt(3, 4);
+  }
+
+  @Test
+  void shouldNotCreatePlanForChangingParameterMappings() {
+    final MappedStatement mappedStatement = getMappedStatement();
+    final Configuration config = mappedStatement.getConfiguration();
+    TypeHandler<?> typeHandler = config.getTypeHandlerRegistry().getTypeHandler(Integer.class);
+    for (int i = 0; i < 3; i++) {
+      List<ParameterMapping> parameterMappings = Collections
+          .singletonList(new ParameterMapping.Builder(config, "id", typeHandler).build());
+      Assertions.assertNull(mappedStatement.getParameterBindingPlan(parameterMappings));
+    }
+    List<ParameterMapping> parameterMappings = Collections
+        .singletonList(new ParameterMapping.Builder(config, "id", typeHandler).build());
+    Assertions.assertNull(mappedStatement.getParameterBindingPlan(parameterMappings));
+    Assertions.assertNull(mappedStatement.getParameterBindingPlan(parameterMappings));
+  }
+
+  public static class Item {
+    private final Integer id;
+    private final String name;
+    private final Item nested;
+
+    Item(Integer id, String name, Item nested) {
+      this.id = id;
+      this.name = name;
+      this.nested = nested;
+    }
+
+    public Integer getId() {
+      return id;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public Item getNested() {
+      return nested;
+    }
+  }
+
   MappedStatement getMappedStatement() {
     final Configuration config = new Configuration();
     final TypeHandlerRegistry registry = config.getTypeHandlerRegistry();
@@ -0,0 +1,142 @@
+/*
+ *    Copyright 2009-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.scripting.xmltags;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import ognl.OgnlException;
+
+import org.apache.ibatis.builder.BuilderException;
+import org.apache.ibatis.domain.blog.Author;
+import org.apache.ibatis.domain.blog.Section;
+import org.apache.ibatis.mapping.SqlSource;
+import org.apache.ibatis.session.Configuration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class CompiledExpressionTest {
+
+  private final Configuration configuration = new Configuration();
+
+  @ParameterizedTest
+  @ValueSource(strings = { "username", "password", "id", "id == 1", "id != 1", "id > 0", "id >= 1", "id < 1", "id <= 0",
+      "id gt 0", "username == 'cbegin'", "username != null and username != ''", "password == null",
+      "password or username", "password and username", "not password", "!(id == 1)", "favouriteSection.name != null" })
+  void shouldEvaluateBeanPropertiesLikeOgnl(String expression) {
+    Author author = new Author(1, "cbegin", null, "cbegin@apache.org", "N/A", Section.NEWS);
+    assertSameAsOgnl(expression, author);
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = { "name", "name == 'foo'", "nested.size", "nested.isEmpty", "nested.key == 1",
+      "nested.missing == null", "author.username == 'cbegin'", "list != null and flag", "_parameter != null",
+      "_databaseId == null", "value" })
+  void shouldEvaluateMapPropertiesLikeOgnl(String expression) {
+    Map<String, Object> nested = new HashMap<>();
+    nested.put("key", 1);
+    Map<String, Object> param = new HashMap<>();
+    param.put("name", "foo");
+    param.put("nested", nested);
+    param.put("author", new Author(1, "cbegin", null, "cbegin@apache.org", "N/A", Section.NEWS));
+    param.put("list", Arrays.asList(1, 2));
+    param.put("flag", Boolean.TRUE);
+    assertSameAsOgnl(expression, param);
+  }
+
+  @Test
+  void shouldFallbackToOgnlForCollectionsInPath() {
+    Map<String, Object> param = new HashMap<>();
+    param.put("list", Arrays.asList(1, 2));
+    CompiledExpression expression = CompiledExpression.compile("list.size > 1", configuration.getReflectorFactory());
+    assertNotNull(expression);
+    assertEquals(Boolean.TRUE, expression.getValue(new DynamicContext(configuration, param).getBindings()));
+  }
+
+  @Test
+  void shouldReportNullSourceLikeOgnl() {
+    CompiledExpression expression = CompiledExpression.compile("author.username != null",
+        configuration.getReflectorFactory());
+    assertThrows(BuilderException.class,
+        () -> expression.getValue(new DynamicContext(configuration, new HashMap<>()).getBindings()));
+  }
+
+  @Test
+  void shouldReportGetterExceptionLikeOgnlWithoutCallingItAgain() {
+    FailingBean bean = new FailingBean();
+    CompiledExpression expression = CompiledExpression.compile("bean.value != null",
+        configuration.getReflectorFactory());
+    Map<String, Object> param = new HashMap<>();
+    param.put("bean", bean);
+    BuilderException actual = assertThrows(BuilderException.class,
+        () -> expression.getValue(new DynamicContext(configuration, param).getBindings()));
+    assertEquals(1, bean.calls);
+
+    BuilderException expected = assertThrows(BuilderException.class,
+        () -> OgnlCache.getValue("bean.value != null", new DynamicContext(configuration, param).getBindings()));
+    assertEquals(expected.getMessage(), actual.getMessage());
+    assertEquals(OgnlException.class, actual.getCause().getClass());
+    assertEquals(IllegalStateException.class, actual.getCause().getCause().getClass());
+  }
+
+  @Test
+  void shouldNotCompileUnsupportedSyntax() {
+    assertNull(CompiledExpression.compile("list.size() > 0", configuration.getReflectorFactory()));
+    assertNull(CompiledExpression.compile("list[0] == 1", configuration.getReflectorFactory()));
+    assertNull(CompiledExpression.compile("id + 1 == 2", configuration.getReflectorFactory()));
+    assertNull(CompiledExpression.compile("id ==", configuration.getReflectorFactory()));
+  }
+
+  @Test
+  void shouldRenderSameSqlAsXmlLanguageDriver() {
+    String script = "<script>SELECT * FROM author <where>"
+        + "<if test=\"username != null and username != ''\">AND username = #{username}</if>"
+        + "<if test=\"id gt 0\">AND id = #{id}</if>"
+        + "<choose><when test=\"favouriteSection != null\">AND section = 'NEWS'</when>"
+        + "<otherwise>AND section IS NULL</otherwise></choose>" + "</where></script>";
+    Author author = new Author(1, "cbegin", null, "cbegin@apache.org", "N/A", Section.NEWS);
+    SqlSource expected = new XMLLanguageDriver().createSqlSource(configuration, script, Author.class);
+    SqlSource actual = new CompiledXMLLanguageDriver().createSqlSource(configuration, script, Author.class);
+    assertEquals(expected.getBoundSql(author).getSql(), actual.getBoundSql(author).getSql());
+    author.setUsername("");
+    author.setFavouriteSection(null);
+    assertEquals(expected.getBoundSql(author).getSql(), actual.getBoundSql(author).getSql());
+  }
+
+  public static class FailingBean {
+    private int calls;
+
+    public String getValue() {
+      calls++;
+      throw new IllegalStateException("failed");
+    }
+  }
+
+  private void assertSameAsOgnl(String expression, Object parameterObject) {
+    CompiledExpression compiled = CompiledExpression.compile(expression, configuration.getReflectorFactory());
+    assertNotNull(compiled);
+    Map<String, Object> bindings = new DynamicContext(configuration, parameterObject).getBindings();
+    assertEquals(OgnlCache.getValue(expression, bindings), compiled.getValue(bindings));
+  }
+
+}
@@ -0,0 +1,126 @@
+/*
+ *    Copyright 2009-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.async_session;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.session.AsyncSqlSession;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AsyncSqlSessionTest {
+
+  private static final String NS = Mapper.class.getName() + ".";
+
+  private static SqlSessionFactory sqlSessionFactory;
+
+  @BeforeAll
+  static void setUp() throws Exception {
+    try (
+        Reader reader = Resources.getResourceAsReader("org/apache/ibatis/submitted/async_session/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+  }
+
+  @BeforeEach
+  void createDb() throws Exception {
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/async_session/CreateDB.sql");
+  }
+
+  @Test
+  void shouldRunIndependentReadsInParallel() {
+    try (AsyncSqlSession async = new AsyncSqlSession(sqlSessionFactory, 3)) {
+      List<CompletableFuture<String>> names = new ArrayList<>();
+      for (int id = 1; id <= 3; id++) {
+        names.add(async.selectOne(NS + "getName", id));
+      }
+      CompletableFuture<Integer> count = async.withMapper(Mapper.class, Mapper::countUsers);
+
+      assertThat(names).extracting(CompletableFuture::join).containsExactly("User1", "User2", "User3");
+      assertThat(count.join()).isEqualTo(3);
+    }
+  }
+
+  @Test
+  void shouldBoundConcurrentSessions() {
+    AtomicInteger active = new AtomicInteger();
+    AtomicInteger maxActive = new AtomicInteger();
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try (AsyncSqlSession async = new AsyncSqlSession(sqlSessionFactory, executor, 2)) {
+      List<CompletableFuture<Integer>> counts = new ArrayList<>();
+      for (int i = 0; i < 8; i++) {
+        counts.add(async.execute(sqlSession -> {
+          maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+          try {
+            Thread.sleep(20);
+            return sqlSession.getMapper(Mapper.class).countUsers();
+          } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+          } finally {
+            active.decrementAndGet();
+          }
+        }));
+      }
+      CompletableFuture.allOf(counts.toArray(new CompletableFuture[0])).join();
+      assertThat(maxActive.get()).isBetween(1, 2);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  void shouldCommitEachTask() {
+    try (AsyncSqlSession async = new AsyncSqlSession(sqlSessionFactory, 2)) {
+      assertThat(async.withMapper(Mapper.class, mapper -> mapper.updateName(1, "Changed")).join()).isEqualTo(1);
+    }
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      assertThat(sqlSession.getMapper(Mapper.class).getName(1)).isEqualTo("Changed");
+    }
+  }
+
+  @Test
+  void shouldRollbackFailedTask() {
+    try (AsyncSqlSession async = new AsyncSqlSession(sqlSessionFactory, 2)) {
+      CompletableFuture<Integer> failed = async.withMapper(Mapper.class, mapper -> {
+        mapper.updateName(2, "Changed");
+        throw new IllegalStateException("failed");
+      });
+      assertThatThrownBy(failed::join).isInstanceOf(CompletionException.class)
+          .hasCauseInstanceOf(IllegalStateException.class);
+    }
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      assertThat(sqlSession.getMapper(Mapper.class).getName(2)).isEqualTo("User2");
+    }
+  }
+
+}
@@ -0,0 +1,148 @@
+/*
+ *    Copyright 2009-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.batch_keys;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.Reader;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.executor.parameter.ParameterHandler;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class RewriteBatchedInsertsTest {
+
+  private SqlSessionFactory sqlSessionFactory;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    try (Reader reader = Resources.getResourceAsReader("org/apache/ibatis/submitted/batch_keys/Config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+    sqlSessionFactory.getConfiguration().setRewriteBatchedInserts(true);
+
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/batch_keys/CreateDB.sql");
+  }
+
+  @Test
+  void shouldAssignGeneratedKeysAcrossStatements() {
+    List<User> users = new ArrayList<>();
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      for (int i = 0; i < 2500; i++) {
+        User user = new User(null, "User" + i);
+        users.add(user);
+        mapper.insertIdentity(user);
+      }
+      List<BatchResult> results = sqlSession.flushStatements();
+      assertThat(results).hasSize(1);
+      assertThat(results.get(0).getUpdateCounts()).hasSize(2500).containsOnly(1);
+      sqlSession.commit();
+    }
+    for (int i = 0; i < users.size(); i++) {
+      assertThat(users.get(i).getId()).isEqualTo(i);
+    }
+
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      List<User> inserted = sqlSession.selectList("selectIdentity");
+      assertThat(inserted).hasSize(2500);
+      assertThat(inserted).anySatisfy(user -> {
+        assertThat(user.getId()).isEqualTo(2499);
+        assertThat(user.getName()).isEqualTo("User2499");
+      });
+    }
+  }
+
+  @Test
+  void shouldBindValuesOfReusedParameterObject() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      User user = new User(null, null);
+      for (int i = 0; i < 3; i++) {
+        user.setName("N" + i);
+        mapper.insertIdentity(user);
+      }
+      sqlSession.flushStatements();
+      sqlSession.commit();
+    }
+
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      List<User> inserted = sqlSession.selectList("selectIdentity");
+      assertThat(inserted).extracting(User::getName).containsExactlyInAnyOrder("N0", "N1", "N2");
+    }
+  }
+
+  @Test
+  void shouldNotRewriteInsertsOfPluggedParameterHandler() {
+    CountingInterceptor interceptor = new CountingInterceptor();
+    sqlSessionFactory.getConfiguration().addInterceptor(interceptor);
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      for (int i = 0; i < 3; i++) {
+        mapper.insertIdentity(new User(null, "User" + i));
+      }
+      List<BatchResult> results = sqlSession.flushStatements();
+      assertThat(results.get(0).getUpdateCounts()).containsExactly(1, 1, 1);
+      sqlSession.commit();
+    }
+    assertThat(interceptor.count).isEqualTo(3);
+  }
+
+  @Intercepts(@Signature(type = ParameterHandler.class, method = "setParameters", args = PreparedStatement.class))
+  public static class CountingInterceptor implements Interceptor {
+    private int count;
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+      count++;
+      return invocation.proceed();
+    }
+  }
+
+  @Test
+  void shouldKeepSelectKeyPerRow() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+      User user1 = new User(null, "Pocoyo");
+      sqlSession.insert("insert", user1);
+      User user2 = new User(null, "Valentina");
+      sqlSession.insert("insert", user2);
+      sqlSession.flushStatements();
+      assertThat(user1.getId()).isEqualTo(50);
+      assertThat(user2.getId()).isEqualTo(50);
+      sqlSession.commit();
+    }
+
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      assertThat(sqlSession.<User>selectList("select")).hasSize(2);
+    }
+  }
+
+}
@@ -0,0 +1,152 @@
+/*
+ *    Copyright 2009-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.cache_tags;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.Reader;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.cache.decorators.SynchronizedCache;
+import org.apache.ibatis.cache.decorators.TaggedCache;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CacheTagsTest {
+
+  private SqlSessionFactory sqlSessionFactory;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    try (Reader reader = Resources.getResourceAsReader("org/apache/ibatis/submitted/cache_tags/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/cache_tags/CreateDB.sql");
+  }
+
+  @Test
+  void shouldEvictOnlyEntriesOfTheWrittenTags() throws SQLException {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      assertThat(mapper.getName(1)).isEqualTo("User1");
+      assertThat(mapper.getName(2)).isEqualTo("User2");
+      assertThat(mapper.getNames()).containsExactly("User1", "User2");
+      assertThat(mapper.countOrders()).isEqualTo(1);
+    }
+    // changes bypassing MyBatis are not seen as long as the cached entries are kept
+    executeDirectly("update users set name = 'Direct' where id = 2", "insert into orders (id, user_id) values (2, 2)");
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      sqlSession.getMapper(Mapper.class).updateName(1, "Changed");
+      sqlSession.commit();
+    }
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      assertThat(mapper.getName(1)).isEqualTo("Changed");
+      assertThat(mapper.getName(2)).isEqualTo("User2");
+      assertThat(mapper.getNames()).containsExactly("Changed", "Direct");
+      assertThat(mapper.countOrders()).isEqualTo(1);
+    }
+  }
+
+  @Test
+  void shouldClearTheCacheWhenAnEntryWithoutTagsIsCached() throws SQLException {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      assertThat(mapper.countOrders()).isEqualTo(1);
+      assertThat(mapper.countUsers()).isEqualTo(2);
+    }
+    executeDirectly("insert into orders (id, user_id) values (2, 2)");
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      sqlSession.getMapper(Mapper.class).updateName(1, "Changed");
+      sqlSession.commit();
+    }
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      assertThat(sqlSession.getMapper(Mapper.class).countOrders()).isEqualTo(2);
+    }
+  }
+
+  @Test
+  void shouldEvictEntriesOnCommitOnly() throws SQLException {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      assertThat(mapper.getName(1)).isEqualTo("User1");
+      assertThat(mapper.getName(2)).isEqualTo("User2");
+    }
+    executeDirectly("update users set name = 'Direct' where id = 2");
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      mapper.updateName(1, "Changed");
+      assertThat(mapper.getName(1)).isEqualTo("Changed");
+      assertThat(mapper.getName(2)).isEqualTo("User2");
+      sqlSession.rollback();
+    }
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      assertThat(mapper.getName(1)).isEqualTo("User1");
+      assertThat(mapper.getName(2)).isEqualTo("User2");
+    }
+  }
+
+  @Test
+  void shouldEvictEntriesOfAnnotatedStatements() throws SQLException {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      AnnotatedMapper mapper = sqlSession.getMapper(AnnotatedMapper.class);
+      assertThat(mapper.getName(1)).isEqualTo("User1");
+      assertThat(mapper.getName(2)).isEqualTo("User2");
+    }
+    executeDirectly("update users set name = 'Direct' where id = 2");
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      sqlSession.getMapper(AnnotatedMapper.class).updateName(1, "Changed");
+      sqlSession.commit();
+    }
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      AnnotatedMapper mapper = sqlSession.getMapper(AnnotatedMapper.class);
+      assertThat(mapper.getName(1)).isEqualTo("Changed");
+      assertThat(mapper.getName(2)).isEqualTo("User2");
+    }
+  }
+
+  @Test
+  void shouldIndexTagsOnlyInNamespacesDeclaringThem() {
+    Configuration configuration = sqlSessionFactory.getConfiguration();
+    assertThat(configuration.getCache(Mapper.class.getName())).isInstanceOf(TaggedCache.class);
+    assertThat(configuration.getCache(AnnotatedMapper.class.getName())).isInstanceOf(TaggedCache.class);
+    assertThat(configuration.getCache(UntaggedMapper.class.getName())).isInstanceOf(SynchronizedCache.class);
+    assertThat(configuration.getMappedStatement(UntaggedMapper.class.getName() + ".getName").getCache())
+        .isInstanceOf(SynchronizedCache.class);
+  }
+
+  private void executeDirectly(String... sqls) throws SQLException {
+    DataSource dataSource = sqlSessionFactory.getConfiguration().getEnvironment().getDataSource();
+    try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+      for (String sql : sqls) {
+        statement.executeUpdate(sql);
+      }
+    }
+  }
+
+}
@@ -0,0 +1,144 @@
+/*
+ *    Copyright 2009-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.cursor_simple;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.cursor.defaults.PrefetchingCursor;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.session.RowBounds;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class CursorPrefetchTest {
+
+  private static SqlSessionFactory sqlSessionFactory;
+
+  @BeforeAll
+  static void setUp() throws Exception {
+    try (
+        Reader reader = Resources.getResourceAsReader("org/apache/ibatis/submitted/cursor_simple/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+    sqlSessionFactory.getConfiguration().setStreamingCursors(true);
+    sqlSessionFactory.getConfiguration().setCursorPrefetchSize(2);
+
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/cursor_simple/CreateDB.sql");
+  }
+
+  @Test
+  void shouldPrefetchAllUsers() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Cursor<User> cursor = sqlSession.getMapper(Mapper.class).getAllUsers();
+      assertThat(cursor).isInstanceOf(PrefetchingCursor.class);
+      assertFalse(cursor.isOpen());
+      assertThat(cursor.getCurrentIndex()).isEqualTo(-1);
+
+      Iterator<User> iterator = cursor.iterator();
+      assertTrue(iterator.hasNext());
+      assertTrue(cursor.isOpen());
+      assertThat(cursor.getCurrentIndex()).isEqualTo(-1);
+
+      List<String> names = new ArrayList<>();
+      while (iterator.hasNext()) {
+        names.add(iterator.next().getName());
+        assertThat(cursor.getCurrentIndex()).isEqualTo(names.size() - 1);
+      }
+      assertThat(names).containsExactly("User1", "User2", "User3", "User4", "User5");
+      assertFalse(cursor.isOpen());
+      assertTrue(cursor.isConsumed());
+      assertThrows(NoSuchElementException.class, iterator::next);
+    }
+  }
+
+  @Test
+  void shouldApplyRowBounds() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Cursor<User> cursor = sqlSession.selectCursor("getAllUsers", null, new RowBounds(1, 3));
+      Iterator<User> iterator = cursor.iterator();
+
+      assertThat(iterator.next().getName()).isEqualTo("User2");
+      assertThat(cursor.getCurrentIndex()).isEqualTo(1);
+      assertThat(iterator.next().getName()).isEqualTo("User3");
+      assertThat(iterator.next().getName()).isEqualTo("User4");
+      assertThat(cursor.getCurrentIndex()).isEqualTo(3);
+      assertFalse(iterator.hasNext());
+      assertTrue(cursor.isConsumed());
+    }
+  }
+
+  @Test
+  void shouldKeepNullItems() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Cursor<User> cursor = sqlSession.getMapper(Mapper.class).getNullUsers(new RowBounds());
+      Iterator<User> iterator = cursor.iterator();
+
+      assertNull(iterator.next());
+      assertThat(iterator.next().getName()).isEqualTo("Kate");
+      assertNull(iterator.next());
+      assertNull(iterator.next());
+      assertFalse(iterator.hasNext());
+      assertThat(cursor.getCurrentIndex()).isEqualTo(3);
+    }
+  }
+
+  @Test
+  void shouldNotPrefetchWhenDiscriminatedResultMapHasNestedQueries() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Cursor<User> cursor = sqlSession.selectCursor("getDiscriminatedUsers");
+      assertThat(cursor).isNotInstanceOf(PrefetchingCursor.class);
+
+      List<String> names = new ArrayList<>();
+      cursor.forEach(user -> names.add(user.getName()));
+      assertThat(names).containsExactly("User1", "User2", "User3", "User4", "User5");
+    }
+  }
+
+  @Test
+  void shouldStopPrefetchingOnClose() throws Exception {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Cursor<User> cursor = sqlSession.getMapper(Mapper.class).getAllUsers();
+      Iterator<User> iterator = cursor.iterator();
+      assertThat(iterator.next().getName()).isEqualTo("User1");
+
+      cursor.close();
+      assertFalse(cursor.isOpen());
+      assertFalse(cursor.isConsumed());
+      assertFalse(iterator.hasNext());
+      assertThrows(IllegalStateException.class, cursor::iterator);
+
+      // the session is usable again once the cursor is closed
+      assertThat(sqlSession.getMapper(Mapper.class).getAllUsers()).hasSize(5);
+    }
+  }
+
+}
@@ -0,0 +1,259 @@
+/*
+ *    Copyright 2009-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.cursor_simple;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.Reader;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.cursor.CursorPublisher;
+import org.apache.ibatis.cursor.CursorPublisher.Subscriber;
+import org.apache.ibatis.cursor.CursorPublisher.Subscription;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.session.RowBounds;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+
+class CursorPublisherTest {
+
+  private static SqlSessionFactory sqlSessionFactory;
+
+  @BeforeAll
+  static void setUp() throws Exception {
+    try (
+        Reader reader = Resources.getResourceAsReader("org/apache/ibatis/submitted/cursor_simple/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/cursor_simple/CreateDB.sql");
+  }
+
+  @Test
+  void shouldEmitOnDemand() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      RecordingSubscriber subscriber = new RecordingSubscriber();
+      sqlSession.getMapper(Mapper.class).getAllUsersPublisher().subscribe(subscriber);
+      assertThat(subscriber.names).isEmpty();
+
+      subscriber.subscription.request(2);
+      assertThat(subscriber.names).containsExactly("User1", "User2");
+      assertThat(subscriber.completed).isFalse();
+
+      subscriber.subscription.request(10);
+      assertThat(subscriber.names).containsExactly("User1", "User2", "User3", "User4", "User5");
+      assertThat(subscriber.completed).isTrue();
+      assertThat(subscriber.error).isNull();
+    }
+  }
+
+  @Test
+  void shouldApplyRowBounds() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      RecordingSubscriber subscriber = new RecordingSubscriber();
+      sqlSession.<User>selectPublisher("getAllUsers", null, new RowBounds(1, 2)).subscribe(subscriber);
+      subscriber.subscription.request(Long.MAX_VALUE);
+
+      assertThat(subscriber.names).containsExactly("User2", "User3");
+      assertThat(subscriber.completed).isTrue();
+    }
+  }
+
+  @Test
+  void shouldCloseCursorOnCancel() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      RecordingSubscriber subscriber = new RecordingSubscriber();
+      sqlSession.getMapper(Mapper.class).getAllUsersPublisher().subscribe(subscriber);
+      subscriber.subscription.request(1);
+      subscriber.subscription.cancel();
+      subscriber.subscription.request(1);
+
+      assertThat(subscriber.names).containsExactly("User1");
+      assertThat(subscriber.completed).isFalse();
+      assertThat(subscriber.error).isNull();
+      assertThat(sqlSession.<User>selectList("getAllUsers")).hasSize(5);
+    }
+  }
+
+  @Test
+  void shouldRejectInvalidRequest() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      RecordingSubscriber subscriber = new RecordingSubscriber();
+      sqlSession.getMapper(Mapper.class).getAllUsersPublisher().subscribe(subscriber);
+      subscriber.subscription.request(0);
+
+      assertThat(subscriber.error).isInstanceOf(IllegalArgumentException.class);
+      assertThat(subscriber.names).isEmpty();
+    }
+  }
+
+  @Test
+  void shouldOnlyBeSubscribedOnce() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      CursorPublisher<User> publisher = sqlSession.getMapper(Mapper.class).getAllUsersPublisher();
+      publisher.subscribe(new RecordingSubscriber());
+      RecordingSubscriber subscriber = new RecordingSubscriber();
+      publisher.subscribe(subscriber);
+
+      assertThat(subscriber.error).isInstanceOf(IllegalStateException.class);
+    }
+  }
+
+  @Test
+  void shouldEmitInBatchesOnExecutor() throws Exception {
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      CountDownLatch latch = new CountDownLatch(1);
+      RecordingSubscriber subscriber = new RecordingSubscriber() {
+        @Override
+        public void onComplete() {
+          super.onComplete();
+          latch.countDown();
+        }
+      };
+      new CursorPublisher<User>(() -> sqlSession.selectCursor("getAllUsers"), executor, 2).subscribe(subscriber);
+      subscriber.subscription.request(Long.MAX_VALUE);
+
+      assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+      assertThat(subscriber.names).containsExactly("User1", "User2", "User3", "User4", "User5");
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  void shouldEmitMapperPublisherOnConfiguredExecutor() throws Exception {
+    ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "publisher"));
+    sqlSessionFactory.getConfiguration().setCursorPublisherExecutor(executor);
+    sqlSessionFactory.getConfiguration().setCursorPublisherBatchSize(2);
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      CountDownLatch latch = new CountDownLatch(1);
+      List<String> threads = new CopyOnWriteArrayList<>();
+      RecordingSubscriber subscriber = new RecordingSubscriber() {
+        @Override
+        public void onNext(User item) {
+          super.onNext(item);
+          threads.add(Thread.currentThread().getName());
+        }
+
+        @Override
+        public void onComplete() {
+          super.onComplete();
+          latch.countDown();
+        }
+      };
+      sqlSession.getMapper(Mapper.class).getAllUsersPublisher().subscribe(subscriber);
+      subscriber.subscription.request(Long.MAX_VALUE);
+
+      assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+      assertThat(subscriber.names).containsExactly("User1", "User2", "User3", "User4", "User5");
+      assertThat(threads).containsOnly("publisher");
+    } finally {
+      sqlSessionFactory.getConfiguration().setCursorPublisherExecutor(null);
+      sqlSessionFactory.getConfiguration().setCursorPublisherBatchSize(256);
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  void shouldEmitOnRequestingThreadWithoutExecutor() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      RecordingSubscriber subscriber = new RecordingSubscriber();
+      new CursorPublisher<User>(() -> sqlSession.selectCursor("getAllUsers"), null, 2).subscribe(subscriber);
+      subscriber.subscription.request(Long.MAX_VALUE);
+
+      assertThat(subscriber.names).containsExactly("User1", "User2", "User3", "User4", "User5");
+      assertThat(subscriber.completed).isTrue();
+    }
+  }
+
+  @Test
+  @EnabledForJreRange(min = JRE.JAVA_9)
+  void shouldAdaptToFlowPublisher() throws Exception {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Object publisher = sqlSession.getMapper(Mapper.class).getAllUsersPublisher().toFlowPublisher();
+      Class<?> publisherType = Class.forName("java.util.concurrent.Flow$Publisher");
+      Class<?> subscriberType = Class.forName("java.util.concurrent.Flow$Subscriber");
+      Method request = Class.forName("java.util.concurrent.Flow$Subscription").getMethod("request", long.class);
+      assertThat(publisher).isInstanceOf(publisherType);
+
+      List<String> names = new ArrayList<>();
+      Object subscriber = Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { subscriberType },
+          (proxy, method, args) -> {
+            switch (method.getName()) {
+              case "onSubscribe":
+                request.invoke(args[0], Long.MAX_VALUE);
+                break;
+              case "onNext":
+                names.add(((User) args[0]).getName());
+                break;
+              case "onComplete":
+                names.add("completed");
+                break;
+              default:
+                break;
+            }
+            return null;
+          });
+      publisherType.getMethod("subscribe", subscriberType).invoke(publisher, subscriber);
+
+      assertThat(names).containsExactly("User1", "User2", "User3", "User4", "User5", "completed");
+    }
+  }
+
+  private static class RecordingSubscriber implements Subscriber<User> {
+    private final List<String> names = new ArrayList<>();
+    private Subscription subscription;
+    private volatile boolean completed;
+    private Throwable error;
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+      this.subscription = subscription;
+    }
+
+    @Override
+    public void onNext(User item) {
+      names.add(item.getName());
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+      this.error = throwable;
+    }
+
+    @Override
+    public void onComplete() {
+      this.completed = true;
+    }
+  }
+
+}
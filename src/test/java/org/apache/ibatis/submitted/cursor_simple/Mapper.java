@@ -18,6 +18,7 @@ package org.apache.ibatis.submitted.cursor_simple;
 import org.apache.ibatis.annotations.Options;
 import org.apache.ibatis.annotations.Select;
 import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.cursor.CursorPublisher;
 import org.apache.ibatis.session.RowBounds;
 
 public interface Mapper {
@@ -37,6 +38,9 @@ public interface Mapper {
   // @formatter:on
   Cursor<User> getNullUsers(RowBounds rowBounds);
 
+  @Select("select * from users order by id")
+  CursorPublisher<User> getAllUsersPublisher();
+
   @Select("select * from users")
   @Options(fetchSize = Integer.MIN_VALUE)
   Cursor<User> getUsersMysqlStream();
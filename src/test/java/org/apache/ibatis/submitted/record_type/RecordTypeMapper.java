@@ -15,6 +15,8 @@
  */
 package org.apache.ibatis.submitted.record_type;
 
+import java.util.List;
+
 import org.apache.ibatis.annotations.Arg;
 import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Results;
@@ -25,6 +27,9 @@ public interface RecordTypeMapper {
   @Select("select id, val, url from prop where id = #{id}")
   Property selectPropertyAutomapping(int id);
 
+  @Select("select id, val, url from prop where id in (1, 3) order by id")
+  List<Property> selectPropertiesAutomapping();
+
   @Results(id = "propertyRM")
   @Arg(column = "id", javaType = int.class)
   @Arg(column = "val", javaType = String.class)
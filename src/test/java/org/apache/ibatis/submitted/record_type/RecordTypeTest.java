@@ -16,11 +16,19 @@
 package org.apache.ibatis.submitted.record_type;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.Reader;
+import java.util.Arrays;
+import java.util.List;
 
 import org.apache.ibatis.BaseDataTest;
 import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.reflection.RecordType;
+import org.apache.ibatis.reflection.factory.DefaultObjectFactory;
 import org.apache.ibatis.session.SqlSession;
 import org.apache.ibatis.session.SqlSessionFactory;
 import org.apache.ibatis.session.SqlSessionFactoryBuilder;
@@ -62,6 +70,31 @@ class RecordTypeTest {
     }
   }
 
+  @Test
+  void testSelectRecordsAutomapping() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      RecordTypeMapper mapper = sqlSession.getMapper(RecordTypeMapper.class);
+      List<Property> props = mapper.selectPropertiesAutomapping();
+      assertEquals(2, props.size());
+      assertEquals(new Property(1, "Val1", "https://www.google.com"), props.get(0));
+      assertEquals(new Property(3, "Val3", "https://mybatis.org"), props.get(1));
+    }
+  }
+
+  @Test
+  void testRecordType() throws Exception {
+    assertNull(RecordType.forClass(String.class));
+    RecordType recordType = RecordType.forClass(Property.class);
+    assertSame(recordType, RecordType.forClass(Property.class));
+    assertEquals(Arrays.asList("id", "value", "URL"), recordType.getComponentNames());
+    assertEquals(Arrays.asList(int.class, String.class, String.class), recordType.getComponentTypes());
+    assertTrue(recordType.isCanonical(Arrays.asList(int.class, String.class, String.class)));
+    assertFalse(recordType.isCanonical(Arrays.asList(Integer.class, String.class, String.class)));
+    assertEquals(new Property(1, "Val1", "url"), recordType.newInstance(1, "Val1", "url"));
+    assertEquals(new Property(1, "Val1", "url"), new DefaultObjectFactory().create(Property.class,
+        Arrays.asList(int.class, String.class, String.class), Arrays.asList(1, "Val1", "url")));
+  }
+
   @Test
   void testInsertRecord() {
     try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
@@ -0,0 +1,146 @@
+/*
+ *    Copyright 2009-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.replica_routing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.Reader;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.datasource.routing.RoutingDataSource;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class ReplicaRoutingTest {
+
+  private static SqlSessionFactory sqlSessionFactory;
+  private static RoutingDataSource dataSource;
+
+  @BeforeAll
+  static void setUp() throws Exception {
+    try (Reader reader = Resources
+        .getResourceAsReader("org/apache/ibatis/submitted/replica_routing/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+    dataSource = (RoutingDataSource) sqlSessionFactory.getConfiguration().getEnvironment().getDataSource();
+    BaseDataTest.runScript(dataSource.getPrimary(), "org/apache/ibatis/submitted/replica_routing/CreatePrimary.sql");
+    BaseDataTest.runScript(dataSource.getReplicas().get(0),
+        "org/apache/ibatis/submitted/replica_routing/CreateReplica.sql");
+  }
+
+  @AfterEach
+  void shouldReleaseReplicaConnections() {
+    assertThat(dataSource.getOutstandingConnections(0)).isZero();
+  }
+
+  @Test
+  void shouldReadFromReplica() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      assertThat(mapper.getName(1)).isEqualTo("Replica1");
+      assertThat(dataSource.getOutstandingConnections(0)).isEqualTo(1);
+      assertThat(mapper.getName(2)).isEqualTo("Replica2");
+      assertThat(dataSource.getOutstandingConnections(0)).isEqualTo(1);
+    }
+  }
+
+  @Test
+  void shouldReadFromPrimaryWhenReplicaIsNotAllowed() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      assertThat(mapper.getNameFromPrimary(1)).isEqualTo("Primary1");
+      assertThat(mapper.getNameAnnotatedFromPrimary(1)).isEqualTo("Primary1");
+      assertThat(mapper.getNameFlushingCache(1)).isEqualTo("Primary1");
+      assertThat(dataSource.getOutstandingConnections(0)).isZero();
+    }
+  }
+
+  @Test
+  void shouldReleaseReplicaConnectionOnCommitAndRollback() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      assertThat(mapper.getName(1)).isEqualTo("Replica1");
+      assertThat(dataSource.getOutstandingConnections(0)).isEqualTo(1);
+      sqlSession.commit();
+      assertThat(dataSource.getOutstandingConnections(0)).isZero();
+
+      assertThat(mapper.getName(2)).isEqualTo("Replica2");
+      assertThat(dataSource.getOutstandingConnections(0)).isEqualTo(1);
+      sqlSession.rollback();
+      assertThat(dataSource.getOutstandingConnections(0)).isZero();
+    }
+  }
+
+  @ParameterizedTest
+  @EnumSource(ExecutorType.class)
+  void shouldSelectKeysFromPrimary(ExecutorType executorType) {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(executorType)) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      User before = new User();
+      before.setName("Before");
+      mapper.insertUserWithKeyBefore(before);
+      User after = new User();
+      after.setName("After");
+      mapper.insertUserWithKeyAfter(after);
+      sqlSession.flushStatements();
+      assertThat(before.getId()).isEqualTo(12);
+      assertThat(after.getId()).isEqualTo(20);
+    }
+  }
+
+  @Test
+  void shouldLoadLazilyFromPrimaryAfterWrite() {
+    User user;
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      mapper.updateName(1, "Changed");
+      user = mapper.getLazyUser(1);
+      sqlSession.commit();
+    }
+    try {
+      assertThat(user.getName()).isEqualTo("Changed");
+    } finally {
+      try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+        sqlSession.getMapper(Mapper.class).updateName(1, "Primary1");
+        sqlSession.commit();
+      }
+    }
+  }
+
+  @ParameterizedTest
+  @EnumSource(ExecutorType.class)
+  void shouldStickToPrimaryAfterFirstWrite(ExecutorType executorType) {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(executorType)) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      assertThat(mapper.getName(1)).isEqualTo("Replica1");
+      mapper.updateName(1, "Changed");
+      assertThat(mapper.getName(1)).isEqualTo("Changed");
+      assertThat(mapper.getName(2)).isEqualTo("Primary2");
+    }
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(executorType)) {
+      assertThat(sqlSession.getMapper(Mapper.class).getName(1)).isEqualTo("Replica1");
+    }
+  }
+
+}
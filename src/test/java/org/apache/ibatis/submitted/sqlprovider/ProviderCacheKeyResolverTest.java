@@ -0,0 +1,103 @@
+/*
+ *    Copyright 2009-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.sqlprovider;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.Reader;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.SelectProvider;
+import org.apache.ibatis.builder.annotation.ProviderCacheKeyResolver;
+import org.apache.ibatis.builder.annotation.ProviderContext;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ProviderCacheKeyResolverTest {
+
+  private static SqlSessionFactory sqlSessionFactory;
+
+  @BeforeAll
+  static void setUp() throws Exception {
+    try (Reader reader = Resources.getResourceAsReader("org/apache/ibatis/submitted/sqlprovider/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+      sqlSessionFactory.getConfiguration().addMapper(CachedProviderMapper.class);
+    }
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/sqlprovider/CreateDB.sql");
+  }
+
+  @BeforeEach
+  void resetCounter() {
+    CachedProviderMapper.CachedSqlProvider.invocations.set(0);
+  }
+
+  @Test
+  void shouldInvokeProviderOncePerCacheKey() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      CachedProviderMapper mapper = sqlSession.getMapper(CachedProviderMapper.class);
+      assertEquals(3, mapper.count(false, 1));
+      assertEquals(2, mapper.count(false, 2));
+      assertEquals(1, mapper.count(true, 1));
+      assertEquals(1, mapper.count(true, 4));
+      assertEquals(2, CachedProviderMapper.CachedSqlProvider.invocations.get());
+    }
+  }
+
+  @Test
+  void shouldNotCacheWhenKeyIsNull() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      CachedProviderMapper mapper = sqlSession.getMapper(CachedProviderMapper.class);
+      assertEquals(4, mapper.count(null, 1));
+      assertEquals(4, mapper.count(null, 1));
+      assertEquals(2, CachedProviderMapper.CachedSqlProvider.invocations.get());
+    }
+  }
+
+  interface CachedProviderMapper {
+
+    @SelectProvider(CachedSqlProvider.class)
+    int count(@Param("deleted") Boolean deleted, @Param("minId") int minId);
+
+    class CachedSqlProvider implements ProviderCacheKeyResolver {
+      static final AtomicInteger invocations = new AtomicInteger();
+
+      public static String provideSql(@Param("deleted") Boolean deleted) {
+        invocations.incrementAndGet();
+        StringBuilder sql = new StringBuilder("SELECT count(*) FROM users WHERE id >= #{minId}");
+        if (deleted != null) {
+          sql.append(" AND logical_delete = ").append(deleted);
+        }
+        return sql.toString();
+      }
+
+      @Override
+      public Object resolveCacheKey(ProviderContext context, Object parameterObject) {
+        return ((Map<?, ?>) parameterObject).get("deleted");
+      }
+    }
+
+  }
+
+}
@@ -0,0 +1,218 @@
+/*
+ *    Copyright 2009-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.statement_pipeline;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.apache.ibatis.exceptions.PersistenceException;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.session.StatementPipeline;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Neither HSQLDB nor H2 return several results from one execution, so the driver is mocked here.
+ */
+class MultiStatementPipelineTest {
+
+  private static final String NS = Mapper.class.getName() + ".";
+
+  private Connection connection;
+  private PreparedStatement ps;
+  private SqlSessionFactory sqlSessionFactory;
+
+  @BeforeEach
+  void setUp() throws SQLException {
+    DataSource dataSource = mock(DataSource.class);
+    connection = mock(Connection.class);
+    ps = mock(PreparedStatement.class);
+    when(dataSource.getConnection()).thenReturn(connection);
+    when(connection.prepareStatement(anyString())).thenReturn(ps);
+    Configuration configuration = new Configuration(
+        new Environment("development", new JdbcTransactionFactory(), dataSource));
+    configuration.setMultiStatementPipeline(true);
+    configuration.addMapper(Mapper.class);
+    sqlSessionFactory = new SqlSessionFactoryBuilder().build(configuration);
+  }
+
+  @Test
+  void shouldSendStatementsInOneExecution() throws SQLException {
+    ResultSet count = resultSet("C", Types.INTEGER, Integer.class);
+    when(count.getInt("C")).thenReturn(3);
+    ResultSet name = resultSet("NAME", Types.VARCHAR, String.class);
+    when(name.getString("NAME")).thenReturn("Changed");
+    when(ps.execute()).thenReturn(true);
+    when(ps.getResultSet()).thenReturn(count, name);
+    when(ps.getMoreResults()).thenReturn(false, true);
+    when(ps.getUpdateCount()).thenReturn(1);
+
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      User user = new User();
+      user.setId(1);
+      user.setName("Changed");
+      StatementPipeline pipeline = sqlSession.pipeline();
+      StatementPipeline.Result<Integer> countResult = pipeline.selectOne(NS + "countUsers");
+      StatementPipeline.Result<Integer> updated = pipeline.update(NS + "updateName", user);
+      StatementPipeline.Result<String> nameResult = pipeline.selectOne(NS + "getName", 1);
+      pipeline.execute();
+
+      assertThat(countResult.get()).isEqualTo(3);
+      assertThat(updated.get()).isEqualTo(1);
+      assertThat(nameResult.get()).isEqualTo("Changed");
+    }
+    verify(connection).prepareStatement("select count(*) from users;\n" + "update users set name = ? where id = ?;\n"
+        + "select name from users where id = ?");
+    verify(ps).setString(1, "Changed");
+    verify(ps).setInt(2, 1);
+    verify(ps).setInt(3, 1);
+    verify(ps, times(1)).execute();
+    verify(ps).close();
+  }
+
+  @Test
+  void shouldNotCacheSelectsQueuedBeforeUpdate() throws SQLException {
+    ResultSet original = resultSet("NAME", Types.VARCHAR, String.class);
+    when(original.getString("NAME")).thenReturn("Original");
+    ResultSet changed = resultSet("NAME", Types.VARCHAR, String.class);
+    when(changed.getString("NAME")).thenReturn("Changed");
+    when(ps.execute()).thenReturn(true);
+    when(ps.getResultSet()).thenReturn(original, changed);
+    when(ps.getMoreResults()).thenReturn(false);
+    when(ps.getUpdateCount()).thenReturn(1);
+
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      User user = new User();
+      user.setId(1);
+      user.setName("Changed");
+      StatementPipeline pipeline = sqlSession.pipeline();
+      StatementPipeline.Result<String> nameResult = pipeline.selectOne(NS + "getName", 1);
+      pipeline.update(NS + "updateName", user);
+      pipeline.execute();
+      assertThat(nameResult.get()).isEqualTo("Original");
+
+      assertThat(sqlSession.<String>selectOne(NS + "getName", 1)).isEqualTo("Changed");
+    }
+    verify(ps, times(2)).execute();
+  }
+
+  @Test
+  void shouldPipelineThroughProxyFreeInterceptors() throws SQLException {
+    ResultSet count = resultSet("C", Types.INTEGER, Integer.class);
+    when(count.getInt("C")).thenReturn(3);
+    when(ps.execute()).thenReturn(true);
+    when(ps.getResultSet()).thenReturn(count);
+    when(ps.getMoreResults()).thenReturn(false);
+    when(ps.getUpdateCount()).thenReturn(1);
+    PipelineInterceptor pipelineInterceptor = new PipelineInterceptor();
+    sqlSessionFactory.getConfiguration().addInterceptor(pipelineInterceptor);
+    sqlSessionFactory.getConfiguration().addInterceptor(new UpdateInterceptor());
+
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      User user = new User();
+      user.setId(1);
+      user.setName("Changed");
+      StatementPipeline pipeline = sqlSession.pipeline();
+      StatementPipeline.Result<Integer> countResult = pipeline.selectOne(NS + "countUsers");
+      StatementPipeline.Result<Integer> updated = pipeline.update(NS + "updateName", user);
+      pipeline.execute();
+
+      assertThat(countResult.get()).isEqualTo(3);
+      assertThat(updated.get()).isEqualTo(1);
+    }
+    assertThat(pipelineInterceptor.count).isEqualTo(1);
+    verify(connection).prepareStatement("select count(*) from users;\n" + "update users set name = ? where id = ?");
+    verify(ps, times(1)).execute();
+  }
+
+  @Intercepts(value = @Signature(type = Executor.class, method = "pipeline", args = { List.class,
+      List.class }), proxy = false)
+  public static class PipelineInterceptor implements Interceptor {
+    private int count;
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+      count++;
+      return invocation.proceed();
+    }
+  }
+
+  @Intercepts(value = @Signature(type = Executor.class, method = "update", args = { MappedStatement.class,
+      Object.class }), proxy = false)
+  public static class UpdateInterceptor implements Interceptor {
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+      return invocation.proceed();
+    }
+  }
+
+  @Test
+  void shouldFailWhenDriverDoesNotReturnEveryResult() throws SQLException {
+    ResultSet count = resultSet("C", Types.INTEGER, Integer.class);
+    when(ps.execute()).thenReturn(true);
+    when(ps.getResultSet()).thenReturn(count);
+    when(ps.getMoreResults()).thenReturn(false);
+    when(ps.getUpdateCount()).thenReturn(-1);
+
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      StatementPipeline pipeline = sqlSession.pipeline();
+      pipeline.selectOne(NS + "countUsers");
+      pipeline.selectOne(NS + "getName", 1);
+      PersistenceException e = assertThrows(PersistenceException.class, pipeline::execute);
+      assertThat(e.getMessage()).contains("Expected a result set for pipelined statement '" + NS + "getName'");
+    }
+    verify(ps).close();
+  }
+
+  private static ResultSet resultSet(String column, int jdbcType, Class<?> type) throws SQLException {
+    ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+    when(metaData.getColumnCount()).thenReturn(1);
+    when(metaData.getColumnLabel(1)).thenReturn(column);
+    when(metaData.getColumnType(1)).thenReturn(jdbcType);
+    when(metaData.getColumnClassName(1)).thenReturn(type.getName());
+    ResultSet rs = mock(ResultSet.class);
+    when(rs.getMetaData()).thenReturn(metaData);
+    when(rs.next()).thenReturn(true, false);
+    return rs;
+  }
+
+}
@@ -0,0 +1,76 @@
+/*
+ *    Copyright 2009-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.statement_pipeline;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.session.StatementPipeline;
+import org.apache.ibatis.testcontainers.PgContainer;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("TestcontainersTests")
+class PostgresStatementPipelineTest {
+
+  private static final String NS = Mapper.class.getName() + ".";
+
+  private static SqlSessionFactory sqlSessionFactory;
+
+  @BeforeAll
+  static void setUp() throws Exception {
+    Configuration configuration = new Configuration();
+    Environment environment = new Environment("development", new JdbcTransactionFactory(),
+        PgContainer.getUnpooledDataSource());
+    configuration.setEnvironment(environment);
+    configuration.setMultiStatementPipeline(true);
+    configuration.addMapper(Mapper.class);
+    sqlSessionFactory = new SqlSessionFactoryBuilder().build(configuration);
+
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/statement_pipeline/CreateDB.sql");
+  }
+
+  @Test
+  void shouldExecuteStatementsInOneRoundTrip() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      User user = new User();
+      user.setId(1);
+      user.setName("Changed");
+      StatementPipeline pipeline = sqlSession.pipeline();
+      StatementPipeline.Result<Integer> count = pipeline.selectOne(NS + "countUsers");
+      StatementPipeline.Result<Integer> updated = pipeline.update(NS + "updateName", user);
+      StatementPipeline.Result<String> name = pipeline.selectOne(NS + "getName", 1);
+      StatementPipeline.Result<List<User>> users = pipeline.selectList(NS + "getUsers");
+      pipeline.execute();
+
+      assertThat(count.get()).isEqualTo(3);
+      assertThat(updated.get()).isEqualTo(1);
+      assertThat(name.get()).isEqualTo("Changed");
+      assertThat(users.get()).extracting(User::getName).containsExactly("Changed", "User2", "User3");
+      sqlSession.rollback(true);
+    }
+  }
+}
@@ -0,0 +1,140 @@
+/*
+ *    Copyright 2009-2023 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.statement_pipeline;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.Reader;
+import java.util.List;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.exceptions.TooManyResultsException;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.session.StatementPipeline;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class StatementPipelineTest {
+
+  private static final String NS = Mapper.class.getName() + ".";
+
+  private static SqlSessionFactory sqlSessionFactory;
+
+  @BeforeAll
+  static void setUp() throws Exception {
+    try (Reader reader = Resources
+        .getResourceAsReader("org/apache/ibatis/submitted/statement_pipeline/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+  }
+
+  @BeforeEach
+  void createDb() throws Exception {
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/statement_pipeline/CreateDB.sql");
+  }
+
+  @Test
+  void shouldExecuteStatementsInOrder() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      StatementPipeline pipeline = sqlSession.pipeline();
+      StatementPipeline.Result<Integer> count = pipeline.selectOne(NS + "countUsers");
+      StatementPipeline.Result<String> before = pipeline.selectOne(NS + "getName", 1);
+      StatementPipeline.Result<Integer> updated = pipeline.update(NS + "updateName", user(1, "Changed"));
+      StatementPipeline.Result<String> after = pipeline.selectOne(NS + "getName", 1);
+      StatementPipeline.Result<List<User>> users = pipeline.selectList(NS + "getUsers");
+      assertThat(pipeline.size()).isEqualTo(5);
+      assertThat(count.isDone()).isFalse();
+
+      pipeline.execute();
+
+      assertThat(count.isDone()).isTrue();
+      assertThat(count.get()).isEqualTo(3);
+      assertThat(before.get()).isEqualTo("User1");
+      assertThat(updated.get()).isEqualTo(1);
+      assertThat(after.get()).isEqualTo("Changed");
+      assertThat(users.get()).extracting(User::getName).containsExactly("Changed", "User2", "User3");
+    }
+  }
+
+  @Test
+  void shouldCommitPipelinedUpdates() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      StatementPipeline pipeline = sqlSession.pipeline();
+      pipeline.update(NS + "updateName", user(2, "Changed"));
+      pipeline.execute();
+      sqlSession.commit();
+    }
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      assertThat(sqlSession.getMapper(Mapper.class).getName(2)).isEqualTo("Changed");
+    }
+  }
+
+  @Test
+  void shouldReturnNullOrFailForSelectOne() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      StatementPipeline pipeline = sqlSession.pipeline();
+      StatementPipeline.Result<String> missing = pipeline.selectOne(NS + "getName", 99);
+      StatementPipeline.Result<User> tooMany = pipeline.selectOne(NS + "getUsers");
+      pipeline.execute();
+      assertThat(missing.get()).isNull();
+      assertThrows(TooManyResultsException.class, tooMany::get);
+    }
+  }
+
+  @Test
+  void shouldRejectUseOutsideOfExecution() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      StatementPipeline pipeline = sqlSession.pipeline();
+      StatementPipeline.Result<Integer> count = pipeline.selectOne(NS + "countUsers");
+      assertThrows(IllegalStateException.class, count::get);
+      pipeline.execute();
+      assertThrows(IllegalStateException.class, pipeline::execute);
+      assertThrows(IllegalStateException.class, () -> pipeline.selectOne(NS + "countUsers"));
+    }
+  }
+
+  @Test
+  void shouldExecuteIneligibleStatementsOneByOne() {
+    sqlSessionFactory.getConfiguration().setMultiStatementPipeline(true);
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      // generated keys need a statement of their own
+      User user = user(null, "User4");
+      StatementPipeline pipeline = sqlSession.pipeline();
+      StatementPipeline.Result<Integer> inserted = pipeline.insert(NS + "insertUser", user);
+      StatementPipeline.Result<Integer> count = pipeline.selectOne(NS + "countUsers");
+      pipeline.execute();
+      assertThat(inserted.get()).isEqualTo(1);
+      assertThat(user.getId()).isNotNull();
+      assertThat(count.get()).isEqualTo(4);
+    } finally {
+      sqlSessionFactory.getConfiguration().setMultiStatementPipeline(false);
+    }
+  }
+
+  private static User user(Integer id, String name) {
+    User user = new User();
+    user.setId(id);
+    user.setName(name);
+    return user;
+  }
+
+}
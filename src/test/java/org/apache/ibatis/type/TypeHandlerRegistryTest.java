@@ -227,6 +227,21 @@ class TypeHandlerRegistryTest {
     assertTrue(typeHandlerRegistry.hasTypeHandler(Address.class));
   }
 
+  @Test
+  void shouldReResolveCachedHandlersAfterRegistration() {
+    class Base {
+    }
+    class Sub extends Base {
+    }
+    assertNull(typeHandlerRegistry.getTypeHandler(Base.class, JdbcType.VARCHAR));
+    typeHandlerRegistry.register(Base.class, StringTypeHandler.class);
+    assertSame(StringTypeHandler.class, typeHandlerRegistry.getTypeHandler(Base.class, JdbcType.VARCHAR).getClass());
+    assertSame(StringTypeHandler.class, typeHandlerRegistry.getTypeHandler(Sub.class, JdbcType.VARCHAR).getClass());
+    typeHandlerRegistry.register(Base.class, JdbcType.CLOB, ClobTypeHandler.class);
+    assertSame(ClobTypeHandler.class, typeHandlerRegistry.getTypeHandler(Sub.class, JdbcType.CLOB).getClass());
+    assertSame(StringTypeHandler.class, typeHandlerRegistry.getTypeHandler(Sub.class, JdbcType.VARCHAR).getClass());
+  }
+
   enum TestEnum {
     ONE, TWO
   }
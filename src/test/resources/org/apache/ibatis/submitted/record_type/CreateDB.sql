@@ -23,6 +23,7 @@ create table prop (
 );
 
 insert into prop (id, val, url) values (1, 'Val1', 'https://www.google.com');
+insert into prop (id, val, url) values (3, 'Val3', 'https://mybatis.org');
 
 create table item (
   id int,